@@ -29,6 +29,13 @@ dependencies {
 	modApi("me.shedaniel.cloth:cloth-config-fabric:${clothConfigVersion}") {
 		exclude(group = "net.fabricmc.fabric-api")
 	}
+
+	testImplementation("org.junit.jupiter:junit-jupiter:5.10.2")
+	testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+tasks.named<Test>("test") {
+	useJUnitPlatform()
 }
 
 tasks.named<ProcessResources>("processResources") {
@@ -0,0 +1,52 @@
+package schnerry.seymouranalyzer.mixins;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientPacketListener;
+import net.minecraft.network.protocol.game.ClientboundContainerSetContentPacket;
+import net.minecraft.network.protocol.game.ClientboundContainerSetSlotPacket;
+import schnerry.seymouranalyzer.render.ContainerHighlightCache;
+import schnerry.seymouranalyzer.render.ItemSlotHighlighter;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Mixin to hand container packets to ContainerHighlightCache as soon as they arrive
+ * These handlers run twice: first on the network thread (which then re-queues the packet),
+ * then on the main thread. We only act on the network pass so analysis starts before the
+ * main thread even applies the items. The TAIL injection only runs on the main thread (the network
+ * pass bails out before reaching them) and kick off the batch precomputation for the now populated menu.
+ */
+@Mixin(ClientPacketListener.class)
+public abstract class ClientPacketListenerMixin {
+
+    @Inject(
+        method = "handleContainerContent",
+        at = @At("HEAD")
+    )
+    private void onContainerContent(ClientboundContainerSetContentPacket packet, CallbackInfo ci) {
+        if (Minecraft.getInstance().isSameThread()) return;
+        ContainerHighlightCache.getInstance().onContainerContent(packet.containerId(), packet.items());
+    }
+
+    @Inject(
+        method = "handleContainerSetSlot",
+        at = @At("HEAD")
+    )
+    private void onContainerSetSlot(ClientboundContainerSetSlotPacket packet, CallbackInfo ci) {
+        if (Minecraft.getInstance().isSameThread()) return;
+        ContainerHighlightCache.getInstance().onSlotUpdate(packet.getContainerId(), packet.getSlot(), packet.getItem());
+    }
+
+    @Inject(
+        method = "handleContainerContent",
+        at = @At("TAIL")
+    )
+    private void afterContainerContent(ClientboundContainerSetContentPacket packet, CallbackInfo ci) {
+        Minecraft client = Minecraft.getInstance();
+        if (client.player != null) {
+            ItemSlotHighlighter.getInstance().ensureBatch(client.player.containerMenu);
+        }
+    }
+}
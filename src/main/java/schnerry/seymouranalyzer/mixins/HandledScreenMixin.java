@@ -2,10 +2,12 @@ package schnerry.seymouranalyzer.mixins;
 
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.client.gui.screens.inventory.AbstractContainerScreen;
+import net.minecraft.world.inventory.AbstractContainerMenu;
 import net.minecraft.world.inventory.Slot;
 import net.minecraft.world.item.ItemStack;
 import schnerry.seymouranalyzer.render.InfoBoxRenderer;
 import schnerry.seymouranalyzer.render.ItemSlotHighlighter;
+import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.Unique;
@@ -32,35 +34,45 @@ public abstract class HandledScreenMixin {
     @Shadow
     protected Slot focusedSlot;
 
+    @Shadow
+    @Final
+    protected AbstractContainerMenu menu;
+
     /**
-     * Inject before each slot is drawn to render our highlight behind the item
-     * This runs in the exact coordinate space as the slot, so no offset calculations needed
-     * ALSO track the hovered slot here since we KNOW it exists at this point
+     * Inject before the slots are drawn to render all highlights behind the items in one batch
+     * This runs in the exact coordinate space as the slots, so no offset calculations needed
      */
     @Inject(
         method = "renderSlots",
         at = @At("HEAD")
     )
+    private void onDrawSlots(GuiGraphics context, CallbackInfo ci) {
+        ItemSlotHighlighter.getInstance().renderSlotHighlights(context, this.menu);
+    }
+
+    /**
+     * Inject before each slot is drawn to track the hovered slot, since we KNOW it exists at this point
+     */
+    @Inject(
+        method = "renderSlot",
+        at = @At("HEAD")
+    )
     private void onDrawSlot(GuiGraphics context, Slot slot, CallbackInfo ci) {
         ItemStack stack = slot.getItem();
         if (stack.isEmpty()) return;
 
-        // Let the highlighter render the highlight for this slot
-        ItemSlotHighlighter.getInstance().renderSlotHighlight(context, slot);
-
         // Track the slot being drawn if it matches the focused slot
         // This captures the data BEFORE any other mod can modify it
         if (this.focusedSlot != null && this.focusedSlot == slot) {
             lastHoveredSlot = slot;
-            lastHoveredStack = stack.copy(); // Copy to preserve the data
+            lastHoveredStack = stack; // InfoBoxRenderer copies it once per actual hover change
 
-            String itemName = stack.getHoverName().getString();
             if (DEBUG) {
-                System.out.println("[Mixin] Captured hover in drawSlot: " + itemName);
+                System.out.println("[Mixin] Captured hover in drawSlot: slot #" + slot.index);
             }
 
             // Update InfoBox immediately while we have valid data
-            InfoBoxRenderer.getInstance().setHoveredItem(stack, itemName);
+            InfoBoxRenderer.getInstance().setHoveredSlot(slot, stack, this.menu.containerId);
         }
     }
 
@@ -87,22 +99,24 @@ public abstract class HandledScreenMixin {
             lastHoveredStack = ItemStack.EMPTY;
         }
 
+        // Make sure highlight colors for this container state are (being) precomputed
+        ItemSlotHighlighter.getInstance().ensureBatch(this.menu);
+
         // Early capture of focusedSlot before any other mod can modify it
         if (this.focusedSlot != null && !this.focusedSlot.getItem().isEmpty()) {
             ItemStack stack = this.focusedSlot.getItem();
-            String itemName = stack.getHoverName().getString();
 
             if (DEBUG) {
                 System.out.println("[Mixin] Early capture in render HEAD:");
-                System.out.println("[Mixin]   Slot #" + this.focusedSlot.id);
-                System.out.println("[Mixin]   Item: " + itemName);
+                System.out.println("[Mixin]   Slot #" + this.focusedSlot.index);
+                System.out.println("[Mixin]   Item: " + stack.getHoverName().getString());
             }
 
             lastHoveredSlot = this.focusedSlot;
-            lastHoveredStack = stack.copy();
+            lastHoveredStack = stack;
 
-            // Update InfoBox with early captured data
-            InfoBoxRenderer.getInstance().setHoveredItem(stack, itemName);
+            // Update InfoBox with early captured data (no-op unless the hover changed)
+            InfoBoxRenderer.getInstance().setHoveredSlot(this.focusedSlot, stack, this.menu.containerId);
         } else if (this.focusedSlot == null) {
             // Only clear if we truly have no focused slot
             if (lastHoveredSlot != null) {
@@ -127,15 +141,13 @@ public abstract class HandledScreenMixin {
     private void onRenderTail(GuiGraphics context, int mouseX, int mouseY, float delta, CallbackInfo ci) {
         // If focusedSlot exists and is still valid, re-update with current data
         if (this.focusedSlot != null && !this.focusedSlot.getItem().isEmpty()) {
-            ItemStack stack = this.focusedSlot.getItem();
-            String itemName = stack.getHoverName().getString();
-            InfoBoxRenderer.getInstance().setHoveredItem(stack, itemName);
+            InfoBoxRenderer.getInstance().setHoveredSlot(this.focusedSlot, this.focusedSlot.getItem(), this.menu.containerId);
         } else if (lastHoveredSlot != null && !lastHoveredStack.isEmpty()) {
             // Use cached data if focusedSlot was cleared but we still have valid cached data
             if (DEBUG) {
                 System.out.println("[Mixin] Using cached hover data in TAIL");
             }
-            InfoBoxRenderer.getInstance().setHoveredItem(lastHoveredStack, lastHoveredStack.getHoverName().getString());
+            InfoBoxRenderer.getInstance().setHoveredSlot(lastHoveredSlot, lastHoveredStack, this.menu.containerId);
         }
     }
 
@@ -155,8 +167,8 @@ public abstract class HandledScreenMixin {
             // Only update if changed to reduce overhead
             if (lastHoveredSlot != this.focusedSlot) {
                 lastHoveredSlot = this.focusedSlot;
-                lastHoveredStack = stack.copy();
-                InfoBoxRenderer.getInstance().setHoveredItem(stack, stack.getHoverName().getString());
+                lastHoveredStack = stack;
+                InfoBoxRenderer.getInstance().setHoveredSlot(this.focusedSlot, stack, this.menu.containerId);
             }
         }
     }
@@ -0,0 +1,33 @@
+package schnerry.seymouranalyzer.mixins;
+
+import net.minecraft.network.syncher.EntityDataAccessor;
+import net.minecraft.world.entity.decoration.ItemFrame;
+import net.minecraft.world.item.ItemStack;
+import schnerry.seymouranalyzer.scanner.ItemFrameTracker;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Mixin to notify the ItemFrameTracker when a frame's held item is synced from the server
+ * This lets the scanner re-examine only frames whose item actually changed
+ */
+@Mixin(ItemFrame.class)
+public abstract class ItemFrameMixin {
+    @Shadow
+    @Final
+    private static EntityDataAccessor<ItemStack> DATA_ITEM;
+
+    @Inject(
+        method = "onSyncedDataUpdated",
+        at = @At("TAIL")
+    )
+    private void onHeldItemSynced(EntityDataAccessor<?> key, CallbackInfo ci) {
+        if (DATA_ITEM.equals(key)) {
+            ItemFrameTracker.getInstance().onHeldItemChanged(((ItemFrame) (Object) this).getId());
+        }
+    }
+}
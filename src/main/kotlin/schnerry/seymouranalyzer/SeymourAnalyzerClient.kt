@@ -5,6 +5,7 @@ import net.fabricmc.fabric.api.client.command.v2.ClientCommandRegistrationCallba
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents
 import schnerry.seymouranalyzer.command.SeymourCommand
 import schnerry.seymouranalyzer.data.ChecklistCacheGenerator
+import schnerry.seymouranalyzer.data.ChecklistCatalog
 import schnerry.seymouranalyzer.data.CollectionManager
 import schnerry.seymouranalyzer.debug.ItemDebugger
 import schnerry.seymouranalyzer.gui.GuiScaleManager
@@ -13,7 +14,9 @@ import schnerry.seymouranalyzer.render.BlockHighlighter
 import schnerry.seymouranalyzer.render.HexTooltipRenderer
 import schnerry.seymouranalyzer.render.InfoBoxRenderer
 import schnerry.seymouranalyzer.render.ItemSlotHighlighter
+import schnerry.seymouranalyzer.render.ProgressOverlay
 import schnerry.seymouranalyzer.scanner.ChestScanner
+import schnerry.seymouranalyzer.scanner.ItemFrameTracker
 
 /**
  * Client-side initialization
@@ -25,6 +28,10 @@ class SeymourAnalyzerClient : ClientModInitializer {
         // Initialize scanner
         chestScanner = ChestScanner()
 
+        // Initialize ItemFrameTracker (registers entity load/unload events)
+        ItemFrameTracker.getInstance()
+        SeymourAnalyzer.LOGGER.info("Initialized ItemFrameTracker")
+
         // Initialize BlockHighlighter (registers render events)
         BlockHighlighter.getInstance()
         SeymourAnalyzer.LOGGER.info("Initialized BlockHighlighter")
@@ -45,20 +52,24 @@ class SeymourAnalyzerClient : ClientModInitializer {
         HexTooltipRenderer.getInstance()
         SeymourAnalyzer.LOGGER.info("Initialized HexTooltipRenderer")
 
+        // Initialize ProgressOverlay (progress bars for background tasks, in-game and on screens)
+        ProgressOverlay.getInstance()
+        SeymourAnalyzer.LOGGER.info("Initialized ProgressOverlay")
+
         // Initialize GuiScaleManager (handles automatic GUI scale forcing)
         GuiScaleManager.getInstance()
         SeymourAnalyzer.LOGGER.info("Initialized GuiScaleManager")
 
-        // Generate checklist caches on startup (runs async to avoid blocking)
-        Thread({
-            try {
-                // Wait a bit to let collection load
-                Thread.sleep(1000)
-                ChecklistCacheGenerator.generateAllCaches()
-            } catch (e: Exception) {
-                SeymourAnalyzer.LOGGER.error("Failed to generate initial checklist cache", e)
-            }
-        }, "ChecklistCacheInitializer").start()
+        // Build the checklist catalog once (shared by the cache generator and checklist screen)
+        ChecklistCatalog.getInstance()
+        SeymourAnalyzer.LOGGER.info("Initialized ChecklistCatalog")
+
+        // Trust the persisted checklist cache if it still matches the collection, otherwise queue a regeneration
+        if (ChecklistCacheGenerator.isCacheCurrent()) {
+            SeymourAnalyzer.LOGGER.info("Checklist cache matches the collection fingerprint, skipping regeneration")
+        } else {
+            CollectionManager.getInstance().requestChecklistRegeneration()
+        }
 
         // Register keybindings (Press O to open GUI)
         KeyBindings.register()
@@ -0,0 +1,517 @@
+package schnerry.seymouranalyzer.analyzer;
+
+import schnerry.seymouranalyzer.SeymourAnalyzer;
+import schnerry.seymouranalyzer.data.ArmorPiece;
+import schnerry.seymouranalyzer.util.ColorMath;
+import schnerry.seymouranalyzer.util.IntList;
+import schnerry.seymouranalyzer.util.LabGrid;
+import schnerry.seymouranalyzer.util.TaskProgress;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Finds 4-piece sets (helmet, chestplate, leggings, boots) whose pieces are all pairwise within deltaE 5
+ *
+ * Instead of walking the full helmets × chestplates × leggings × boots product, the pairwise
+ * compatibility graph is built first: every piece type gets a LAB grid with 5-unit cells, so each
+ * piece is only compared against the pieces in neighbouring cells of the other types. Valid sets are
+ * exactly the 4-partite cliques of that graph, enumerated from sorted adjacency lists by intersecting
+ * neighbour lists, so the cost follows the number of compatible neighbours, not the cross product.
+ *
+ * Sets are never materialized: every search worker keeps a bounded TopSetHeap of the best K sets and
+ * prunes partial sets that already score worse than its heap. The greedy non-overlap selection then runs
+ * over the merged top K. Everything ranked before the K-th candidate is exact, so if the selection runs out
+ * of candidates the used pieces are excluded and another pass continues from there. Every pass selects
+ * at least one set, memory stays at K sets per worker.
+ *
+ * The first pass's candidates are kept as a Pool (every set scoring below its threshold). Adding pieces
+ * only creates sets involving them and removing pieces only deletes sets, so reselect() can update a
+ * persisted pool by searching around the added pieces alone instead of the whole graph.
+ */
+public class BestSetsFinder {
+    public static final double MAX_DELTA_E = 5.0;
+
+    public static final int HELMET = 0;
+    public static final int CHESTPLATE = 1;
+    public static final int LEGGINGS = 2;
+    public static final int BOOTS = 3;
+    public static final int TYPES = 4;
+    public static final String[] TYPE_NAMES = {"helmet", "chestplate", "leggings", "boots"};
+
+    // Candidates kept per still-missing set and pass, the greedy selection rarely needs more than a few per set
+    private static final int CANDIDATES_PER_SET = 64;
+    // Helmets a worker searches before publishing its progress
+    private static final int PROGRESS_BATCH = 8;
+
+    private final List<List<ArmorPiece>> pieces = new ArrayList<>();
+    private final ColorMath.LAB[][] labs = new ColorMath.LAB[TYPES][];
+    // [from type][to type][piece id]: sorted neighbour ids in the other type and their deltaE
+    private final int[][][][] neighbours = new int[TYPES][TYPES][][];
+    private final double[][][][] neighbourDeltaE = new double[TYPES][TYPES][][];
+
+    public BestSetsFinder(Collection<ArmorPiece> collection) {
+        for (int type = 0; type < TYPES; type++) {
+            pieces.add(new ArrayList<>());
+        }
+        for (ArmorPiece piece : collection) {
+            if (piece.getHexcode() == null || piece.getPieceName() == null) continue;
+            int type = pieceType(piece.getPieceName());
+            if (type >= 0) {
+                pieces.get(type).add(piece);
+            }
+        }
+
+        LabGrid[] grids = new LabGrid[TYPES];
+        for (int type = 0; type < TYPES; type++) {
+            List<ArmorPiece> typePieces = pieces.get(type);
+            labs[type] = new ColorMath.LAB[typePieces.size()];
+            for (int i = 0; i < typePieces.size(); i++) {
+                labs[type][i] = ColorMath.hexToLab(typePieces.get(i).getHexcode());
+            }
+            grids[type] = LabGrid.of(List.of(labs[type]), MAX_DELTA_E);
+        }
+
+        // Both directions are kept, searches anchored at an added piece start from any type
+        for (int first = 0; first < TYPES; first++) {
+            for (int second = 0; second < TYPES; second++) {
+                if (first != second) {
+                    buildEdges(grids, first, second);
+                }
+            }
+        }
+    }
+
+    private void buildEdges(LabGrid[] grids, int first, int second) {
+        ColorMath.LAB[] from = labs[first];
+        LabGrid to = grids[second];
+
+        int[][] ids = new int[from.length][];
+        double[][] deltaEs = new double[from.length][];
+
+        IntStream.range(0, from.length).parallel().forEach(i -> {
+            ColorMath.LAB lab = from[i];
+            IntList found = new IntList();
+            to.forEachWithin(lab, MAX_DELTA_E, found::add);
+
+            // Sorted ids let the clique search intersect neighbour lists in linear time
+            int[] sorted = found.toArray();
+            Arrays.sort(sorted);
+            double[] deltas = new double[sorted.length];
+            for (int k = 0; k < sorted.length; k++) {
+                deltas[k] = to.distance(sorted[k], lab.getL(), lab.getA(), lab.getB());
+            }
+            ids[i] = sorted;
+            deltaEs[i] = deltas;
+        });
+
+        neighbours[first][second] = ids;
+        neighbourDeltaE[first][second] = deltaEs;
+    }
+
+    /**
+     * Greedily select the best non-overlapping sets by average deltaE
+     * Gives the same result as sorting every valid set and taking the first disjoint ones.
+     * @param progress Counts searched helmets, checked for cancellation throughout the search
+     * @return The selected sets (best first) and the first pass's candidate pool
+     * @throws java.util.concurrent.CancellationException if the progress token was cancelled
+     */
+    public Result selectBest(int maxSets, TaskProgress progress) {
+        boolean[][] used = new boolean[TYPES][];
+        for (int type = 0; type < TYPES; type++) {
+            used[type] = new boolean[count(type)];
+        }
+
+        List<int[]> selected = new ArrayList<>();
+        Pool pool = null;
+        int passes = 0;
+        while (selected.size() < maxSets) {
+            passes++;
+            int capacity = (maxSets - selected.size()) * CANDIDATES_PER_SET;
+            progress.addTotal(count(HELMET));
+            TopSetHeap candidates = collectBest(capacity, used, progress);
+            // Not full means nothing was ever dropped, so these are all remaining sets
+            boolean exhausted = !candidates.isFull();
+
+            candidates.sortAscending();
+            if (pool == null) {
+                pool = Pool.of(candidates, exhausted ? Double.POSITIVE_INFINITY : candidates.score(candidates.size() - 1));
+            }
+            selectDisjoint(candidates, candidates.size(), used, selected, maxSets);
+
+            if (exhausted) break;
+        }
+
+        SeymourAnalyzer.LOGGER.debug("Selected {} best sets in {} search pass(es)", selected.size(), passes);
+        return new Result(selected, pool != null ? pool : Pool.of(new TopSetHeap(0), Double.POSITIVE_INFINITY));
+    }
+
+    /**
+     * Redo the selection from an earlier pool after pieces were added and/or removed
+     * Sets with removed pieces must already be dropped from the pool, only sets involving an added
+     * piece are searched. Everything scoring below the pool threshold stays exact that way.
+     * @param added Per type and piece id: whether the piece is new since the pool was built
+     * @return The new selection and pool, or null if the pool can't prove the result exact (run selectBest then)
+     * @throws java.util.concurrent.CancellationException if the progress token was cancelled
+     */
+    public Result reselect(int maxSets, Pool previous, boolean[][] added, TaskProgress progress) {
+        TopSetHeap heap = new TopSetHeap(maxSets * CANDIDATES_PER_SET);
+        for (int i = 0; i < previous.size(); i++) {
+            heap.offer(previous.scores[i], previous.sets[i][HELMET], previous.sets[i][CHESTPLATE],
+                previous.sets[i][LEGGINGS], previous.sets[i][BOOTS]);
+        }
+
+        TaskProgress.Batch batch = progress.batch(PROGRESS_BATCH);
+        for (int type = 0; type < TYPES; type++) {
+            for (int id = 0; id < count(type); id++) {
+                if (added[type][id]) progress.addTotal(1);
+            }
+        }
+        for (int type = 0; type < TYPES; type++) {
+            for (int id = 0; id < count(type); id++) {
+                if (!added[type][id]) continue;
+                searchAnchored(type, id, added, heap, previous.threshold, progress);
+                batch.step();
+            }
+        }
+        batch.flush();
+
+        // A full heap may have pushed pool entries out, the exact prefix then ends at its worst entry
+        double threshold = heap.isFull() ? Math.min(previous.threshold, heap.bound()) : previous.threshold;
+        heap.sortAscending();
+        Pool pool = Pool.of(heap, threshold);
+
+        boolean[][] used = new boolean[TYPES][];
+        for (int type = 0; type < TYPES; type++) {
+            used[type] = new boolean[count(type)];
+        }
+        List<int[]> selected = new ArrayList<>();
+        selectDisjoint(heap, pool.size(), used, selected, maxSets);
+
+        // Running out of pool before maxSets is only exact if the pool holds every valid set
+        if (selected.size() < maxSets && threshold != Double.POSITIVE_INFINITY) {
+            return null;
+        }
+        return new Result(selected, pool);
+    }
+
+    /**
+     * Greedy non-overlap selection over the first limit sorted candidates
+     */
+    private static void selectDisjoint(TopSetHeap sorted, int limit, boolean[][] used, List<int[]> selected, int maxSets) {
+        for (int i = 0; i < limit && selected.size() < maxSets; i++) {
+            int[] set = new int[TYPES];
+            boolean overlaps = false;
+            for (int type = 0; type < TYPES; type++) {
+                set[type] = sorted.piece(i, type);
+                overlaps |= used[type][set[type]];
+            }
+            if (overlaps) continue;
+
+            selected.add(set);
+            for (int type = 0; type < TYPES; type++) {
+                used[type][set[type]] = true;
+            }
+        }
+    }
+
+    /**
+     * The best sets that don't use any excluded piece, at most capacity of them
+     */
+    private TopSetHeap collectBest(int capacity, boolean[][] excluded, TaskProgress progress) {
+        int workers = Math.max(1, Runtime.getRuntime().availableProcessors());
+        AtomicInteger nextHelmet = new AtomicInteger();
+
+        // One heap per worker, helmets are handed out one at a time to balance uneven neighbourhoods
+        List<TopSetHeap> heaps = IntStream.range(0, workers).parallel().mapToObj(worker -> {
+            TopSetHeap heap = new TopSetHeap(capacity);
+            // Progress is counted locally and flushed every few helmets, workers never share a counter
+            TaskProgress.Batch batch = progress.batch(PROGRESS_BATCH);
+            int helmet;
+            while ((helmet = nextHelmet.getAndIncrement()) < count(HELMET)) {
+                if (!excluded[HELMET][helmet]) {
+                    searchHelmet(helmet, heap, excluded, progress);
+                }
+                batch.step();
+            }
+            batch.flush();
+            return heap;
+        }).toList();
+
+        // Each worker's heap holds its share of the global top K, so merging them is exact
+        TopSetHeap merged = new TopSetHeap(capacity);
+        for (TopSetHeap heap : heaps) {
+            merged.addAll(heap);
+        }
+        return merged;
+    }
+
+    private void searchHelmet(int helmet, TopSetHeap heap, boolean[][] excluded, TaskProgress progress) {
+        int[] hc = neighbours[HELMET][CHESTPLATE][helmet];
+        double[] hcDelta = neighbourDeltaE[HELMET][CHESTPLATE][helmet];
+        int[] hl = neighbours[HELMET][LEGGINGS][helmet];
+        double[] hlDelta = neighbourDeltaE[HELMET][LEGGINGS][helmet];
+        int[] hb = neighbours[HELMET][BOOTS][helmet];
+        double[] hbDelta = neighbourDeltaE[HELMET][BOOTS][helmet];
+        if (hc.length == 0 || hl.length == 0 || hb.length == 0) return;
+
+        Intersection legs = new Intersection(hl.length);
+        Intersection boots = new Intersection(hb.length);
+        Intersection sets = new Intersection(hb.length);
+
+        for (int ci = 0; ci < hc.length; ci++) {
+            // Dense helmets can take a while, so cancellation is also checked per chestplate (a volatile read)
+            progress.throwIfCancelled();
+
+            int chest = hc[ci];
+            // Every delta is non-negative, so a partial sum above the heap bound can't improve it
+            if (excluded[CHESTPLATE][chest] || hcDelta[ci] > heap.bound()) continue;
+
+            // Leggings compatible with both the helmet and the chestplate
+            legs.intersect(hl, hlDelta, neighbours[CHESTPLATE][LEGGINGS][chest],
+                neighbourDeltaE[CHESTPLATE][LEGGINGS][chest]);
+            if (legs.size == 0) continue;
+
+            // Boots compatible with both as well
+            boots.intersect(hb, hbDelta, neighbours[CHESTPLATE][BOOTS][chest],
+                neighbourDeltaE[CHESTPLATE][BOOTS][chest]);
+            if (boots.size == 0) continue;
+
+            for (int li = 0; li < legs.size; li++) {
+                int leg = legs.ids[li];
+                double partial = hcDelta[ci] + legs.deltaA[li] + legs.deltaB[li];
+                if (excluded[LEGGINGS][leg] || partial > heap.bound()) continue;
+
+                // ... and with the leggings
+                sets.intersect(boots, neighbours[LEGGINGS][BOOTS][leg],
+                    neighbourDeltaE[LEGGINGS][BOOTS][leg]);
+
+                for (int bi = 0; bi < sets.size; bi++) {
+                    int boot = sets.ids[bi];
+                    if (excluded[BOOTS][boot]) continue;
+
+                    double score = partial + sets.deltaA[bi] + sets.deltaB[bi] + sets.deltaC[bi];
+                    heap.offer(score, helmet, chest, leg, boot);
+                }
+            }
+        }
+    }
+
+    /**
+     * Offer every set containing the given piece that scores below the threshold
+     * A set with several added pieces is only offered from the one with the lowest type, so it's seen once.
+     */
+    private void searchAnchored(int type, int id, boolean[][] added, TopSetHeap heap, double threshold, TaskProgress progress) {
+        // The other three types, in ascending order
+        int[] others = new int[3];
+        for (int other = 0, k = 0; other < TYPES; other++) {
+            if (other != type) others[k++] = other;
+        }
+        int a = others[0], b = others[1], c = others[2];
+
+        int[] pa = neighbours[type][a][id];
+        double[] paDelta = neighbourDeltaE[type][a][id];
+        int[] pb = neighbours[type][b][id];
+        int[] pc = neighbours[type][c][id];
+        if (pa.length == 0 || pb.length == 0 || pc.length == 0) return;
+
+        Intersection second = new Intersection(pb.length);
+        Intersection third = new Intersection(pc.length);
+        Intersection sets = new Intersection(pc.length);
+        int[] set = new int[TYPES];
+        set[type] = id;
+
+        for (int ai = 0; ai < pa.length; ai++) {
+            progress.throwIfCancelled();
+
+            int x = pa[ai];
+            double bound = Math.min(threshold, heap.bound());
+            if ((a < type && added[a][x]) || paDelta[ai] >= bound) continue;
+
+            second.intersect(pb, neighbourDeltaE[type][b][id], neighbours[a][b][x], neighbourDeltaE[a][b][x]);
+            if (second.size == 0) continue;
+            third.intersect(pc, neighbourDeltaE[type][c][id], neighbours[a][c][x], neighbourDeltaE[a][c][x]);
+            if (third.size == 0) continue;
+
+            for (int bi = 0; bi < second.size; bi++) {
+                int y = second.ids[bi];
+                double partial = paDelta[ai] + second.deltaA[bi] + second.deltaB[bi];
+                if ((b < type && added[b][y]) || partial >= Math.min(threshold, heap.bound())) continue;
+
+                sets.intersect(third, neighbours[b][c][y], neighbourDeltaE[b][c][y]);
+                for (int ci = 0; ci < sets.size; ci++) {
+                    int z = sets.ids[ci];
+                    if (c < type && added[c][z]) continue;
+
+                    double score = partial + sets.deltaA[ci] + sets.deltaB[ci] + sets.deltaC[ci];
+                    if (score >= threshold) continue;
+
+                    set[a] = x;
+                    set[b] = y;
+                    set[c] = z;
+                    heap.offer(score, set[HELMET], set[CHESTPLATE], set[LEGGINGS], set[BOOTS]);
+                }
+            }
+        }
+    }
+
+    public int count(int type) {
+        return pieces.get(type).size();
+    }
+
+    public ArmorPiece piece(int type, int id) {
+        return pieces.get(type).get(id);
+    }
+
+    /**
+     * Piece type index from the item name, or -1 if it isn't an armor piece
+     */
+    public static int pieceType(String pieceName) {
+        String lower = pieceName.toLowerCase();
+
+        if (lower.contains("helmet") || lower.contains("hat") || lower.contains("hood") ||
+            lower.contains("cap") || lower.contains("crown") || lower.contains("mask")) {
+            return HELMET;
+        }
+        if (lower.contains("chestplate") || lower.contains("tunic") || lower.contains("shirt") ||
+            lower.contains("vest") || lower.contains("jacket") || lower.contains("robe") ||
+            lower.contains("coat") || lower.contains("plate")) {
+            return CHESTPLATE;
+        }
+        if (lower.contains("leggings") || lower.contains("pants") || lower.contains("trousers") ||
+            lower.contains("legs") || lower.contains("shorts")) {
+            return LEGGINGS;
+        }
+        if (lower.contains("boots") || lower.contains("shoes") || lower.contains("sandals") ||
+            lower.contains("sneakers") || lower.contains("feet")) {
+            return BOOTS;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Selected sets (piece ids per type, best first) plus the candidate pool they were selected from
+     */
+    public static final class Result {
+        public final List<int[]> selected;
+        public final Pool pool;
+
+        Result(List<int[]> selected, Pool pool) {
+            this.selected = selected;
+            this.pool = pool;
+        }
+    }
+
+    /**
+     * Every valid set scoring below the threshold (summed pairwise deltaE), sorted best first
+     * A threshold of +infinity means the pool holds every valid set of the collection.
+     */
+    public static final class Pool {
+        private final int[][] sets;
+        private final double[] scores;
+        private final double threshold;
+
+        public Pool(int[][] sets, double[] scores, double threshold) {
+            this.sets = sets;
+            this.scores = scores;
+            this.threshold = threshold;
+        }
+
+        /**
+         * The sorted heap entries below the threshold
+         */
+        private static Pool of(TopSetHeap sorted, double threshold) {
+            int size = 0;
+            while (size < sorted.size() && sorted.score(size) < threshold) size++;
+
+            int[][] sets = new int[size][TYPES];
+            double[] scores = new double[size];
+            for (int i = 0; i < size; i++) {
+                for (int type = 0; type < TYPES; type++) {
+                    sets[i][type] = sorted.piece(i, type);
+                }
+                scores[i] = sorted.score(i);
+            }
+            return new Pool(sets, scores, threshold);
+        }
+
+        public int size() {
+            return sets.length;
+        }
+
+        public int piece(int index, int type) {
+            return sets[index][type];
+        }
+
+        public double score(int index) {
+            return scores[index];
+        }
+
+        public double getThreshold() {
+            return threshold;
+        }
+    }
+
+    /**
+     * Reusable sorted-list intersection buffer
+     * deltaA/deltaB carry the deltaE values of the inputs, deltaC the deltaE of the last list intersected in
+     */
+    private static class Intersection {
+        int[] ids;
+        double[] deltaA;
+        double[] deltaB;
+        double[] deltaC;
+        int size;
+
+        Intersection(int capacity) {
+            ids = new int[capacity];
+            deltaA = new double[capacity];
+            deltaB = new double[capacity];
+            deltaC = new double[capacity];
+        }
+
+        void intersect(int[] left, double[] leftDelta, int[] right, double[] rightDelta) {
+            size = 0;
+            int i = 0, j = 0;
+            while (i < left.length && j < right.length) {
+                if (left[i] < right[j]) {
+                    i++;
+                } else if (left[i] > right[j]) {
+                    j++;
+                } else {
+                    ids[size] = left[i];
+                    deltaA[size] = leftDelta[i];
+                    deltaB[size] = rightDelta[j];
+                    size++;
+                    i++;
+                    j++;
+                }
+            }
+        }
+
+        void intersect(Intersection left, int[] right, double[] rightDelta) {
+            size = 0;
+            int i = 0, j = 0;
+            while (i < left.size && j < right.length) {
+                if (left.ids[i] < right[j]) {
+                    i++;
+                } else if (left.ids[i] > right[j]) {
+                    j++;
+                } else {
+                    ids[size] = left.ids[i];
+                    deltaA[size] = left.deltaA[i];
+                    deltaB[size] = left.deltaB[i];
+                    deltaC[size] = rightDelta[j];
+                    size++;
+                    i++;
+                    j++;
+                }
+            }
+        }
+    }
+}
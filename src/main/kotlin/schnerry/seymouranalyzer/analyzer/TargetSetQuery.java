@@ -0,0 +1,157 @@
+package schnerry.seymouranalyzer.analyzer;
+
+import schnerry.seymouranalyzer.SeymourAnalyzer;
+import schnerry.seymouranalyzer.data.ArmorPiece;
+import schnerry.seymouranalyzer.data.CollectionManager;
+import schnerry.seymouranalyzer.util.ColorMath;
+import schnerry.seymouranalyzer.util.IntList;
+import schnerry.seymouranalyzer.util.LabGrid;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Target-anchored set search: the best sets whose pieces are all within deltaE 5 of a chosen color
+ *
+ * The collection is indexed once per piece type in a LAB grid (rebuilt only when the collection's modification
+ * count changes), so a query only looks at the grid cells around the target instead of enumerating sets.
+ * Queries may rebuild the index, so callers run them off the render thread.
+ * Sets are ranked by the average deltaE of their pieces to the target. That score is a sum over the piece
+ * types, so the best disjoint sets are simply the k-th closest piece of every type - no combination search.
+ * 3-piece sets (chestplate, leggings, boots) cover the "3p" checklist entries worn with a top hat.
+ */
+public class TargetSetQuery {
+    private static TargetSetQuery instance;
+
+    // Guarded by this
+    private Index index = null;
+
+    /**
+     * Pieces of one collection state, per type, with a LAB grid each
+     */
+    private static class Index {
+        final int modificationCount;
+        final List<List<ArmorPiece>> pieces = new ArrayList<>();
+        final LabGrid[] grids = new LabGrid[BestSetsFinder.TYPES];
+
+        Index(int modificationCount, Collection<ArmorPiece> collection) {
+            this.modificationCount = modificationCount;
+            for (int type = 0; type < BestSetsFinder.TYPES; type++) {
+                pieces.add(new ArrayList<>());
+            }
+            for (ArmorPiece piece : collection) {
+                if (piece.getHexcode() == null || piece.getPieceName() == null) continue;
+                int type = BestSetsFinder.pieceType(piece.getPieceName());
+                if (type >= 0) {
+                    pieces.get(type).add(piece);
+                }
+            }
+
+            for (int type = 0; type < BestSetsFinder.TYPES; type++) {
+                List<ColorMath.LAB> labs = new ArrayList<>(pieces.get(type).size());
+                for (ArmorPiece piece : pieces.get(type)) {
+                    labs.add(ColorMath.hexToLab(piece.getHexcode()));
+                }
+                grids[type] = LabGrid.of(labs, BestSetsFinder.MAX_DELTA_E);
+            }
+        }
+    }
+
+    /**
+     * A set found for a target, pieces by type (helmet, chest, legs, boots), the helmet is null for 3-piece sets
+     */
+    public static class TargetSet {
+        public final ArmorPiece[] pieces;
+        public final double targetDeltaE;
+
+        TargetSet(ArmorPiece[] pieces, double targetDeltaE) {
+            this.pieces = pieces;
+            this.targetDeltaE = targetDeltaE;
+        }
+    }
+
+    private TargetSetQuery() {
+    }
+
+    public static synchronized TargetSetQuery getInstance() {
+        if (instance == null) {
+            instance = new TargetSetQuery();
+        }
+        return instance;
+    }
+
+    /**
+     * Find the best non-overlapping sets near a target color
+     * @param targetHex Target color without #
+     * @param threePiece Leave out the helmet (sets for "3p" checklist entries)
+     * @param maxSets Maximum number of sets to return
+     * @return Sets ordered by average deltaE to the target, best first
+     */
+    public List<TargetSet> query(String targetHex, boolean threePiece, int maxSets) {
+        long startTime = System.currentTimeMillis();
+        Index current = getIndex();
+        ColorMath.LAB target = ColorMath.hexToLab(targetHex);
+        int firstType = threePiece ? BestSetsFinder.CHESTPLATE : BestSetsFinder.HELMET;
+
+        // Per type: ids within range of the target, closest first
+        int[][] ids = new int[BestSetsFinder.TYPES][];
+        double[][] deltas = new double[BestSetsFinder.TYPES][];
+        int count = maxSets;
+        for (int type = firstType; type < BestSetsFinder.TYPES; type++) {
+            LabGrid grid = current.grids[type];
+            IntList found = new IntList();
+            grid.forEachWithin(target, BestSetsFinder.MAX_DELTA_E, found::add);
+
+            // Sort primitive keys sized to the hits: non-negative float bits order like the values, ties by id
+            long[] keys = new long[found.size()];
+            for (int i = 0; i < keys.length; i++) {
+                int id = found.get(i);
+                float distance = (float) grid.distance(id, target.getL(), target.getA(), target.getB());
+                keys[i] = ((long) Float.floatToIntBits(distance) << 32) | id;
+            }
+            Arrays.sort(keys);
+
+            // Only the pieces that can end up in a set get their exact distance
+            int kept = Math.min(count, keys.length);
+            ids[type] = new int[kept];
+            deltas[type] = new double[kept];
+            for (int i = 0; i < kept; i++) {
+                ids[type][i] = (int) keys[i];
+                deltas[type][i] = grid.distance(ids[type][i], target.getL(), target.getA(), target.getB());
+            }
+            count = kept;
+        }
+
+        // Pairing the k-th closest pieces is optimal for a per-piece score and already in score order
+        List<TargetSet> sets = new ArrayList<>(count);
+        int pieceCount = BestSetsFinder.TYPES - firstType;
+        for (int k = 0; k < count; k++) {
+            ArmorPiece[] set = new ArmorPiece[BestSetsFinder.TYPES];
+            double sum = 0;
+            for (int type = firstType; type < BestSetsFinder.TYPES; type++) {
+                set[type] = current.pieces.get(type).get(ids[type][k]);
+                sum += deltas[type][k];
+            }
+            sets.add(new TargetSet(set, sum / pieceCount));
+        }
+
+        SeymourAnalyzer.LOGGER.info("Target set query #{} ({}): {} sets in {}ms",
+            targetHex.toUpperCase(), threePiece ? "3p" : "4p", sets.size(), System.currentTimeMillis() - startTime);
+        return sets;
+    }
+
+    /**
+     * The index for the current collection, rebuilt when the collection changed since the last query
+     * The count is read before the pieces, so a change during the rebuild triggers another one next query
+     */
+    private synchronized Index getIndex() {
+        CollectionManager manager = CollectionManager.getInstance();
+        int modificationCount = manager.getModificationCount();
+        if (index == null || index.modificationCount != modificationCount) {
+            index = new Index(modificationCount, manager.getCollection().values());
+        }
+        return index;
+    }
+}
@@ -0,0 +1,136 @@
+package schnerry.seymouranalyzer.analyzer;
+
+/**
+ * Bounded max-heap of the best 4-piece sets seen so far, keyed on the summed pairwise deltaE
+ * Sets are stored as primitives (score plus one piece id per type in parallel arrays), so millions
+ * of offered sets never turn into objects. Ties are ordered by piece ids, which keeps results deterministic.
+ * Not thread safe, every search worker fills its own heap and they are merged afterwards.
+ */
+final class TopSetHeap {
+    private final int capacity;
+    private final double[] scores;
+    private final int[] pieces;
+    private int size;
+
+    TopSetHeap(int capacity) {
+        this.capacity = capacity;
+        this.scores = new double[capacity];
+        this.pieces = new int[capacity * BestSetsFinder.TYPES];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isFull() {
+        return size == capacity;
+    }
+
+    /**
+     * Largest score that can still enter the heap, partial sets above it can be pruned
+     */
+    double bound() {
+        return size < capacity ? Double.POSITIVE_INFINITY : scores[0];
+    }
+
+    void offer(double score, int helmet, int chestplate, int leggings, int boots) {
+        if (capacity == 0) return;
+
+        if (size < capacity) {
+            set(size, score, helmet, chestplate, leggings, boots);
+            siftUp(size++);
+        } else if (compare(score, helmet, chestplate, leggings, boots, 0) < 0) {
+            set(0, score, helmet, chestplate, leggings, boots);
+            siftDown(0, size);
+        }
+    }
+
+    void addAll(TopSetHeap other) {
+        for (int i = 0; i < other.size; i++) {
+            int base = i * BestSetsFinder.TYPES;
+            offer(other.scores[i], other.pieces[base], other.pieces[base + 1], other.pieces[base + 2], other.pieces[base + 3]);
+        }
+    }
+
+    /**
+     * Heap-sort in place, best set first - the heap can't be offered to afterwards
+     */
+    void sortAscending() {
+        for (int end = size - 1; end > 0; end--) {
+            swap(0, end);
+            siftDown(0, end);
+        }
+    }
+
+    double score(int index) {
+        return scores[index];
+    }
+
+    int piece(int index, int type) {
+        return pieces[index * BestSetsFinder.TYPES + type];
+    }
+
+    private void set(int index, double score, int helmet, int chestplate, int leggings, int boots) {
+        int base = index * BestSetsFinder.TYPES;
+        scores[index] = score;
+        pieces[base] = helmet;
+        pieces[base + 1] = chestplate;
+        pieces[base + 2] = leggings;
+        pieces[base + 3] = boots;
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (compare(index, parent) <= 0) break;
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index, int end) {
+        while (true) {
+            int largest = index;
+            int left = index * 2 + 1;
+            int right = left + 1;
+            if (left < end && compare(left, largest) > 0) largest = left;
+            if (right < end && compare(right, largest) > 0) largest = right;
+            if (largest == index) return;
+            swap(index, largest);
+            index = largest;
+        }
+    }
+
+    private int compare(int i, int j) {
+        int base = i * BestSetsFinder.TYPES;
+        return compare(scores[i], pieces[base], pieces[base + 1], pieces[base + 2], pieces[base + 3], j);
+    }
+
+    private int compare(double score, int helmet, int chestplate, int leggings, int boots, int j) {
+        int result = Double.compare(score, scores[j]);
+        if (result != 0) return result;
+
+        int base = j * BestSetsFinder.TYPES;
+        result = Integer.compare(helmet, pieces[base]);
+        if (result != 0) return result;
+        result = Integer.compare(chestplate, pieces[base + 1]);
+        if (result != 0) return result;
+        result = Integer.compare(leggings, pieces[base + 2]);
+        if (result != 0) return result;
+        return Integer.compare(boots, pieces[base + 3]);
+    }
+
+    private void swap(int i, int j) {
+        double score = scores[i];
+        scores[i] = scores[j];
+        scores[j] = score;
+
+        int baseI = i * BestSetsFinder.TYPES;
+        int baseJ = j * BestSetsFinder.TYPES;
+        for (int type = 0; type < BestSetsFinder.TYPES; type++) {
+            int piece = pieces[baseI + type];
+            pieces[baseI + type] = pieces[baseJ + type];
+            pieces[baseJ + type] = piece;
+        }
+    }
+}
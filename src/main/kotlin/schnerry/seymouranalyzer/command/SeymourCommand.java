@@ -11,6 +11,8 @@ import schnerry.seymouranalyzer.config.ClothConfig;
 import schnerry.seymouranalyzer.config.ConfigScreen;
 import schnerry.seymouranalyzer.config.PriorityEditorScreen;
 import schnerry.seymouranalyzer.data.ArmorPiece;
+import schnerry.seymouranalyzer.data.BestSetsCache;
+import schnerry.seymouranalyzer.data.ChecklistCatalog;
 import schnerry.seymouranalyzer.data.CollectionManager;
 import schnerry.seymouranalyzer.data.ColorDatabase;
 import schnerry.seymouranalyzer.debug.ItemDebugger;
@@ -20,6 +22,7 @@ import schnerry.seymouranalyzer.render.HexTooltipRenderer;
 import schnerry.seymouranalyzer.render.InfoBoxRenderer;
 import schnerry.seymouranalyzer.render.ItemSlotHighlighter;
 import schnerry.seymouranalyzer.util.ColorMath;
+import schnerry.seymouranalyzer.util.TaskProgress;
 
 import static com.mojang.brigadier.builder.LiteralArgumentBuilder.literal;
 import static com.mojang.brigadier.builder.RequiredArgumentBuilder.argument;
@@ -112,9 +115,11 @@ public class SeymourCommand {
             .then(literal("checklist")
                 .executes(SeymourCommand::openChecklistGUI))
 
-            // /seymour bestsets - open best matching sets GUI
+            // /seymour bestsets [hex|stage] [3p] - open best matching sets GUI, optionally near a target color
             .then(literal("bestsets")
-                .executes(SeymourCommand::openBestSetsGUI))
+                .executes(SeymourCommand::openBestSetsGUI)
+                .then(argument("target", StringArgumentType.greedyString())
+                    .executes(SeymourCommand::openBestSetsGUIWithTarget)))
 
             // /seymour words - open word matches GUI
             .then(literal("words")
@@ -162,6 +167,10 @@ public class SeymourCommand {
                     .executes(SeymourCommand::rebuildMatches))
                 .then(literal("pattern")
                     .executes(SeymourCommand::rebuildPattern)))
+
+            // /seymour cancel - cancel running background tasks (rebuilds, best sets, checklist cache)
+            .then(literal("cancel")
+                .executes(SeymourCommand::cancelTasks))
         );
     }
 
@@ -178,6 +187,8 @@ public class SeymourCommand {
         ctx.getSource().sendFeedback(Component.literal("§2/seymour toggle <option> §7- Toggle settings"));
         ctx.getSource().sendFeedback(Component.literal("§4/seymour clear §7- Clear all caches & collection"));
         ctx.getSource().sendFeedback(Component.literal("§8/seymour stats §7- Print the amount of T1/T2/Dupes"));
+        ctx.getSource().sendFeedback(Component.literal("§d/seymour bestsets [hex|stage] [3p] §7- Best sets, optionally near a color"));
+        ctx.getSource().sendFeedback(Component.literal("§c/seymour cancel §7- Cancel running background tasks"));
 
         int size = CollectionManager.getInstance().size();
         ctx.getSource().sendFeedback(Component.literal("§7Collection: §e" + size + " §7pieces"));
@@ -487,6 +498,7 @@ public class SeymourCommand {
     private static int clearCollection(CommandContext<FabricClientCommandSource> ctx) {
         int collectionSize = CollectionManager.getInstance().size();
         CollectionManager.getInstance().clear();
+        BestSetsCache.getInstance().clear();
         ctx.getSource().sendFeedback(Component.literal("§a[Seymour Analyzer] §7Cleared §c" + collectionSize + "§7 pieces and all caches!"));
         return 1;
     }
@@ -743,6 +755,62 @@ public class SeymourCommand {
         return 1;
     }
 
+    private static int openBestSetsGUIWithTarget(CommandContext<FabricClientCommandSource> ctx) {
+        String input = StringArgumentType.getString(ctx, "target").trim();
+
+        // Whole input as a checklist stage first, stage names can end in "3p" themselves
+        ChecklistCatalog.Stage stage = findStage(input);
+        boolean threePiece = false;
+        String target = input;
+        if (stage == null && input.toLowerCase().endsWith(" 3p")) {
+            threePiece = true;
+            target = input.substring(0, input.length() - 3).trim();
+        }
+
+        String hex;
+        String label;
+        String cleanHex = target.replace("#", "").toUpperCase();
+        if (stage == null && cleanHex.matches("^[0-9A-F]{6}$")) {
+            hex = cleanHex;
+            label = "#" + cleanHex;
+        } else {
+            if (stage == null) stage = findStage(target);
+            if (stage == null) {
+                ctx.getSource().sendError(Component.literal("§c[Seymour] §7Not a hex code or checklist stage: " + target));
+                return 0;
+            }
+            // Slots follow ChecklistCache.PIECE_TYPES: helmet, chestplate, leggings, boots
+            if (!stage.needs(1) || !stage.needs(2) || !stage.needs(3)) {
+                ctx.getSource().sendError(Component.literal("§c[Seymour] §7" + stage.name + " only needs §f"
+                    + String.join(", ", stage.pieces) + "§7 - best sets cover 4-piece and 3p (chestplate, leggings, boots) stages."
+                    + " Use §f/seymour bestsets " + stage.hex + "§7 for full sets near its color."));
+                return 0;
+            }
+            hex = stage.hex.replace("#", "").toUpperCase();
+            label = stage.name;
+            // Exactly chestplate + leggings + boots is a 3p entry
+            threePiece |= !stage.needs(0);
+        }
+
+        boolean finalThreePiece = threePiece;
+        try {
+            net.minecraft.client.MinecraftClient mc = net.minecraft.client.MinecraftClient.getInstance();
+            mc.send(() -> mc.setScreen(new BestSetsScreen(null, hex, finalThreePiece, label)));
+            ctx.getSource().sendFeedback(Component.literal("§a[Seymour] §7Best sets near §f" + label + (finalThreePiece ? " §7(3-piece)" : "")));
+        } catch (Exception e) {
+            ctx.getSource().sendError(Component.literal("§c[Seymour] §7Error: " + e.getMessage()));
+            e.printStackTrace();
+        }
+        return 1;
+    }
+
+    private static ChecklistCatalog.Stage findStage(String name) {
+        for (ChecklistCatalog.Stage stage : ChecklistCatalog.getInstance().getAllStages()) {
+            if (stage.name.equalsIgnoreCase(name)) return stage;
+        }
+        return null;
+    }
+
     private static int openWordMatchesGUI(CommandContext<FabricClientCommandSource> ctx) {
         try {
             net.minecraft.client.MinecraftClient mc = net.minecraft.client.MinecraftClient.getInstance();
@@ -946,17 +1014,30 @@ public class SeymourCommand {
         return 1;
     }
 
+    private static int cancelTasks(CommandContext<FabricClientCommandSource> ctx) {
+        int cancelled = TaskProgress.cancelAll();
+        if (cancelled == 0) {
+            ctx.getSource().sendFeedback(Component.literal("§7[Seymour Analyzer] No background tasks running"));
+        } else {
+            ctx.getSource().sendFeedback(Component.literal("§a[Seymour Analyzer] §7Cancelling §e" + cancelled + " §7background task(s)..."));
+        }
+        return 1;
+    }
+
     private static int rebuildWords(CommandContext<FabricClientCommandSource> ctx) {
         ctx.getSource().sendFeedback(Component.literal("§a[Seymour Analyzer] §7Preparing word rebuild..."));
 
         new Thread(() -> {
-            try {
+            try (TaskProgress task = TaskProgress.start("Rebuild words", 0)) {
                 Thread.sleep(50); // Small delay like the old module
 
                 var collection = CollectionManager.getInstance().getCollection();
                 var keys = new ArrayList<>(collection.keySet());
                 int total = keys.size();
                 int updated = 0;
+                task.addTotal(total);
+                // Progress goes to the overlay, counted in batches so the loop doesn't touch it per piece
+                TaskProgress.Batch batch = task.batch(100);
 
                 ctx.getSource().sendFeedback(Component.literal("§a[Seymour Analyzer] §7Starting word rebuild for §e" + total + " §7pieces..."));
 
@@ -972,18 +1053,20 @@ public class SeymourCommand {
                         updated++;
                     }
 
-                    // Progress updates
-                    if ((i + 1) % 500 == 0 || (i + 1) < 500) {
-                        int progress = (int) ((i + 1) / (float) total * 100);
-                        ctx.getSource().sendFeedback(Component.literal("§7Progress: §e" + (i + 1) + "§7/§e" + total + " §7(§a" + progress + "%§7)"));
-                    }
+                    batch.step();
                 }
 
+                batch.flush();
+
                 ctx.getSource().sendFeedback(Component.literal("§7Saving collection..."));
                 CollectionManager.getInstance().save();
 
                 ctx.getSource().sendFeedback(Component.literal("§a[Seymour Analyzer] §7Rebuilt word matches for §e" + updated + " §7pieces!"));
 
+            } catch (CancellationException e) {
+                // Pieces are updated one by one, so everything done so far is still valid
+                ctx.getSource().sendFeedback(Component.literal("§c[Seymour] §7Word rebuild cancelled, saving pieces updated so far..."));
+                CollectionManager.getInstance().save();
             } catch (Exception e) {
                 ctx.getSource().sendError(Component.literal("§c[Seymour] §7Error during rebuild: " + e.getMessage()));
                 e.printStackTrace();
@@ -997,13 +1080,15 @@ public class SeymourCommand {
         ctx.getSource().sendFeedback(Component.literal("§a[Seymour Analyzer] §7Preparing analysis rebuild..."));
 
         new Thread(() -> {
-            try {
+            try (TaskProgress task = TaskProgress.start("Rebuild analysis", 0)) {
                 Thread.sleep(50);
 
                 var collection = CollectionManager.getInstance().getCollection();
                 var keys = new ArrayList<>(collection.keySet());
                 int total = keys.size();
                 int updated = 0;
+                task.addTotal(total);
+                TaskProgress.Batch batch = task.batch(100);
 
                 ctx.getSource().sendFeedback(Component.literal("§a[Seymour Analyzer] §7Starting analysis rebuild for §e" + total + " §7pieces..."));
 
@@ -1032,18 +1117,20 @@ public class SeymourCommand {
                         }
                     }
 
-                    if ((i + 1) % 500 == 0 || (i + 1) < 500) {
-                        int progress = (int) ((i + 1) / (float) total * 100);
-                        ctx.getSource().sendFeedback(Component.literal("§7Progress: §e" + (i + 1) + "§7/§e" + total + " §7(§a" + progress + "%§7)"));
-                    }
+                    batch.step();
                 }
 
+                batch.flush();
+
                 ctx.getSource().sendFeedback(Component.literal("§7Saving collection..."));
                 CollectionManager.getInstance().save();
 
                 ctx.getSource().sendFeedback(Component.literal("§a[Seymour Analyzer] §7Rebuilt analysis for §e" + updated + " §7pieces!"));
                 ctx.getSource().sendFeedback(Component.literal("§7This applied current toggle settings (fade/3p/sets/custom)"));
 
+            } catch (CancellationException e) {
+                ctx.getSource().sendFeedback(Component.literal("§c[Seymour] §7Analysis rebuild cancelled, saving pieces updated so far..."));
+                CollectionManager.getInstance().save();
             } catch (Exception e) {
                 ctx.getSource().sendError(Component.literal("§c[Seymour] §7Error during rebuild: " + e.getMessage()));
                 e.printStackTrace();
@@ -1057,13 +1144,15 @@ public class SeymourCommand {
         ctx.getSource().sendFeedback(Component.literal("§a[Seymour Analyzer] §7Preparing matches rebuild..."));
 
         new Thread(() -> {
-            try {
+            try (TaskProgress task = TaskProgress.start("Rebuild matches", 0)) {
                 Thread.sleep(50);
 
                 var collection = CollectionManager.getInstance().getCollection();
                 var keys = new ArrayList<>(collection.keySet());
                 int total = keys.size();
                 int updated = 0;
+                task.addTotal(total);
+                TaskProgress.Batch batch = task.batch(100);
 
                 ctx.getSource().sendFeedback(Component.literal("§a[Seymour Analyzer] §7Starting matches rebuild for §e" + total + " §7pieces..."));
 
@@ -1099,17 +1188,19 @@ public class SeymourCommand {
                         }
                     }
 
-                    if ((i + 1) % 500 == 0 || (i + 1) < 500) {
-                        int progress = (int) ((i + 1) / (float) total * 100);
-                        ctx.getSource().sendFeedback(Component.literal("§7Progress: §e" + (i + 1) + "§7/§e" + total + " §7(§a" + progress + "%§7)"));
-                    }
+                    batch.step();
                 }
 
+                batch.flush();
+
                 ctx.getSource().sendFeedback(Component.literal("§7Saving collection..."));
                 CollectionManager.getInstance().save();
 
                 ctx.getSource().sendFeedback(Component.literal("§a[Seymour Analyzer] §7Rebuilt match data for §e" + updated + " §7pieces!"));
 
+            } catch (CancellationException e) {
+                ctx.getSource().sendFeedback(Component.literal("§c[Seymour] §7Matches rebuild cancelled, saving pieces updated so far..."));
+                CollectionManager.getInstance().save();
             } catch (Exception e) {
                 ctx.getSource().sendError(Component.literal("§c[Seymour] §7Error during rebuild: " + e.getMessage()));
                 e.printStackTrace();
@@ -1123,13 +1214,15 @@ public class SeymourCommand {
         ctx.getSource().sendFeedback(Component.literal("§a[Seymour Analyzer] §7Preparing pattern rebuild..."));
 
         new Thread(() -> {
-            try {
+            try (TaskProgress task = TaskProgress.start("Rebuild pattern", 0)) {
                 Thread.sleep(50);
 
                 var collection = CollectionManager.getInstance().getCollection();
                 var keys = new ArrayList<>(collection.keySet());
                 int total = keys.size();
                 int updated = 0;
+                task.addTotal(total);
+                TaskProgress.Batch batch = task.batch(100);
 
                 ctx.getSource().sendFeedback(Component.literal("§a[Seymour Analyzer] §7Starting pattern rebuild for §e" + total + " §7pieces..."));
 
@@ -1145,17 +1238,19 @@ public class SeymourCommand {
                         updated++;
                     }
 
-                    if ((i + 1) % 500 == 0 || (i + 1) < 500) {
-                        int progress = (int) ((i + 1) / (float) total * 100);
-                        ctx.getSource().sendFeedback(Component.literal("§7Progress: §e" + (i + 1) + "§7/§e" + total + " §7(§a" + progress + "%§7)"));
-                    }
+                    batch.step();
                 }
 
+                batch.flush();
+
                 ctx.getSource().sendFeedback(Component.literal("§7Saving collection..."));
                 CollectionManager.getInstance().save();
 
                 ctx.getSource().sendFeedback(Component.literal("§a[Seymour Analyzer] §7Rebuilt pattern data for §e" + updated + " §7pieces!"));
 
+            } catch (CancellationException e) {
+                ctx.getSource().sendFeedback(Component.literal("§c[Seymour] §7Pattern rebuild cancelled, saving pieces updated so far..."));
+                CollectionManager.getInstance().save();
             } catch (Exception e) {
                 ctx.getSource().sendError(Component.literal("§c[Seymour] §7Error during rebuild: " + e.getMessage()));
                 e.printStackTrace();
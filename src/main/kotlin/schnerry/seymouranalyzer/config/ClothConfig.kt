@@ -25,8 +25,8 @@ class ClothConfig private constructor() {
     var matchPriorities: MutableList<MatchPriority> = getDefaultMatchPriorities()
         set(value) {
             field = value
-            // Clear highlight cache so items re-calculate with new priorities
-            ItemSlotHighlighter.getInstance().clearCache()
+            // Rebuild the highlight priority order (also clears the highlight cache)
+            ItemSlotHighlighter.getInstance().setPriorityOrder(value)
         }
 
     // Custom data
@@ -57,18 +57,20 @@ class ClothConfig private constructor() {
                 }
 
                 if (json.has("matchPriorities")) {
-                    matchPriorities = mutableListOf()
+                    val loadedPriorities = mutableListOf<MatchPriority>()
                     json.getAsJsonArray("matchPriorities").forEach { element ->
                         MatchPriority.fromName(element.asString)?.let { priority ->
-                            matchPriorities.add(priority)
+                            loadedPriorities.add(priority)
                         }
                     }
                     // Add any missing priorities at the end
                     for (priority in MatchPriority.entries) {
-                        if (!matchPriorities.contains(priority)) {
-                            matchPriorities.add(priority)
+                        if (!loadedPriorities.contains(priority)) {
+                            loadedPriorities.add(priority)
                         }
                     }
+                    // Assign once the list is complete so the highlighter sees the full order
+                    matchPriorities = loadedPriorities
                 }
 
                 SeymourAnalyzer.LOGGER.info("Loaded config from file")
@@ -77,6 +79,9 @@ class ClothConfig private constructor() {
             SeymourAnalyzer.LOGGER.error("Failed to load config", e)
         }
 
+        // Also without a saved order, so the highlighter never has to build it from a compute path
+        ItemSlotHighlighter.getInstance().setPriorityOrder(matchPriorities)
+
         // Load custom data
         try {
             if (dataFile.exists()) {
@@ -118,6 +123,9 @@ class ClothConfig private constructor() {
                 GSON.toJson(json, writer)
             }
 
+            // Toggles (words/patterns/dupes/fades...) affect highlight colors, rebuilding the order clears the cache
+            ItemSlotHighlighter.getInstance().setPriorityOrder(matchPriorities)
+
             SeymourAnalyzer.LOGGER.info("Saved config to file")
         } catch (e: Exception) {
             SeymourAnalyzer.LOGGER.error("Failed to save config", e)
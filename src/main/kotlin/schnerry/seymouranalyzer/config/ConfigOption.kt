@@ -17,5 +17,6 @@ enum class ConfigOption(val configValue: ConfigValue<Boolean>) {
     SHOW_HIGH_FADES(ConfigValue("showHighFades", true)),
     THREE_PIECE_SETS_ENABLED(ConfigValue("threePieceSetsEnabled", true)),
     PIECE_SPECIFIC_ENABLED(ConfigValue("pieceSpecificEnabled", false)),
-    ITEM_FRAMES_ENABLED(ConfigValue("itemFramesEnabled", false))
+    ITEM_FRAMES_ENABLED(ConfigValue("itemFramesEnabled", false)),
+    PACKET_ANALYSIS_ENABLED(ConfigValue("packetAnalysisEnabled", true))
 }
\ No newline at end of file
@@ -24,6 +24,7 @@ object ConfigScreen {
             addBooleanToggle("Word Matches", ConfigOption.WORDS_ENABLED, "Detect and highlight hexes that spell words")
             addBooleanToggle("Pattern Detection", ConfigOption.PATTERNS_ENABLED, "Detect special patterns (palindrome, repeating, etc.)")
             addBooleanToggle("Duplicate Detection", ConfigOption.DUPES_ENABLED, "Warn when you have duplicate colors in your collection")
+            addBooleanToggle("Packet Analysis", ConfigOption.PACKET_ANALYSIS_ENABLED, "Analyze container contents in the background as soon as they arrive from the server")
         }
 
         // Match Priority Editor - Create a subcategory
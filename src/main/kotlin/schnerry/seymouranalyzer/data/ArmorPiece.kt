@@ -14,16 +14,6 @@ class ArmorPiece(
     var specialPattern: String? = null,
     var timestamp: Long = 0 // Hypixel Skyblock timestamp
 ) {
-    // Transient fields for hex search (not serialized)
-    @Transient
-    var cachedSearchHex: String? = null
-
-    @Transient
-    var cachedSearchDeltaE: Double? = null
-
-    @Transient
-    var cachedSearchDistance: Int? = null
-
     data class ChestLocation(
         var x: Int = 0,
         var y: Int = 0,
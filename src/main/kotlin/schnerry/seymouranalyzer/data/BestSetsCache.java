@@ -0,0 +1,264 @@
+package schnerry.seymouranalyzer.data;
+
+import com.google.gson.Gson;
+import net.fabricmc.loader.api.FabricLoader;
+import schnerry.seymouranalyzer.SeymourAnalyzer;
+import schnerry.seymouranalyzer.analyzer.BestSetsFinder;
+import schnerry.seymouranalyzer.util.FileUtil;
+import schnerry.seymouranalyzer.util.TaskProgress;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Persistent best sets results, stamped with the collection fingerprint
+ * The selected sets are reused as is while the collection is unchanged. Besides them the candidate pool
+ * of the last search and the hex of every piece it saw are stored, so after a collection change only the
+ * added/recolored pieces have to be searched (see BestSetsFinder.reselect). Removed pieces just drop their
+ * candidates; if the remaining pool can't prove the result exact the caller falls back to a full search.
+ */
+public class BestSetsCache {
+    private static final String CACHE_FILE = "bestSetsCache.json";
+    // Bump when the search or the stored format changes, older files are ignored then
+    private static final int VERSION = 1;
+    private static final Gson GSON = new Gson();
+    private static final ExecutorService SAVE_EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "BestSetsCacheSaver");
+        t.setDaemon(true);
+        return t;
+    });
+    private static BestSetsCache instance;
+
+    // Guarded by this, loaded on first use
+    private Stored stored = null;
+    private boolean loaded = false;
+
+    /**
+     * On-disk format, sets reference pieces by index into uuids (piece order per set: helmet, chest, legs, boots)
+     */
+    private static class Stored {
+        int version;
+        long collectionFingerprint;
+        // uuid -> hex of every piece the search saw, used to find added/removed/recolored pieces
+        Map<String, String> pieces;
+        List<String> uuids;
+        int[][] selected;
+        int[][] pool;
+        double[] poolScores;
+        // Pool threshold, null when the pool holds every valid set
+        Double threshold;
+    }
+
+    private BestSetsCache() {
+    }
+
+    public static synchronized BestSetsCache getInstance() {
+        if (instance == null) {
+            instance = new BestSetsCache();
+        }
+        return instance;
+    }
+
+    /**
+     * The stored selection if it was computed for exactly this collection
+     * @return Per set the pieces by type (helmet, chest, legs, boots), or null if there is no current result
+     */
+    public synchronized List<ArmorPiece[]> getSelected(long fingerprint, Map<String, ArmorPiece> collection) {
+        Stored current = getStored();
+        if (current == null || current.collectionFingerprint != fingerprint) return null;
+
+        List<ArmorPiece[]> sets = new ArrayList<>(current.selected.length);
+        for (int[] set : current.selected) {
+            ArmorPiece[] pieces = new ArmorPiece[BestSetsFinder.TYPES];
+            for (int type = 0; type < BestSetsFinder.TYPES; type++) {
+                pieces[type] = collection.get(current.uuids.get(set[type]));
+                // Fingerprint matched, so this only happens if the collection changed while reading
+                if (pieces[type] == null) return null;
+            }
+            sets.add(pieces);
+        }
+        return sets;
+    }
+
+    /**
+     * Update the stored result for a changed collection by searching around the changed pieces only
+     * @return The new result, or null if nothing usable is stored or exactness can't be proven (do a full search)
+     */
+    public BestSetsFinder.Result reuse(BestSetsFinder finder, int maxSets, TaskProgress progress) {
+        Stored previous;
+        synchronized (this) {
+            previous = getStored();
+        }
+        if (previous == null || previous.pool == null) return null;
+
+        // uuid -> (type, id) in the new finder
+        Map<String, int[]> ids = new HashMap<>();
+        int total = 0;
+        for (int type = 0; type < BestSetsFinder.TYPES; type++) {
+            for (int id = 0; id < finder.count(type); id++) {
+                ids.put(finder.piece(type, id).getUuid(), new int[]{type, id});
+            }
+            total += finder.count(type);
+        }
+
+        // New and recolored pieces are searched, recolored ones also count as removed below
+        boolean[][] added = new boolean[BestSetsFinder.TYPES][];
+        int addedCount = 0;
+        for (int type = 0; type < BestSetsFinder.TYPES; type++) {
+            added[type] = new boolean[finder.count(type)];
+            for (int id = 0; id < finder.count(type); id++) {
+                ArmorPiece piece = finder.piece(type, id);
+                String previousHex = previous.pieces.get(piece.getUuid());
+                if (previousHex == null || !previousHex.equalsIgnoreCase(piece.getHexcode())) {
+                    added[type][id] = true;
+                    addedCount++;
+                }
+            }
+        }
+        // Searching around most of the collection costs more than the full search
+        if (addedCount > total / 4) return null;
+
+        // Keep the candidates whose pieces all still exist unchanged, under the same type
+        List<int[]> sets = new ArrayList<>();
+        List<Double> scores = new ArrayList<>();
+        for (int i = 0; i < previous.pool.length; i++) {
+            int[] set = new int[BestSetsFinder.TYPES];
+            boolean valid = true;
+            for (int type = 0; type < BestSetsFinder.TYPES && valid; type++) {
+                int[] location = ids.get(previous.uuids.get(previous.pool[i][type]));
+                valid = location != null && location[0] == type && !added[type][location[1]];
+                if (valid) set[type] = location[1];
+            }
+            if (valid) {
+                sets.add(set);
+                scores.add(previous.poolScores[i]);
+            }
+        }
+
+        double[] scoreArray = new double[scores.size()];
+        for (int i = 0; i < scoreArray.length; i++) {
+            scoreArray[i] = scores.get(i);
+        }
+        double threshold = previous.threshold != null ? previous.threshold : Double.POSITIVE_INFINITY;
+        BestSetsFinder.Pool pool = new BestSetsFinder.Pool(sets.toArray(new int[0][]), scoreArray, threshold);
+
+        BestSetsFinder.Result result = finder.reselect(maxSets, pool, added, progress);
+        SeymourAnalyzer.LOGGER.info("Best sets cache: {} added/recolored pieces, {}/{} candidates kept, {}",
+            addedCount, sets.size(), previous.pool.length, result != null ? "reused" : "full search needed");
+        return result;
+    }
+
+    /**
+     * Store a search result for the given collection fingerprint and write it to disk in the background
+     */
+    public void store(BestSetsFinder finder, long fingerprint, BestSetsFinder.Result result) {
+        Stored data = new Stored();
+        data.version = VERSION;
+        data.collectionFingerprint = fingerprint;
+        data.pieces = new HashMap<>();
+        for (int type = 0; type < BestSetsFinder.TYPES; type++) {
+            for (int id = 0; id < finder.count(type); id++) {
+                ArmorPiece piece = finder.piece(type, id);
+                data.pieces.put(piece.getUuid(), piece.getHexcode());
+            }
+        }
+
+        // Only pieces referenced by a set get an index
+        Map<String, Integer> indices = new LinkedHashMap<>();
+        data.selected = new int[result.selected.size()][];
+        for (int i = 0; i < data.selected.length; i++) {
+            data.selected[i] = toIndices(finder, result.selected.get(i), indices);
+        }
+        BestSetsFinder.Pool pool = result.pool;
+        data.pool = new int[pool.size()][];
+        data.poolScores = new double[pool.size()];
+        int[] set = new int[BestSetsFinder.TYPES];
+        for (int i = 0; i < pool.size(); i++) {
+            for (int type = 0; type < BestSetsFinder.TYPES; type++) {
+                set[type] = pool.piece(i, type);
+            }
+            data.pool[i] = toIndices(finder, set, indices);
+            data.poolScores[i] = pool.score(i);
+        }
+        data.uuids = new ArrayList<>(indices.keySet());
+        data.threshold = pool.getThreshold() == Double.POSITIVE_INFINITY ? null : pool.getThreshold();
+
+        synchronized (this) {
+            stored = data;
+            loaded = true;
+        }
+
+        SAVE_EXECUTOR.submit(() -> {
+            try {
+                FileUtil.writeAtomically(getCacheFilePath(), GSON.toJson(data));
+            } catch (Exception e) {
+                SeymourAnalyzer.LOGGER.error("Failed to save best sets cache", e);
+            }
+        });
+    }
+
+    /**
+     * Drop the stored result (e.g. when the collection is cleared)
+     */
+    public void clear() {
+        synchronized (this) {
+            stored = null;
+            loaded = true;
+        }
+        SAVE_EXECUTOR.submit(() -> {
+            try {
+                Files.deleteIfExists(getCacheFilePath());
+            } catch (IOException e) {
+                SeymourAnalyzer.LOGGER.error("Failed to delete best sets cache", e);
+            }
+        });
+    }
+
+    private static int[] toIndices(BestSetsFinder finder, int[] set, Map<String, Integer> indices) {
+        int[] result = new int[BestSetsFinder.TYPES];
+        for (int type = 0; type < BestSetsFinder.TYPES; type++) {
+            String uuid = finder.piece(type, set[type]).getUuid();
+            result[type] = indices.computeIfAbsent(uuid, k -> indices.size());
+        }
+        return result;
+    }
+
+    private Stored getStored() {
+        if (!loaded) {
+            loaded = true;
+            stored = load();
+        }
+        return stored;
+    }
+
+    private static Stored load() {
+        Path file = getCacheFilePath();
+        if (!Files.exists(file)) return null;
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            Stored data = GSON.fromJson(reader, Stored.class);
+            if (data == null || data.version != VERSION || data.pieces == null || data.uuids == null || data.selected == null) {
+                SeymourAnalyzer.LOGGER.info("Ignoring outdated best sets cache");
+                return null;
+            }
+            return data;
+        } catch (Exception e) {
+            SeymourAnalyzer.LOGGER.error("Failed to load best sets cache", e);
+            return null;
+        }
+    }
+
+    private static Path getCacheFilePath() {
+        return FabricLoader.getInstance().getConfigDir().resolve("seymouranalyzer").resolve(CACHE_FILE);
+    }
+}
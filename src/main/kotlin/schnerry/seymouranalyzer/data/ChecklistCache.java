@@ -3,21 +3,61 @@ package schnerry.seymouranalyzer.data;
 /**
  * Persistent cache for armor checklist calculations
  * Ported from ChatTriggers PogObject system
+ *
+ * All state lives in an immutable Snapshot published through a single volatile field. Readers
+ * (render thread) just grab the current snapshot and never lock; writers build a new snapshot
+ * under the cache lock (copy-on-write) and swap it in, so a reader never sees a half-applied update.
  */
 public class ChecklistCache {
-    private static final String CACHE_FILE = "armorChecklistCache.json";
+    private static final String CACHE_DIR = "checklistCache";
+    private static final String INDEX_FILE = "index.json";
+    // Single-file pretty-printed format used before per-category files, migrated on first load
+    private static final String LEGACY_CACHE_FILE = "armorChecklistCache.json";
+    private static final Gson GSON = new Gson();
+    private static final ExecutorService SAVE_EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "ChecklistCacheSaver");
+        t.setDaemon(true);
+        return t;
+    });
     private static ChecklistCache instance;
+    // Packed stage rgb -> catalog stages, see getStageTargets
+    private static volatile Map<Integer, List<ChecklistCatalog.Stage>> stageTargets;
 
-    // Cache data (matches the JS structure)
-    private Map<String, CategoryCache> normalColorCache = new HashMap<>();
-    private Map<String, CategoryCache> fadeDyeOptimalCache = new HashMap<>();
-    private int collectionSize = 0;
-    private long lastUpdated = 0;
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
 
+    // Categories changed since the last save (file written or deleted on the next save)
+    private final Set<String> dirtyNormal = ConcurrentHashMap.newKeySet();
+    private final Set<String> dirtyFade = ConcurrentHashMap.newKeySet();
+    private volatile boolean legacyFilePending = false;
+    // Category file reads in progress ("normal:"/"fade:" + name), so a category is read at most once at a time
+    private final Map<String, CompletableFuture<CategoryCache>> loading = new ConcurrentHashMap<>();
+
+    // Piece slot order used by the index (matches StageMatches field order)
+    public static final String[] PIECE_TYPES = {"helmet", "chestplate", "leggings", "boots"};
+
+    /**
+     * Matches for one category
+     * Treated as immutable once published to the cache: writers change a copy() and publish that instead.
+     */
     public static class CategoryCache {
         public String category;
         public Map<Integer, StageMatches> matchesByIndex = new HashMap<>();
         public boolean isCalculating = false;
+
+        /**
+         * Copy with fresh StageMatches, safe to modify before publishing
+         */
+        public CategoryCache copy() {
+            CategoryCache copy = new CategoryCache();
+            copy.category = category;
+            copy.isCalculating = isCalculating;
+            if (matchesByIndex != null) {
+                for (Map.Entry<Integer, StageMatches> entry : matchesByIndex.entrySet()) {
+                    copy.matchesByIndex.put(entry.getKey(), entry.getValue() != null ? entry.getValue().copy() : null);
+                }
+            }
+            return copy;
+        }
     }
 
     public static class StageMatches {
@@ -27,6 +67,68 @@ public class ChecklistCache {
         public MatchInfo boots;
         public boolean calculated = false;
         public String stageHex;
+
+        public StageMatches copy() {
+            StageMatches copy = new StageMatches();
+            copy.helmet = helmet;
+            copy.chestplate = chestplate;
+            copy.leggings = leggings;
+            copy.boots = boots;
+            copy.calculated = calculated;
+            copy.stageHex = stageHex;
+            return copy;
+        }
+
+        /**
+         * Get the match for a piece slot (index into PIECE_TYPES)
+         */
+        public MatchInfo get(int slot) {
+            return switch (slot) {
+                case 0 -> helmet;
+                case 1 -> chestplate;
+                case 2 -> leggings;
+                case 3 -> boots;
+                default -> null;
+            };
+        }
+
+        /**
+         * Set the match for a piece slot (index into PIECE_TYPES)
+         */
+        public void set(int slot, MatchInfo match) {
+            switch (slot) {
+                case 0 -> helmet = match;
+                case 1 -> chestplate = match;
+                case 2 -> leggings = match;
+                case 3 -> boots = match;
+                default -> { }
+            }
+        }
+    }
+
+    /**
+     * Index entry for a single checklist stage
+     * Per piece slot: the assigned UUID (or null) and the tier of that assignment
+     */
+    public static class StageIndexEntry {
+        public final String category;
+        public final boolean isFade;
+        public final int stageIndex;
+        public final String[] uuids = new String[PIECE_TYPES.length];
+        public final int[] tiers = new int[PIECE_TYPES.length];
+
+        StageIndexEntry(String category, boolean isFade, int stageIndex, StageMatches stageMatches) {
+            this.category = category;
+            this.isFade = isFade;
+            this.stageIndex = stageIndex;
+
+            for (int slot = 0; slot < PIECE_TYPES.length; slot++) {
+                MatchInfo match = stageMatches.get(slot);
+                uuids[slot] = match != null ? match.uuid : null;
+                // Tier of the assignment against this stage, computed once here instead of per hover
+                tiers[slot] = match != null ? ColorAnalyzer.calculateTier(match.deltaE, false, isFade) : Integer.MAX_VALUE;
+            }
+        }
     }
 
     public static class MatchInfo {
@@ -43,6 +145,161 @@ public class ChecklistCache {
         }
     }
 
+    /**
+     * Immutable view of the whole cache
+     * Categories listed in the index whose files haven't been read yet are kept as "unloaded" names.
+     */
+    public static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(new HashMap<>(), new HashMap<>(), new HashSet<>(), new HashSet<>(), 0, 0, 0);
+
+        private final Map<String, CategoryCache> normalColorCache;
+        private final Map<String, CategoryCache> fadeDyeOptimalCache;
+        private final Set<String> unloadedNormal;
+        private final Set<String> unloadedFade;
+        private final int collectionSize;
+        // What the cached matches were computed from, see ChecklistCacheGenerator.isCacheCurrent
+        private final long collectionFingerprint;
+        private final long cacheVersion;
+
+        // Packed stage rgb -> checklist stage entry, filled by lookupStage as hexes are hovered
+        private final Map<Integer, StageIndexEntry> stageEntries = new ConcurrentHashMap<>();
+
+        private Snapshot(Map<String, CategoryCache> normalColorCache, Map<String, CategoryCache> fadeDyeOptimalCache,
+                         Set<String> unloadedNormal, Set<String> unloadedFade,
+                         int collectionSize, long collectionFingerprint, long cacheVersion) {
+            this.normalColorCache = Collections.unmodifiableMap(normalColorCache);
+            this.fadeDyeOptimalCache = Collections.unmodifiableMap(fadeDyeOptimalCache);
+            this.unloadedNormal = Collections.unmodifiableSet(unloadedNormal);
+            this.unloadedFade = Collections.unmodifiableSet(unloadedFade);
+            this.collectionSize = collectionSize;
+            this.collectionFingerprint = collectionFingerprint;
+            this.cacheVersion = cacheVersion;
+        }
+
+        public Map<String, CategoryCache> getNormalColorCache() {
+            return normalColorCache;
+        }
+
+        public Map<String, CategoryCache> getFadeDyeOptimalCache() {
+            return fadeDyeOptimalCache;
+        }
+
+        public CategoryCache getCategory(String category, boolean isFade) {
+            return (isFade ? fadeDyeOptimalCache : normalColorCache).get(category);
+        }
+
+        public int getCollectionSize() {
+            return collectionSize;
+        }
+
+        public long getCollectionFingerprint() {
+            return collectionFingerprint;
+        }
+
+        public long getCacheVersion() {
+            return cacheVersion;
+        }
+
+        boolean isFullyLoaded() {
+            return unloadedNormal.isEmpty() && unloadedFade.isEmpty();
+        }
+
+        /**
+         * Names of every category, loaded or not
+         */
+        public Set<String> getCategoryNames(boolean isFade) {
+            Set<String> names = new TreeSet<>(isFade ? fadeDyeOptimalCache.keySet() : normalColorCache.keySet());
+            names.addAll(isFade ? unloadedFade : unloadedNormal);
+            return names;
+        }
+    }
+
+    /**
+     * Mutable working copy of a snapshot, handed to update() callbacks
+     */
+    public static final class Editor {
+        private final Map<String, CategoryCache> normalColorCache;
+        private final Map<String, CategoryCache> fadeDyeOptimalCache;
+        private final Set<String> unloadedNormal;
+        private final Set<String> unloadedFade;
+        private int collectionSize;
+        private long collectionFingerprint;
+        private long cacheVersion;
+        private final Set<String> changedNormal = new HashSet<>();
+        private final Set<String> changedFade = new HashSet<>();
+
+        private Editor(Snapshot base) {
+            this.normalColorCache = new HashMap<>(base.normalColorCache);
+            this.fadeDyeOptimalCache = new HashMap<>(base.fadeDyeOptimalCache);
+            this.unloadedNormal = new HashSet<>(base.unloadedNormal);
+            this.unloadedFade = new HashSet<>(base.unloadedFade);
+            this.collectionSize = base.collectionSize;
+            this.collectionFingerprint = base.collectionFingerprint;
+            this.cacheVersion = base.cacheVersion;
+        }
+
+        /**
+         * Current category in this edit (published objects must not be modified, copy() them first)
+         */
+        public CategoryCache getCategory(String category, boolean isFade) {
+            return (isFade ? fadeDyeOptimalCache : normalColorCache).get(category);
+        }
+
+        public void setNormalColorCache(String category, CategoryCache cache) {
+            normalColorCache.put(category, cache);
+            unloadedNormal.remove(category);
+            changedNormal.add(category);
+        }
+
+        public void setFadeDyeOptimalCache(String category, CategoryCache cache) {
+            fadeDyeOptimalCache.put(category, cache);
+            unloadedFade.remove(category);
+            changedFade.add(category);
+        }
+
+        public void removeCategory(String category, boolean isFade) {
+            if (isFade) {
+                fadeDyeOptimalCache.remove(category);
+                unloadedFade.remove(category);
+                changedFade.add(category);
+            } else {
+                normalColorCache.remove(category);
+                unloadedNormal.remove(category);
+                changedNormal.add(category);
+            }
+        }
+
+        public void clear() {
+            changedNormal.addAll(normalColorCache.keySet());
+            changedNormal.addAll(unloadedNormal);
+            changedFade.addAll(fadeDyeOptimalCache.keySet());
+            changedFade.addAll(unloadedFade);
+            normalColorCache.clear();
+            fadeDyeOptimalCache.clear();
+            unloadedNormal.clear();
+            unloadedFade.clear();
+            collectionFingerprint = 0;
+            cacheVersion = 0;
+        }
+
+        public void setCollectionSize(int size) {
+            this.collectionSize = size;
+        }
+
+        /**
+         * Record which collection contents and catalog/generator version the cached matches belong to
+         */
+        public void stampFingerprint(long collectionFingerprint, long cacheVersion) {
+            this.collectionFingerprint = collectionFingerprint;
+            this.cacheVersion = cacheVersion;
+        }
+
+        private Snapshot build() {
+            return new Snapshot(normalColorCache, fadeDyeOptimalCache, unloadedNormal, unloadedFade,
+                collectionSize, collectionFingerprint, cacheVersion);
+        }
+    }
+
     private ChecklistCache() {
         load();
     }
@@ -55,169 +312,338 @@ public class ChecklistCache {
     }
 
     /**
-     * Load cache from disk
+     * Apply a set of changes and publish them as one new snapshot
+     */
+    public synchronized void update(Consumer<Editor> changes) {
+        Editor editor = new Editor(snapshot);
+        changes.accept(editor);
+        snapshot = editor.build();
+        dirtyNormal.addAll(editor.changedNormal);
+        dirtyFade.addAll(editor.changedFade);
+    }
+
+    /**
+     * Current snapshot, category files that weren't needed yet may still be unloaded
+     */
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Current snapshot with every category file loaded
+     */
+    public Snapshot getLoadedSnapshot() {
+        Snapshot current = snapshot;
+        return current.isFullyLoaded() ? current : loadAll();
+    }
+
+    /**
+     * Load the cache index from disk
+     * Only category names are read here, each category file is read the first time it is requested
      */
     private void load() {
-        Path cacheFile = getCacheFilePath();
+        Path indexFile = getCacheDirPath().resolve(INDEX_FILE);
 
-        if (!Files.exists(cacheFile)) {
-            Seymouranalyzer.LOGGER.info("No checklist cache file found, starting fresh");
+        if (!Files.exists(indexFile)) {
+            if (Files.exists(getLegacyCacheFilePath())) {
+                loadLegacy();
+            } else {
+                Seymouranalyzer.LOGGER.info("No checklist cache file found, starting fresh");
+            }
             return;
         }
 
-        try (BufferedReader reader = Files.newBufferedReader(cacheFile, StandardCharsets.UTF_8)) {
-            Gson gson = new Gson();
-            JsonObject root = gson.fromJson(reader, JsonObject.class);
+        try (BufferedReader reader = Files.newBufferedReader(indexFile, StandardCharsets.UTF_8)) {
+            JsonObject root = GSON.fromJson(reader, JsonObject.class);
 
-            if (root.has("collectionSize")) {
-                collectionSize = root.get("collectionSize").getAsInt();
-            }
+            int collectionSize = root.has("collectionSize") ? root.get("collectionSize").getAsInt() : 0;
+            long collectionFingerprint = root.has("collectionFingerprint") ? root.get("collectionFingerprint").getAsLong() : 0;
+            long cacheVersion = root.has("cacheVersion") ? root.get("cacheVersion").getAsLong() : 0;
+
+            Set<String> unloadedNormal = readNames(root, "normal");
+            Set<String> unloadedFade = readNames(root, "fade");
+            snapshot = new Snapshot(new HashMap<>(), new HashMap<>(), unloadedNormal, unloadedFade,
+                collectionSize, collectionFingerprint, cacheVersion);
+
+            Seymouranalyzer.LOGGER.info("Loaded checklist cache index: {} normal categories, {} fade dye categories, collection size {}",
+                unloadedNormal.size(), unloadedFade.size(), collectionSize);
+
+        } catch (Exception e) {
+            Seymouranalyzer.LOGGER.error("Failed to load checklist cache", e);
+            // Reset to empty cache on error
+            snapshot = Snapshot.EMPTY;
+        }
+    }
 
-            if (root.has("lastUpdated")) {
-                lastUpdated = root.get("lastUpdated").getAsLong();
+    private static Set<String> readNames(JsonObject root, String key) {
+        Set<String> names = new HashSet<>();
+        if (root.has(key)) {
+            for (JsonElement element : root.getAsJsonArray(key)) {
+                names.add(element.getAsString());
             }
+        }
+        return names;
+    }
+
+    /**
+     * Read the old single-file cache and mark everything dirty so the next save rewrites it per category
+     */
+    private void loadLegacy() {
+        try (BufferedReader reader = Files.newBufferedReader(getLegacyCacheFilePath(), StandardCharsets.UTF_8)) {
+            JsonObject root = GSON.fromJson(reader, JsonObject.class);
 
-            // Load normal color cache
-            if (root.has("normalColorCache")) {
-                JsonObject normalCache = root.getAsJsonObject("normalColorCache");
-                for (String categoryName : normalCache.keySet()) {
-                    JsonObject catObj = normalCache.getAsJsonObject(categoryName);
-                    CategoryCache categoryCache = gson.fromJson(catObj, CategoryCache.class);
-                    normalColorCache.put(categoryName, categoryCache);
+            update(editor -> {
+                if (root.has("collectionSize")) {
+                    editor.setCollectionSize(root.get("collectionSize").getAsInt());
                 }
-            }
 
-            // Load fade dye cache
-            if (root.has("fadeDyeOptimalCache")) {
-                JsonObject fadeCache = root.getAsJsonObject("fadeDyeOptimalCache");
-                for (String categoryName : fadeCache.keySet()) {
-                    JsonObject catObj = fadeCache.getAsJsonObject(categoryName);
-                    CategoryCache categoryCache = gson.fromJson(catObj, CategoryCache.class);
-                    fadeDyeOptimalCache.put(categoryName, categoryCache);
+                if (root.has("normalColorCache")) {
+                    JsonObject normalCache = root.getAsJsonObject("normalColorCache");
+                    for (String categoryName : normalCache.keySet()) {
+                        editor.setNormalColorCache(categoryName, GSON.fromJson(normalCache.get(categoryName), CategoryCache.class));
+                    }
                 }
-            }
 
-            Seymouranalyzer.LOGGER.info("Loaded checklist cache: {} normal categories, {} fade dye categories, collection size {}",
-                normalColorCache.size(), fadeDyeOptimalCache.size(), collectionSize);
+                if (root.has("fadeDyeOptimalCache")) {
+                    JsonObject fadeCache = root.getAsJsonObject("fadeDyeOptimalCache");
+                    for (String categoryName : fadeCache.keySet()) {
+                        editor.setFadeDyeOptimalCache(categoryName, GSON.fromJson(fadeCache.get(categoryName), CategoryCache.class));
+                    }
+                }
+            });
+            legacyFilePending = true;
+
+            Seymouranalyzer.LOGGER.info("Migrating legacy checklist cache: {} normal categories, {} fade dye categories",
+                snapshot.normalColorCache.size(), snapshot.fadeDyeOptimalCache.size());
+            save();
 
         } catch (Exception e) {
-            Seymouranalyzer.LOGGER.error("Failed to load checklist cache", e);
-            // Reset to empty cache on error
-            normalColorCache.clear();
-            fadeDyeOptimalCache.clear();
-            collectionSize = 0;
+            Seymouranalyzer.LOGGER.error("Failed to load legacy checklist cache", e);
+            snapshot = Snapshot.EMPTY;
+            dirtyNormal.clear();
+            dirtyFade.clear();
         }
     }
 
+    private CategoryCache getCategory(String category, boolean isFade) {
+        Snapshot current = snapshot;
+        if (!(isFade ? current.unloadedFade : current.unloadedNormal).contains(category)) {
+            return current.getCategory(category, isFade);
+        }
+        return loadCategory(category, isFade);
+    }
+
     /**
-     * Save cache to disk
+     * Read a category file the first time the category is requested
+     * The file is read without holding the cache lock, so a reader only ever waits for its own category
+     * (or another thread already reading that same file), never for loadAll or a writer. Publishing the
+     * result is a short step under the lock.
      */
-    public void save() {
-        Path cacheFile = getCacheFilePath();
+    private CategoryCache loadCategory(String category, boolean isFade) {
+        String key = (isFade ? "fade:" : "normal:") + category;
+        CompletableFuture<CategoryCache> load = new CompletableFuture<>();
+        CompletableFuture<CategoryCache> running = loading.putIfAbsent(key, load);
+        if (running != null) {
+            return running.join();
+        }
 
         try {
-            // Ensure parent directory exists
-            Files.createDirectories(cacheFile.getParent());
-
-            Gson gson = new GsonBuilder().setPrettyPrinting().create();
-            JsonObject root = new JsonObject();
+            CategoryCache result = publishLoaded(Map.of(category, Optional.ofNullable(readCategory(category, isFade))), isFade)
+                .getCategory(category, isFade);
+            load.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, load);
+        }
+    }
 
-            root.addProperty("collectionSize", collectionSize);
-            root.addProperty("lastUpdated", System.currentTimeMillis());
+    /**
+     * Read every category file that hasn't been loaded yet, published as one snapshot
+     * Files are read outside the lock, categories that were loaded or written meanwhile are left as they are
+     */
+    private Snapshot loadAll() {
+        Snapshot current = snapshot;
+        if (current.isFullyLoaded()) return current;
 
-            // Save normal color cache
-            JsonObject normalCache = new JsonObject();
-            for (Map.Entry<String, CategoryCache> entry : normalColorCache.entrySet()) {
-                normalCache.add(entry.getKey(), gson.toJsonTree(entry.getValue()));
-            }
-            root.add("normalColorCache", normalCache);
+        Map<String, Optional<CategoryCache>> normal = new HashMap<>();
+        for (String category : current.unloadedNormal) {
+            normal.put(category, Optional.ofNullable(readCategory(category, false)));
+        }
+        Map<String, Optional<CategoryCache>> fade = new HashMap<>();
+        for (String category : current.unloadedFade) {
+            fade.put(category, Optional.ofNullable(readCategory(category, true)));
+        }
 
-            // Save fade dye cache
-            JsonObject fadeCache = new JsonObject();
-            for (Map.Entry<String, CategoryCache> entry : fadeDyeOptimalCache.entrySet()) {
-                fadeCache.add(entry.getKey(), gson.toJsonTree(entry.getValue()));
-            }
-            root.add("fadeDyeOptimalCache", fadeCache);
+        synchronized (this) {
+            publishLoaded(normal, false);
+            return publishLoaded(fade, true);
+        }
+    }
 
-            try (BufferedWriter writer = Files.newBufferedWriter(cacheFile, StandardCharsets.UTF_8)) {
-                gson.toJson(root, writer);
-            }
+    /**
+     * Swap categories read from disk into the snapshot, skipping any that are no longer unloaded
+     * (an update set or removed them while the file was being read)
+     */
+    private synchronized Snapshot publishLoaded(Map<String, Optional<CategoryCache>> read, boolean isFade) {
+        Snapshot current = snapshot;
+        Set<String> unloaded = isFade ? current.unloadedFade : current.unloadedNormal;
+
+        Map<String, CategoryCache> loaded = new HashMap<>(isFade ? current.fadeDyeOptimalCache : current.normalColorCache);
+        Set<String> stillUnloaded = new HashSet<>(unloaded);
+        for (Map.Entry<String, Optional<CategoryCache>> entry : read.entrySet()) {
+            if (!stillUnloaded.remove(entry.getKey())) continue;
+            entry.getValue().ifPresent(categoryCache -> loaded.put(entry.getKey(), categoryCache));
+        }
+        if (stillUnloaded.size() == unloaded.size()) return current;
+
+        snapshot = isFade
+            ? new Snapshot(current.normalColorCache, loaded, current.unloadedNormal, stillUnloaded,
+                current.collectionSize, current.collectionFingerprint, current.cacheVersion)
+            : new Snapshot(loaded, current.fadeDyeOptimalCache, stillUnloaded, current.unloadedFade,
+                current.collectionSize, current.collectionFingerprint, current.cacheVersion);
+        return snapshot;
+    }
 
-            Seymouranalyzer.LOGGER.info("Saved checklist cache to disk");
+    private CategoryCache readCategory(String category, boolean isFade) {
+        Path file = getCategoryFilePath(category, isFade);
+        if (!Files.exists(file)) return null;
 
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return GSON.fromJson(reader, CategoryCache.class);
         } catch (Exception e) {
-            Seymouranalyzer.LOGGER.error("Failed to save checklist cache", e);
+            Seymouranalyzer.LOGGER.error("Failed to load checklist cache for category {}", category, e);
+            return null;
         }
     }
 
     /**
-     * Clear all caches (called when collection size changes)
+     * Save changed categories to disk
+     * Only dirty categories are written (compact JSON). Published snapshots are immutable, so
+     * serializing and writing both happen on the background saver thread.
      */
-    public void clearAll() {
-        normalColorCache.clear();
-        fadeDyeOptimalCache.clear();
-        Seymouranalyzer.LOGGER.info("Cleared all checklist caches");
+    public void save() {
+        // Same lock as update(), so the dirty sets always match the snapshot they are saved with
+        Set<String> changedNormal;
+        Set<String> changedFade;
+        Snapshot saved;
+        boolean removeLegacy;
+        synchronized (this) {
+            changedNormal = drain(dirtyNormal);
+            changedFade = drain(dirtyFade);
+            saved = snapshot;
+            removeLegacy = legacyFilePending;
+            legacyFilePending = false;
+        }
+
+        SAVE_EXECUTOR.submit(() -> {
+            try {
+                writeChanges(saved, changedNormal, false);
+                writeChanges(saved, changedFade, true);
+
+                JsonObject root = new JsonObject();
+                root.addProperty("collectionSize", saved.collectionSize);
+                root.addProperty("lastUpdated", System.currentTimeMillis());
+                root.addProperty("collectionFingerprint", saved.collectionFingerprint);
+                root.addProperty("cacheVersion", saved.cacheVersion);
+                root.add("normal", toJsonArray(saved.getCategoryNames(false)));
+                root.add("fade", toJsonArray(saved.getCategoryNames(true)));
+                // Index goes last so it never lists a category whose file hasn't been written yet
+                FileUtil.writeAtomically(getCacheDirPath().resolve(INDEX_FILE), GSON.toJson(root));
+
+                if (removeLegacy) {
+                    Files.deleteIfExists(getLegacyCacheFilePath());
+                }
+
+                Seymouranalyzer.LOGGER.info("Saved checklist cache to disk ({} changed categories)",
+                    changedNormal.size() + changedFade.size());
+            } catch (Exception e) {
+                Seymouranalyzer.LOGGER.error("Failed to save checklist cache", e);
+            }
+        });
     }
 
-    /**
-     * Check if cache needs to be invalidated
-     * @param currentCollectionSize Current size of the collection
-     * @return true if cache was cleared, false if still valid
-     */
-    public boolean checkAndInvalidate(int currentCollectionSize) {
-        if (currentCollectionSize != collectionSize) {
-            int diff = currentCollectionSize - collectionSize;
-            clearAll();
-            collectionSize = currentCollectionSize;
-            save();
+    private static Set<String> drain(Set<String> dirty) {
+        Set<String> drained = new HashSet<>(dirty);
+        dirty.removeAll(drained);
+        return drained;
+    }
 
-            if (diff > 0) {
-                Seymouranalyzer.LOGGER.info("Collection grew by {} pieces, recalculating matches", diff);
-            } else {
-                Seymouranalyzer.LOGGER.info("Collection changed by {} pieces, recalculating matches", diff);
+    private void writeChanges(Snapshot saved, Set<String> changed, boolean isFade) throws IOException {
+        Set<String> unloaded = isFade ? saved.unloadedFade : saved.unloadedNormal;
+        for (String category : changed) {
+            CategoryCache categoryCache = saved.getCategory(category, isFade);
+            Path file = getCategoryFilePath(category, isFade);
+            if (categoryCache != null) {
+                FileUtil.writeAtomically(file, GSON.toJson(categoryCache));
+            } else if (!unloaded.contains(category)) {
+                Files.deleteIfExists(file);
             }
+        }
+    }
 
-            return true;
+    private static JsonArray toJsonArray(Set<String> names) {
+        JsonArray array = new JsonArray();
+        for (String name : names) {
+            array.add(name);
         }
-        return false;
+        return array;
     }
 
-    private Path getCacheFilePath() {
-        return FabricLoader.getInstance().getConfigDir().resolve("seymouranalyzer").resolve(CACHE_FILE);
+    /**
+     * Clear all caches (called when collection size changes)
+     */
+    public void clearAll() {
+        update(Editor::clear);
+        Seymouranalyzer.LOGGER.info("Cleared all checklist caches");
     }
 
-    // Getters and setters
+    private Path getCacheDirPath() {
+        return FabricLoader.getInstance().getConfigDir().resolve("seymouranalyzer").resolve(CACHE_DIR);
+    }
 
-    public Map<String, CategoryCache> getNormalColorCache() {
-        return normalColorCache;
+    private Path getLegacyCacheFilePath() {
+        return FabricLoader.getInstance().getConfigDir().resolve("seymouranalyzer").resolve(LEGACY_CACHE_FILE);
     }
 
-    public Map<String, CategoryCache> getFadeDyeOptimalCache() {
-        return fadeDyeOptimalCache;
+    private Path getCategoryFilePath(String category, boolean isFade) {
+        // Category names contain spaces and punctuation, encode them into a safe file name
+        return getCacheDirPath().resolve(isFade ? "fade" : "normal").resolve(URLEncoder.encode(category, StandardCharsets.UTF_8) + ".json");
     }
 
+    // Getters and setters (single-change shortcuts for update())
+
     public CategoryCache getNormalColorCache(String category) {
-        return normalColorCache.get(category);
+        return getCategory(category, false);
     }
 
     public void setNormalColorCache(String category, CategoryCache cache) {
-        normalColorCache.put(category, cache);
+        update(editor -> editor.setNormalColorCache(category, cache));
     }
 
     public CategoryCache getFadeDyeOptimalCache(String category) {
-        return fadeDyeOptimalCache.get(category);
+        return getCategory(category, true);
     }
 
     public void setFadeDyeOptimalCache(String category, CategoryCache cache) {
-        fadeDyeOptimalCache.put(category, cache);
+        update(editor -> editor.setFadeDyeOptimalCache(category, cache));
+    }
+
+    /**
+     * Drop a single category (its file is deleted on the next save)
+     */
+    public void removeCategory(String category, boolean isFade) {
+        update(editor -> editor.removeCategory(category, isFade));
     }
 
     public int getCollectionSize() {
-        return collectionSize;
+        return snapshot.collectionSize;
     }
 
     public void setCollectionSize(int size) {
-        this.collectionSize = size;
+        update(editor -> editor.setCollectionSize(size));
     }
 
     /**
@@ -226,32 +652,91 @@ public class ChecklistCache {
      * @return true if this hex is needed for any checklist category
      */
     public boolean hasChecklistMatches(String hex) {
-        String hexUpper = hex.toUpperCase();
-
-        // Check normal color cache
-        for (CategoryCache categoryCache : normalColorCache.values()) {
-            if (categoryCache.matchesByIndex != null) {
-                for (StageMatches stageMatches : categoryCache.matchesByIndex.values()) {
-                    if (stageMatches.stageHex != null && stageMatches.stageHex.equalsIgnoreCase(hexUpper)) {
-                        // This hex is a target in the checklist
-                        return true;
-                    }
-                }
+        return lookupStage(hex) != null;
+    }
+
+    /**
+     * Find the checklist stage targeting a hex with a single index probe
+     * Normal categories take precedence over fade dye categories when a hex is in both
+     * @return the stage entry, or null if the hex isn't a checklist target
+     */
+    public StageIndexEntry lookupStage(String hex) {
+        int rgb = packHex(hex);
+        if (rgb < 0) return null;
+
+        // The catalog knows every stage hex, so only the categories that target this hex are loaded
+        List<ChecklistCatalog.Stage> stages = getStageTargets().get(rgb);
+        if (stages == null) return null;
+
+        StageIndexEntry cached = snapshot.stageEntries.get(rgb);
+        if (cached != null) return cached;
+
+        for (ChecklistCatalog.Stage stage : stages) {
+            boolean isFade = stage.category.isFade;
+            CategoryCache categoryCache = getCategory(stage.category.name, isFade);
+            if (categoryCache == null || categoryCache.matchesByIndex == null) continue;
+
+            StageMatches stageMatches = categoryCache.matchesByIndex.get(stage.index);
+            if (stageMatches == null) continue;
+
+            StageIndexEntry entry = new StageIndexEntry(stage.category.name, isFade, stage.index, stageMatches);
+            // Only remembered on a snapshot that still holds this category version
+            Snapshot current = snapshot;
+            if (current.getCategory(stage.category.name, isFade) == categoryCache) {
+                current.stageEntries.put(rgb, entry);
             }
+            return entry;
         }
+        return null;
+    }
 
-        // Check fade dye cache
-        for (CategoryCache categoryCache : fadeDyeOptimalCache.values()) {
-            if (categoryCache.matchesByIndex != null) {
-                for (StageMatches stageMatches : categoryCache.matchesByIndex.values()) {
-                    if (stageMatches.stageHex != null && stageMatches.stageHex.equalsIgnoreCase(hexUpper)) {
-                        // This hex is a target in the checklist
-                        return true;
-                    }
-                }
+    /**
+     * Packed stage rgb -> stages targeting it, normal categories first, built once from the catalog
+     */
+    private static Map<Integer, List<ChecklistCatalog.Stage>> getStageTargets() {
+        Map<Integer, List<ChecklistCatalog.Stage>> targets = stageTargets;
+        if (targets == null) {
+            // Two threads may both build it, they produce the same immutable map
+            ChecklistCatalog catalog = ChecklistCatalog.getInstance();
+            Map<Integer, List<ChecklistCatalog.Stage>> built = new HashMap<>();
+            for (ChecklistCatalog.Category category : catalog.getNormalCategories().values()) {
+                addStageTargets(built, category);
+            }
+            for (ChecklistCatalog.Category category : catalog.getFadeDyeCategories().values()) {
+                addStageTargets(built, category);
+            }
+            targets = Collections.unmodifiableMap(built);
+            stageTargets = targets;
+        }
+        return targets;
+    }
+
+    private static void addStageTargets(Map<Integer, List<ChecklistCatalog.Stage>> targets, ChecklistCatalog.Category category) {
+        for (ChecklistCatalog.Stage stage : category.getStages()) {
+            int rgb = packHex(stage.hex);
+            if (rgb >= 0) {
+                targets.computeIfAbsent(rgb, k -> new ArrayList<>()).add(stage);
             }
         }
+    }
 
-        return false;
+    /**
+     * Piece slot (index into PIECE_TYPES) for a piece type name, or -1 if unknown
+     */
+    public static int pieceSlot(String pieceType) {
+        if (pieceType == null) return -1;
+        for (int slot = 0; slot < PIECE_TYPES.length; slot++) {
+            if (PIECE_TYPES[slot].equals(pieceType)) return slot;
+        }
+        return -1;
+    }
+
+    private static int packHex(String hex) {
+        if (hex == null || hex.length() != 6) return -1;
+        try {
+            return Integer.parseInt(hex, 16);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
     }
 }
@@ -1,15 +1,16 @@
 package schnerry.seymouranalyzer.data;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonObject;
 import schnerry.seymouranalyzer.render.InfoBoxRenderer;
 import schnerry.seymouranalyzer.SeymourAnalyzer;
+import schnerry.seymouranalyzer.util.TaskProgress;
 import schnerry.seymouranalyzer.util.ColorMath;
+import schnerry.seymouranalyzer.util.LabIndex;
 
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 
 /**
  * Utility class to generate checklist caches for all categories
@@ -17,220 +18,411 @@ import java.util.*;
  */
 public class ChecklistCacheGenerator {
 
-    private static class ChecklistEntry {
-        String hex;
-        String name;
-        List<String> pieces; // helmet, chestplate, leggings, boots
+    /**
+     * Pieces within deltaE 5 of one stage (ids into PreparedCollection.pieces) with their distances
+     */
+    static class StageCandidates {
+        final int[] ids;
+        final double[] deltaE;
+
+        StageCandidates(int[] ids, double[] deltaE) {
+            this.ids = ids;
+            this.deltaE = deltaE;
+        }
     }
 
-    private static class CandidateMatch {
-        int stageIndex;
-        String uuid;
-        ArmorPiece piece;
-        double deltaE;
-        boolean isNeeded;
+    /**
+     * Collection piece with its LAB color and piece types resolved once
+     */
+    static class PreparedPiece {
+        final String uuid;
+        final ArmorPiece piece;
+        final ColorMath.LAB lab;
+        final boolean[] types = new boolean[PIECE_TYPES.length];
 
-        CandidateMatch(int stageIndex, String uuid, ArmorPiece piece, double deltaE, boolean isNeeded) {
-            this.stageIndex = stageIndex;
+        PreparedPiece(String uuid, ArmorPiece piece) {
             this.uuid = uuid;
             this.piece = piece;
-            this.deltaE = deltaE;
-            this.isNeeded = isNeeded;
+            this.lab = ColorMath.hexToLab(piece.getHexcode());
+            for (int slot = 0; slot < types.length; slot++) {
+                types[slot] = matchesPieceType(piece.getPieceName(), PIECE_TYPES[slot]);
+            }
+        }
+    }
+
+    /**
+     * Collection converted to LAB, with an index for "pieces within deltaE 5 of a stage" lookups
+     * Pieces can be moved in and out one at a time, so ChecklistCacheUpdater keeps one across collection changes
+     */
+    static class PreparedCollection {
+        // By index id, null where a piece was removed
+        final List<PreparedPiece> pieces = new ArrayList<>();
+        final LabIndex grid = new LabIndex(MAX_DELTA_E);
+        // Every collection uuid this covers, pieces without hex or name map to -1
+        private final Map<String, Integer> ids = new HashMap<>();
+
+        PreparedCollection(Map<String, ArmorPiece> collection) {
+            for (Map.Entry<String, ArmorPiece> entry : collection.entrySet()) {
+                update(entry.getKey(), entry.getValue());
+            }
+        }
+
+        /**
+         * Bring one uuid in line with the collection (null if it was removed)
+         */
+        void update(String uuid, ArmorPiece piece) {
+            Integer previous = ids.remove(uuid);
+            if (previous != null && previous >= 0) {
+                grid.remove(previous);
+                pieces.set(previous, null);
+            }
+            if (piece == null) return;
+
+            if (piece.getHexcode() == null || piece.getPieceName() == null) {
+                ids.put(uuid, -1);
+                return;
+            }
+            PreparedPiece prepared = new PreparedPiece(uuid, piece);
+            int id = grid.add(prepared.lab);
+            if (id == pieces.size()) {
+                pieces.add(prepared);
+            } else {
+                pieces.set(id, prepared);
+            }
+            ids.put(uuid, id);
+        }
+
+        /**
+         * Number of collection entries covered, including pieces without hex or name
+         */
+        int trackedCount() {
+            return ids.size();
+        }
+
+        int pieceCount() {
+            return grid.size();
         }
     }
 
+    // Bump when the assignment logic changes so persisted caches get regenerated
+    private static final int GENERATOR_VERSION = 1;
+
+    private static final String[] PIECE_TYPES = ChecklistCache.PIECE_TYPES;
+    private static final double MAX_DELTA_E = 5.0;
+
+    // Categories are independent, so a full regeneration fans them out over all cores
+    private static final ForkJoinPool GENERATION_POOL = new ForkJoinPool(
+        Math.max(1, Runtime.getRuntime().availableProcessors() - 1),
+        pool -> {
+            ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            t.setName("ChecklistGenerator-" + t.getPoolIndex());
+            t.setDaemon(true);
+            return t;
+        },
+        null,
+        false
+    );
+
     /**
      * Generate all checklist caches (both normal and fade dye)
-     * This is called on mod init and after collection changes
+     * This is called by ChecklistCacheScheduler on startup and after collection changes
+     * @throws CancellationException if a newer update superseded this one or it was cancelled (nothing is published then)
      */
-    public static void generateAllCaches() {
+    static void generateAllCaches(TaskProgress token) {
         Seymouranalyzer.LOGGER.info("Starting full checklist cache generation...");
+        long start = System.nanoTime();
 
         Map<String, ArmorPiece> collection = CollectionManager.getInstance().getCollection();
         ChecklistCache cache = ChecklistCache.getInstance();
 
-        // Load checklist data
-        Map<String, List<ChecklistEntry>> normalCategories = loadChecklistData();
+        // Shared preparsed checklist data
+        ChecklistCatalog catalog = ChecklistCatalog.getInstance();
+        Map<String, ChecklistCatalog.Category> normalCategories = catalog.getNormalCategories();
         if (normalCategories.isEmpty()) {
             Seymouranalyzer.LOGGER.warn("No checklist data found, skipping cache generation");
             return;
         }
 
-        // Load fade dye categories
-        Map<String, List<ChecklistEntry>> fadeDyeCategories = loadFadeDyeData();
+        Map<String, ChecklistCatalog.Category> fadeDyeCategories = catalog.getFadeDyeCategories();
         if (fadeDyeCategories.isEmpty()) {
             Seymouranalyzer.LOGGER.warn("No fade dye data found, skipping fade dye cache generation");
         }
 
-        // Generate normal color caches
-        for (Map.Entry<String, List<ChecklistEntry>> categoryEntry : normalCategories.entrySet()) {
-            String categoryName = categoryEntry.getKey();
-            List<ChecklistEntry> entries = categoryEntry.getValue();
+        // Fingerprint before reading the pieces, later changes arrive as pending collection changes anyway
+        long fingerprint = CollectionManager.getInstance().computeFingerprint();
 
-            ChecklistCache.CategoryCache categoryCache = generateCacheForCategory(
-                categoryName, entries, collection
-            );
+        // Convert the collection to LAB once, shared read-only by every category task
+        PreparedCollection prepared = new PreparedCollection(collection);
+        long prepareNanos = System.nanoTime() - start;
 
-            cache.setNormalColorCache(categoryName, categoryCache);
-        }
+        Map<String, Long> categoryNanos = new ConcurrentHashMap<>();
+        token.addTotal(normalCategories.size() + fadeDyeCategories.size());
+        Map<String, ChecklistCache.CategoryCache> normalResults = generateCategories(normalCategories, prepared, categoryNanos, "", token);
+        Map<String, ChecklistCache.CategoryCache> fadeResults = generateCategories(fadeDyeCategories, prepared, categoryNanos, "fade:", token);
 
-        // Generate fade dye caches
-        for (Map.Entry<String, List<ChecklistEntry>> categoryEntry : fadeDyeCategories.entrySet()) {
-            String categoryName = categoryEntry.getKey();
-            List<ChecklistEntry> entries = categoryEntry.getValue();
+        // Incremental updates continue from this collection instead of preparing their own
+        ChecklistCacheUpdater.keepPrepared(prepared);
 
-            ChecklistCache.CategoryCache categoryCache = generateCacheForCategory(
-                categoryName, entries, collection
-            );
+        // Publish as one snapshot, and only if no newer update superseded this one
+        ChecklistCacheScheduler.getInstance().publish(token, () -> cache.update(editor -> {
+            normalResults.forEach(editor::setNormalColorCache);
+            fadeResults.forEach(editor::setFadeDyeOptimalCache);
 
-            cache.setFadeDyeOptimalCache(categoryName, categoryCache);
-        }
+            // Update collection size and fingerprint
+            editor.setCollectionSize(collection.size());
+            editor.stampFingerprint(fingerprint, cacheVersion());
+        }));
+        cache.save();
 
-        // Update collection size and save
-        cache.setCollectionSize(collection.size());
+        // Clear InfoBoxRenderer's cached hover data so it will be regenerated with new cache data
+        InfoBoxRenderer.forceCloseHoveredDataCache();
+
+        logTimings(categoryNanos, prepareNanos, System.nanoTime() - start);
+        Seymouranalyzer.LOGGER.info("Completed full checklist cache generation for {} normal and {} fade dye categories ({} pieces)",
+            normalCategories.size(), fadeDyeCategories.size(), prepared.pieceCount());
+    }
+
+    /**
+     * Generate a single category that is missing from the cache or was built from other checklist data
+     * Called by ChecklistCacheScheduler on its thread, continues from the prepared collection incremental updates use
+     */
+    static void generateMissingCategory(String name, boolean isFade) {
+        ChecklistCatalog catalog = ChecklistCatalog.getInstance();
+        ChecklistCatalog.Category category = (isFade ? catalog.getFadeDyeCategories() : catalog.getNormalCategories()).get(name);
+        if (category == null) return;
+
+        ChecklistCache cache = ChecklistCache.getInstance();
+        if (isCategoryCurrent(category, cache.getLoadedSnapshot().getCategory(name, isFade))) return;
+
+        long start = System.nanoTime();
+        ChecklistCache.CategoryCache result = generateCacheForCategory(category, ChecklistCacheUpdater.currentPrepared());
+        cache.update(editor -> {
+            if (isFade) {
+                editor.setFadeDyeOptimalCache(name, result);
+            } else {
+                editor.setNormalColorCache(name, result);
+            }
+        });
         cache.save();
 
         // Clear InfoBoxRenderer's cached hover data so it will be regenerated with new cache data
         InfoBoxRenderer.forceCloseHoveredDataCache();
+        Seymouranalyzer.LOGGER.info("Generated checklist category {} in {}ms", name, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Whether cached matches exist for every stage of the category and were built from the same stage colors
+     */
+    static boolean isCategoryCurrent(ChecklistCatalog.Category category, ChecklistCache.CategoryCache cached) {
+        if (cached == null || cached.matchesByIndex == null) return false;
+
+        for (ChecklistCatalog.Stage stage : category.getStages()) {
+            ChecklistCache.StageMatches stageMatches = cached.matchesByIndex.get(stage.index);
+            if (stageMatches == null || !stage.hex.equalsIgnoreCase(stageMatches.stageHex)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Version of everything besides the collection that the cached matches depend on
+     */
+    static long cacheVersion() {
+        return ChecklistCatalog.getInstance().getVersion() * 31 + GENERATOR_VERSION;
+    }
+
+    /**
+     * Check whether the persisted cache was built from the current collection and catalog
+     * and covers every catalog category, so startup can use it as is
+     */
+    public static boolean isCacheCurrent() {
+        ChecklistCache.Snapshot snapshot = ChecklistCache.getInstance().getSnapshot();
+        ChecklistCatalog catalog = ChecklistCatalog.getInstance();
+
+        if (snapshot.getCacheVersion() != cacheVersion()) return false;
+        if (snapshot.getCollectionFingerprint() != CollectionManager.getInstance().computeFingerprint()) return false;
+
+        return snapshot.getCategoryNames(false).containsAll(catalog.getNormalCategories().keySet())
+            && snapshot.getCategoryNames(true).containsAll(catalog.getFadeDyeCategories().keySet());
+    }
+
+    /**
+     * Generate a set of categories in parallel, keeping the input order in the result
+     */
+    private static Map<String, ChecklistCache.CategoryCache> generateCategories(
+            Map<String, ChecklistCatalog.Category> categories,
+            PreparedCollection prepared,
+            Map<String, Long> categoryNanos,
+            String timingPrefix,
+            TaskProgress token) {
+
+        List<ChecklistCatalog.Category> ordered = new ArrayList<>(categories.values());
+        List<ChecklistCache.CategoryCache> results = GENERATION_POOL.submit(() ->
+            ordered.parallelStream()
+                .map(category -> {
+                    // Superseded runs stop at the next category instead of finishing the whole pass
+                    token.throwIfCancelled();
+                    long start = System.nanoTime();
+                    ChecklistCache.CategoryCache result = generateCacheForCategory(category, prepared);
+                    categoryNanos.put(timingPrefix + category.name, System.nanoTime() - start);
+                    token.add(1);
+                    return result;
+                })
+                .toList()
+        ).join();
+
+        Map<String, ChecklistCache.CategoryCache> byName = new LinkedHashMap<>();
+        for (int i = 0; i < ordered.size(); i++) {
+            byName.put(ordered.get(i).name, results.get(i));
+        }
+        return byName;
+    }
 
-        Seymouranalyzer.LOGGER.info("Completed full checklist cache generation for {} normal and {} fade dye categories",
-            normalCategories.size(), fadeDyeCategories.size());
+    private static void logTimings(Map<String, Long> categoryNanos, long prepareNanos, long totalNanos) {
+        List<Map.Entry<String, Long>> sorted = new ArrayList<>(categoryNanos.entrySet());
+        sorted.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+
+        for (Map.Entry<String, Long> entry : sorted) {
+            Seymouranalyzer.LOGGER.debug("Checklist category {} generated in {}ms", entry.getKey(), entry.getValue() / 1_000_000.0);
+        }
+
+        StringBuilder slowest = new StringBuilder();
+        for (int i = 0; i < Math.min(3, sorted.size()); i++) {
+            if (i > 0) slowest.append(", ");
+            slowest.append(sorted.get(i).getKey()).append(String.format(" %.1fms", sorted.get(i).getValue() / 1_000_000.0));
+        }
+        long summed = categoryNanos.values().stream().mapToLong(Long::longValue).sum();
+
+        Seymouranalyzer.LOGGER.info("Checklist generation took {}ms (LAB prep {}ms, {}ms summed over {} categories; slowest: {})",
+            totalNanos / 1_000_000, prepareNanos / 1_000_000, summed / 1_000_000, categoryNanos.size(), slowest);
     }
 
     /**
      * Generate cache for a single category
+     * Only pieces within deltaE 5 of a stage are looked at (LAB grid), and the distance computed
+     * while collecting candidates is the one stored in the resulting MatchInfo
      */
     private static ChecklistCache.CategoryCache generateCacheForCategory(
-            String categoryName,
-            List<ChecklistEntry> entries,
-            Map<String, ArmorPiece> collection) {
+            ChecklistCatalog.Category category,
+            PreparedCollection prepared) {
 
         ChecklistCache.CategoryCache categoryCache = new ChecklistCache.CategoryCache();
-        categoryCache.category = categoryName;
+        categoryCache.category = category.name;
         categoryCache.isCalculating = false;
 
-        String[] pieceTypes = {"helmet", "chestplate", "leggings", "boots"};
-
-        // Temporary storage for matches
-        Map<Integer, Map<String, ArmorPiece>> foundPieces = new HashMap<>();
-        Map<Integer, Map<String, String>> foundPieceUuids = new HashMap<>();
+        // Nearby pieces per stage, shared by all four piece types (stage LAB comes precomputed from the catalog)
+        StageCandidates[] candidates = findCandidates(category.getStageLabs(), prepared);
 
-        for (int i = 0; i < entries.size(); i++) {
-            foundPieces.put(i, new HashMap<>());
-            foundPieceUuids.put(i, new HashMap<>());
+        // Build StageMatches for each stage
+        List<ChecklistCatalog.Stage> stages = category.getStages();
+        for (int i = 0; i < stages.size(); i++) {
+            ChecklistCache.StageMatches stageMatches = new ChecklistCache.StageMatches();
+            stageMatches.stageHex = stages.get(i).hex;
+            stageMatches.calculated = true;
+            categoryCache.matchesByIndex.put(i, stageMatches);
         }
 
         // Calculate optimal matches for each piece type
-        for (String pieceType : pieceTypes) {
-            List<CandidateMatch> candidates = new ArrayList<>();
-
-            // Build candidate list
-            for (int stageIdx = 0; stageIdx < entries.size(); stageIdx++) {
-                ChecklistEntry entry = entries.get(stageIdx);
-
-                for (Map.Entry<String, ArmorPiece> collectionEntry : collection.entrySet()) {
-                    String uuid = collectionEntry.getKey();
-                    ArmorPiece piece = collectionEntry.getValue();
-
-                    if (!matchesPieceType(piece.getPieceName(), pieceType)) {
-                        continue;
-                    }
-
-                    double deltaE = ColorMath.calculateDeltaE(entry.hex, piece.getHexcode());
-                    if (deltaE <= 5.0) {
-                        boolean isNeeded = entry.pieces.contains(pieceType);
-                        candidates.add(new CandidateMatch(stageIdx, uuid, piece, deltaE, isNeeded));
-                    }
-                }
-            }
-
-            // Sort: needed pieces first, then by quality
-            candidates.sort((a, b) -> {
-                if (a.isNeeded != b.isNeeded) {
-                    return a.isNeeded ? -1 : 1;
-                }
-                return Double.compare(a.deltaE, b.deltaE);
-            });
-
-            // Greedy assignment
-            Set<String> usedPieces = new HashSet<>();
-            Set<Integer> assignedStages = new HashSet<>();
-
-            for (CandidateMatch candidate : candidates) {
-                if (!usedPieces.contains(candidate.uuid) && !assignedStages.contains(candidate.stageIndex)) {
-                    foundPieces.get(candidate.stageIndex).put(pieceType, candidate.piece);
-                    foundPieceUuids.get(candidate.stageIndex).put(pieceType, candidate.uuid);
-                    usedPieces.add(candidate.uuid);
-                    assignedStages.add(candidate.stageIndex);
-                }
+        for (int slot = 0; slot < PIECE_TYPES.length; slot++) {
+            ChecklistCache.MatchInfo[] matches = assignSlot(stages, candidates, prepared, slot);
+            for (int i = 0; i < stages.size(); i++) {
+                categoryCache.matchesByIndex.get(i).set(slot, matches[i]);
             }
         }
 
-        // Build StageMatches for each entry
-        for (int i = 0; i < entries.size(); i++) {
-            ChecklistEntry entry = entries.get(i);
-            ChecklistCache.StageMatches stageMatches = new ChecklistCache.StageMatches();
-            stageMatches.stageHex = entry.hex;
-            stageMatches.calculated = true;
+        return categoryCache;
+    }
 
-            Map<String, ArmorPiece> pieces = foundPieces.get(i);
-            Map<String, String> uuids = foundPieceUuids.get(i);
-
-            // Save each piece match
-            if (pieces.containsKey("helmet")) {
-                ArmorPiece piece = pieces.get("helmet");
-                String uuid = uuids.get("helmet");
-                stageMatches.helmet = new ChecklistCache.MatchInfo(
-                    piece.getPieceName(),
-                    piece.getHexcode(),
-                    ColorMath.calculateDeltaE(entry.hex, piece.getHexcode()),
-                    uuid
-                );
+    /**
+     * Collect the pieces within deltaE 5 of every stage through the collection's LAB grid
+     */
+    static StageCandidates[] findCandidates(ColorMath.LAB[] stageLabs, PreparedCollection prepared) {
+        StageCandidates[] candidates = new StageCandidates[stageLabs.length];
+        List<Integer> ids = new ArrayList<>();
+
+        for (int stageIdx = 0; stageIdx < stageLabs.length; stageIdx++) {
+            ColorMath.LAB lab = stageLabs[stageIdx];
+            ids.clear();
+            prepared.grid.forEachWithin(lab, MAX_DELTA_E, ids::add);
+
+            int[] stageIds = new int[ids.size()];
+            double[] deltaE = new double[ids.size()];
+            for (int k = 0; k < stageIds.length; k++) {
+                stageIds[k] = ids.get(k);
+                deltaE[k] = prepared.grid.distance(stageIds[k], lab.getL(), lab.getA(), lab.getB());
             }
+            candidates[stageIdx] = new StageCandidates(stageIds, deltaE);
+        }
+        return candidates;
+    }
 
-            if (pieces.containsKey("chestplate")) {
-                ArmorPiece piece = pieces.get("chestplate");
-                String uuid = uuids.get("chestplate");
-                stageMatches.chestplate = new ChecklistCache.MatchInfo(
-                    piece.getPieceName(),
-                    piece.getHexcode(),
-                    ColorMath.calculateDeltaE(entry.hex, piece.getHexcode()),
-                    uuid
-                );
+    /**
+     * Assign pieces of one piece type to stages of a category (see StageAssignmentSolver)
+     * Usually all stages; a subset works as long as no stage outside of it shares a candidate with it
+     * @param candidates Parallel to stages
+     * @return Per stage: the assigned match, or null
+     */
+    static ChecklistCache.MatchInfo[] assignSlot(
+            List<ChecklistCatalog.Stage> stages,
+            StageCandidates[] candidates,
+            PreparedCollection prepared,
+            int slot) {
+
+        boolean[] needed = new boolean[stages.size()];
+        int[][] pieceIds = new int[stages.size()][];
+        double[][] stageDeltaE = new double[stages.size()][];
+
+        // Sparse edges: only nearby pieces of this piece type
+        for (int i = 0; i < stages.size(); i++) {
+            needed[i] = stages.get(i).needs(slot);
+            StageCandidates stage = candidates[i];
+
+            int count = 0;
+            for (int id : stage.ids) {
+                if (prepared.pieces.get(id).types[slot]) count++;
             }
-
-            if (pieces.containsKey("leggings")) {
-                ArmorPiece piece = pieces.get("leggings");
-                String uuid = uuids.get("leggings");
-                stageMatches.leggings = new ChecklistCache.MatchInfo(
-                    piece.getPieceName(),
-                    piece.getHexcode(),
-                    ColorMath.calculateDeltaE(entry.hex, piece.getHexcode()),
-                    uuid
-                );
+            pieceIds[i] = new int[count];
+            stageDeltaE[i] = new double[count];
+
+            int k = 0;
+            for (int c = 0; c < stage.ids.length; c++) {
+                if (!prepared.pieces.get(stage.ids[c]).types[slot]) continue;
+                pieceIds[i][k] = stage.ids[c];
+                stageDeltaE[i][k] = stage.deltaE[c];
+                k++;
             }
+        }
+
+        int[] assignedIds = StageAssignmentSolver.solve(needed, pieceIds, stageDeltaE);
+
+        ChecklistCache.MatchInfo[] matches = new ChecklistCache.MatchInfo[stages.size()];
+        for (int i = 0; i < stages.size(); i++) {
+            int id = assignedIds[i];
+            if (id < 0) continue;
 
-            if (pieces.containsKey("boots")) {
-                ArmorPiece piece = pieces.get("boots");
-                String uuid = uuids.get("boots");
-                stageMatches.boots = new ChecklistCache.MatchInfo(
-                    piece.getPieceName(),
-                    piece.getHexcode(),
-                    ColorMath.calculateDeltaE(entry.hex, piece.getHexcode()),
-                    uuid
-                );
+            // Reuse the distance from candidate collection
+            double deltaE = 0;
+            for (int k = 0; k < pieceIds[i].length; k++) {
+                if (pieceIds[i][k] == id) {
+                    deltaE = stageDeltaE[i][k];
+                    break;
+                }
             }
 
-            categoryCache.matchesByIndex.put(i, stageMatches);
+            PreparedPiece piece = prepared.pieces.get(id);
+            matches[i] = new ChecklistCache.MatchInfo(
+                piece.piece.getPieceName(),
+                piece.piece.getHexcode(),
+                deltaE,
+                piece.uuid
+            );
         }
-
-        return categoryCache;
+        return matches;
     }
 
     /**
      * Check if a piece name matches a piece type
      */
-    private static boolean matchesPieceType(String pieceName, String pieceType) {
+    static boolean matchesPieceType(String pieceName, String pieceType) {
         String lowerName = pieceName.toLowerCase();
 
         return switch (pieceType) {
@@ -247,106 +439,4 @@ public class ChecklistCacheGenerator {
             default -> false;
         };
     }
-
-    /**
-     * Load checklist data from JSON
-     */
-    private static Map<String, List<ChecklistEntry>> loadChecklistData() {
-        Map<String, List<ChecklistEntry>> categories = new LinkedHashMap<>();
-
-        try {
-            InputStream inputStream = Seymouranalyzer.class.getResourceAsStream("/data/seymouranalyzer/checklistdata.json");
-            if (inputStream == null) {
-                Seymouranalyzer.LOGGER.error("Could not load checklistdata.json");
-                return categories;
-            }
-
-            Gson gson = new Gson();
-            JsonObject root = gson.fromJson(new InputStreamReader(inputStream, StandardCharsets.UTF_8), JsonObject.class);
-
-            // Load categories
-            JsonObject categoriesJson = root.getAsJsonObject("categories");
-            for (String categoryName : categoriesJson.keySet()) {
-                List<ChecklistEntry> entries = new ArrayList<>();
-                var array = categoriesJson.getAsJsonArray(categoryName);
-
-                for (var element : array) {
-                    var obj = element.getAsJsonObject();
-                    ChecklistEntry entry = new ChecklistEntry();
-                    entry.hex = obj.get("hex").getAsString().toUpperCase();
-                    entry.name = obj.get("name").getAsString();
-                    entry.pieces = new ArrayList<>();
-
-                    var piecesArray = obj.getAsJsonArray("pieces");
-                    for (var pieceElement : piecesArray) {
-                        entry.pieces.add(pieceElement.getAsString());
-                    }
-
-                    entries.add(entry);
-                }
-
-                categories.put(categoryName, entries);
-            }
-        } catch (Exception e) {
-            Seymouranalyzer.LOGGER.error("Failed to load checklist data", e);
-        }
-
-        return categories;
-    }
-
-    /**
-     * Load fade dye categories from colors.json
-     */
-    private static Map<String, List<ChecklistEntry>> loadFadeDyeData() {
-        Map<String, List<ChecklistEntry>> fadeDyeCategories = new LinkedHashMap<>();
-
-        try {
-            InputStream inputStream = Seymouranalyzer.class.getResourceAsStream("/data/seymouranalyzer/colors.json");
-            if (inputStream == null) {
-                Seymouranalyzer.LOGGER.error("Could not load colors.json for fade dyes");
-                return fadeDyeCategories;
-            }
-
-            Gson gson = new Gson();
-            JsonObject root = gson.fromJson(new InputStreamReader(inputStream, StandardCharsets.UTF_8), JsonObject.class);
-            JsonObject fadeDyes = root.getAsJsonObject("FADE_DYES");
-
-            if (fadeDyes == null) {
-                Seymouranalyzer.LOGGER.warn("No FADE_DYES section found in colors.json");
-                return fadeDyeCategories;
-            }
-
-            // Group stages by fade dye name
-            for (String key : fadeDyes.keySet()) {
-                // Parse "Aurora - Stage 1" format
-                String[] parts = key.split(" - Stage ");
-                if (parts.length == 2) {
-                    String dyeName = parts[0];
-                    String hexValue = fadeDyes.get(key).getAsString().toUpperCase();
-
-                    fadeDyeCategories.putIfAbsent(dyeName, new ArrayList<>());
-
-                    ChecklistEntry entry = new ChecklistEntry();
-                    entry.hex = hexValue;
-                    entry.name = key;
-                    entry.pieces = new ArrayList<>();
-                    entry.pieces.add("helmet");
-                    entry.pieces.add("chestplate");
-                    entry.pieces.add("leggings");
-                    entry.pieces.add("boots");
-
-                    fadeDyeCategories.get(dyeName).add(entry);
-                }
-            }
-
-            Seymouranalyzer.LOGGER.info("Loaded {} fade dye categories with {} total stages",
-                fadeDyeCategories.size(),
-                fadeDyeCategories.values().stream().mapToInt(List::size).sum());
-
-        } catch (Exception e) {
-            Seymouranalyzer.LOGGER.error("Failed to load fade dye data", e);
-        }
-
-        return fadeDyeCategories;
-    }
 }
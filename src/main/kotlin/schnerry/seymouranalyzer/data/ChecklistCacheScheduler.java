@@ -0,0 +1,166 @@
+package schnerry.seymouranalyzer.data;
+
+import schnerry.seymouranalyzer.SeymourAnalyzer;
+import schnerry.seymouranalyzer.util.CancellationToken;
+import schnerry.seymouranalyzer.util.TaskProgress;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Single-slot background scheduler for checklist cache updates
+ * At most one update runs at a time. A new request cancels the running one (it stops at the next
+ * category) and both change sets are merged into the next run, so a burst of collection changes
+ * ends in one final update and only the newest result is ever published to ChecklistCache.
+ * Runs show up in the progress overlay. A run cancelled by the user keeps its changes deferred,
+ * they are applied together with the next collection change.
+ */
+public class ChecklistCacheScheduler {
+    private static ChecklistCacheScheduler instance;
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "ChecklistCacheRegenerator");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final Object lock = new Object();
+    // All guarded by lock
+    private ChecklistChanges pending = null;
+    // Changes of a run the user cancelled, not retried until the next request
+    private ChecklistChanges deferred = null;
+    private Run running = null;
+    private boolean workerActive = false;
+
+    private static class Run {
+        final ChecklistChanges changes;
+        final TaskProgress token = TaskProgress.start("Checklist cache", 0);
+        boolean published = false;
+
+        Run(ChecklistChanges changes) {
+            this.changes = changes;
+        }
+    }
+
+    private ChecklistCacheScheduler() {
+    }
+
+    public static ChecklistCacheScheduler getInstance() {
+        if (instance == null) {
+            instance = new ChecklistCacheScheduler();
+        }
+        return instance;
+    }
+
+    /**
+     * Queue changes for the checklist cache, superseding any update that hasn't published yet
+     */
+    void submit(ChecklistChanges changes) {
+        synchronized (lock) {
+            if (deferred != null) {
+                changes = deferred.merge(changes);
+                deferred = null;
+            }
+            if (running != null && !running.published) {
+                // The running update will never publish now, so its changes carry over to the next run
+                running.token.cancel();
+                changes = running.changes.merge(changes);
+                running = null;
+            }
+            pending = pending == null ? changes : pending.merge(changes);
+
+            if (!workerActive) {
+                workerActive = true;
+                EXECUTOR.execute(this::drain);
+            }
+        }
+    }
+
+    /**
+     * Generate one category the cache has no (current) matches for, e.g. a page opened before the first
+     * full regeneration finished. Runs on the scheduler thread after any queued update, so it never
+     * overlaps one, and is skipped if an update filled the category in the meantime.
+     */
+    public void requestCategory(String category, boolean isFade) {
+        EXECUTOR.execute(() -> {
+            try {
+                ChecklistCacheGenerator.generateMissingCategory(category, isFade);
+            } catch (Exception e) {
+                SeymourAnalyzer.LOGGER.error("Failed to generate checklist category {}", category, e);
+            }
+        });
+    }
+
+    /**
+     * Publish the result of a run unless it was superseded in the meantime
+     * Runs the publish step under the scheduler lock, so a run is either fully published or cancelled
+     * @throws CancellationException if a newer request superseded the run
+     */
+    void publish(CancellationToken token, Runnable publishStep) {
+        synchronized (lock) {
+            token.throwIfCancelled();
+            publishStep.run();
+            if (running != null && running.token == token) {
+                running.published = true;
+            }
+        }
+    }
+
+    /**
+     * Whether an update is queued or running
+     */
+    public boolean isBusy() {
+        synchronized (lock) {
+            return workerActive;
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            Run run;
+            synchronized (lock) {
+                if (pending == null) {
+                    workerActive = false;
+                    return;
+                }
+                run = new Run(pending);
+                pending = null;
+                running = run;
+            }
+
+            try {
+                execute(run);
+            } finally {
+                run.token.close();
+            }
+
+            synchronized (lock) {
+                if (running == run) {
+                    // Still current but cancelled means the user stopped it, not a newer request
+                    if (run.token.isCancelled() && !run.published) {
+                        deferred = deferred == null ? run.changes : deferred.merge(run.changes);
+                    }
+                    running = null;
+                }
+            }
+        }
+    }
+
+    private void execute(Run run) {
+        ChecklistChanges changes = run.changes;
+        try {
+            if (!changes.needsFullRegeneration()
+                && ChecklistCacheUpdater.applyChanges(changes.added, changes.removed, run.token)) {
+                return;
+            }
+
+            SeymourAnalyzer.LOGGER.info("Collection changed (+{} / -{} pieces tracked), regenerating checklist cache...",
+                changes.added.size(), changes.removed.size());
+            ChecklistCacheGenerator.generateAllCaches(run.token);
+        } catch (CancellationException e) {
+            SeymourAnalyzer.LOGGER.info("Checklist cache update cancelled (superseded or stopped by the user)");
+        } catch (Exception e) {
+            SeymourAnalyzer.LOGGER.error("Failed to regenerate checklist cache", e);
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package schnerry.seymouranalyzer.data;
+
+import schnerry.seymouranalyzer.SeymourAnalyzer;
+import schnerry.seymouranalyzer.render.InfoBoxRenderer;
+import schnerry.seymouranalyzer.util.IntList;
+import schnerry.seymouranalyzer.util.TaskProgress;
+import schnerry.seymouranalyzer.util.ColorMath;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Applies collection additions/removals to the existing checklist cache instead of regenerating it
+ * The prepared collection (LAB colors + index) is kept between updates and only the changed pieces are moved
+ * in it. Stage assignments only interact through shared candidates, so a change can only alter the stages
+ * connected to it: for a new piece the stages within deltaE 5 of it, for a removed piece the stages it was
+ * assigned to, plus every stage reachable from those through candidates of the same piece type. Only that
+ * neighbourhood is re-solved, with the same assignment engine as a full regeneration, every other stage
+ * keeps its match.
+ */
+public class ChecklistCacheUpdater {
+    private static final double MAX_DELTA_E = 5.0;
+    private static final int SLOTS = ChecklistCache.PIECE_TYPES.length;
+
+    // Collection as of the last update or full generation, only touched on the scheduler thread
+    private static ChecklistCacheGenerator.PreparedCollection prepared = null;
+
+    private final Map<String, ArmorPiece> collection;
+    private final ChecklistCatalog catalog = ChecklistCatalog.getInstance();
+    // Catalog category -> its cached matches, in catalog order
+    private final Map<ChecklistCatalog.Category, CategoryState> categories = new LinkedHashMap<>();
+
+    private static class CategoryState {
+        final ChecklistCatalog.Category definition;
+        // Published snapshot data, read-only
+        final ChecklistCache.CategoryCache cache;
+        // Per piece slot: stage indices a change touched directly
+        final BitSet[] seeds = new BitSet[SLOTS];
+
+        CategoryState(ChecklistCatalog.Category definition, ChecklistCache.CategoryCache cache) {
+            this.definition = definition;
+            this.cache = cache;
+            for (int slot = 0; slot < SLOTS; slot++) {
+                seeds[slot] = new BitSet();
+            }
+        }
+
+        boolean isAffected() {
+            for (BitSet slotSeeds : seeds) {
+                if (!slotSeeds.isEmpty()) return true;
+            }
+            return false;
+        }
+    }
+
+    // Re-solved matches for some stages of one category/slot pair, applied when the update is published
+    private record SolvedSlot(CategoryState category, int slot, int[] stageIndices, ChecklistCache.MatchInfo[] matches) {
+    }
+
+    private ChecklistCacheUpdater(Map<String, ArmorPiece> collection) {
+        this.collection = collection;
+    }
+
+    /**
+     * Apply added/removed pieces to the current checklist cache
+     * @return false if the cache can't be repaired (missing or stale categories) and needs a full regeneration
+     * @throws CancellationException if a newer update superseded this one or it was cancelled (the cache is left untouched then)
+     */
+    static boolean applyChanges(Set<String> added, Set<String> removed, TaskProgress token) {
+        long start = System.currentTimeMillis();
+        ChecklistCacheUpdater updater = new ChecklistCacheUpdater(CollectionManager.getInstance().getCollection());
+        ChecklistCache cache = ChecklistCache.getInstance();
+        long fingerprint = CollectionManager.getInstance().computeFingerprint();
+
+        if (!updater.loadCategories(cache)) {
+            return false;
+        }
+
+        Set<String> changed = new HashSet<>(removed);
+        changed.addAll(added);
+        ChecklistCacheGenerator.PreparedCollection current = updater.syncPrepared(changed);
+
+        // A changed piece may have been re-added with another color, so its old assignments count as vacated too
+        updater.markAssigned(changed);
+        for (String uuid : added) {
+            updater.markAdded(uuid);
+        }
+
+        List<SolvedSlot> solved = updater.resolveAffected(current, token);
+
+        // Published categories are immutable - the re-solved stages go into copies, swapped in as one snapshot
+        ChecklistCacheScheduler.getInstance().publish(token, () -> cache.update(editor -> {
+            Map<CategoryState, ChecklistCache.CategoryCache> copies = new LinkedHashMap<>();
+            for (SolvedSlot result : solved) {
+                ChecklistCache.CategoryCache copy = copies.computeIfAbsent(result.category, category -> {
+                    ChecklistCache.CategoryCache existing = editor.getCategory(category.definition.name, category.definition.isFade);
+                    return (existing != null ? existing : category.cache).copy();
+                });
+                for (int i = 0; i < result.stageIndices.length; i++) {
+                    ChecklistCache.StageMatches stageMatches = copy.matchesByIndex.get(result.stageIndices[i]);
+                    if (stageMatches != null) {
+                        stageMatches.set(result.slot, result.matches[i]);
+                    }
+                }
+            }
+
+            copies.forEach((category, copy) -> {
+                if (category.definition.isFade) {
+                    editor.setFadeDyeOptimalCache(category.definition.name, copy);
+                } else {
+                    editor.setNormalColorCache(category.definition.name, copy);
+                }
+            });
+            editor.setCollectionSize(updater.collection.size());
+            editor.stampFingerprint(fingerprint, ChecklistCacheGenerator.cacheVersion());
+        }));
+        cache.save();
+
+        // Clear InfoBoxRenderer's cached hover data so it will be regenerated with new cache data
+        InfoBoxRenderer.forceCloseHoveredDataCache();
+
+        int stageCount = 0;
+        for (SolvedSlot result : solved) {
+            stageCount += result.stageIndices.length;
+        }
+        SeymourAnalyzer.LOGGER.info("Updated checklist cache incrementally (+{} / -{} pieces, {} stage slots re-solved) in {}ms",
+            added.size(), removed.size(), stageCount, System.currentTimeMillis() - start);
+        return true;
+    }
+
+    /**
+     * Hand over the collection a full generation prepared, the next update continues from it
+     */
+    static void keepPrepared(ChecklistCacheGenerator.PreparedCollection fullyPrepared) {
+        prepared = fullyPrepared;
+    }
+
+    /**
+     * The kept prepared collection for work outside of an update (single category generation)
+     * Prepared from scratch if there is none yet or it lost track of the collection
+     */
+    static ChecklistCacheGenerator.PreparedCollection currentPrepared() {
+        Map<String, ArmorPiece> collection = CollectionManager.getInstance().getCollection();
+        if (prepared == null || prepared.trackedCount() != collection.size()) {
+            prepared = new ChecklistCacheGenerator.PreparedCollection(collection);
+        }
+        return prepared;
+    }
+
+    /**
+     * Move the changed pieces in the kept prepared collection
+     * Updating a uuid is idempotent, so changes of a superseded run that get applied again are harmless.
+     * It is only prepared from scratch when there is none yet (first update since startup) or it lost track.
+     */
+    private ChecklistCacheGenerator.PreparedCollection syncPrepared(Set<String> changed) {
+        if (prepared != null) {
+            for (String uuid : changed) {
+                prepared.update(uuid, collection.get(uuid));
+            }
+        }
+        if (prepared == null || prepared.trackedCount() != collection.size()) {
+            prepared = new ChecklistCacheGenerator.PreparedCollection(collection);
+        }
+        return prepared;
+    }
+
+    /**
+     * Match the catalog categories up with the cached categories
+     */
+    private boolean loadCategories(ChecklistCache cache) {
+        if (catalog.getNormalCategories().isEmpty()) return false;
+
+        ChecklistCache.Snapshot snapshot = cache.getLoadedSnapshot();
+        return loadCategories(catalog.getNormalCategories(), snapshot.getNormalColorCache())
+            && loadCategories(catalog.getFadeDyeCategories(), snapshot.getFadeDyeOptimalCache());
+    }
+
+    private boolean loadCategories(Map<String, ChecklistCatalog.Category> definitions,
+                                   Map<String, ChecklistCache.CategoryCache> cached) {
+        for (ChecklistCatalog.Category definition : definitions.values()) {
+            ChecklistCache.CategoryCache categoryCache = cached.get(definition.name);
+            // Missing, or checklist data changed since the cache was built - only a full pass can fix that
+            if (!ChecklistCacheGenerator.isCategoryCurrent(definition, categoryCache)) return false;
+
+            categories.put(definition, new CategoryState(definition, categoryCache));
+        }
+        return true;
+    }
+
+    /**
+     * The stages a changed piece was assigned to are vacated (one pass over all assignments)
+     */
+    private void markAssigned(Set<String> uuids) {
+        for (CategoryState category : categories.values()) {
+            for (Map.Entry<Integer, ChecklistCache.StageMatches> entry : category.cache.matchesByIndex.entrySet()) {
+                for (int slot = 0; slot < SLOTS; slot++) {
+                    ChecklistCache.MatchInfo match = entry.getValue().get(slot);
+                    if (match != null && match.uuid != null && uuids.contains(match.uuid)) {
+                        category.seeds[slot].set(entry.getKey());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * A new piece touches the stages within deltaE 5, for the piece types it can fill
+     */
+    private void markAdded(String uuid) {
+        ArmorPiece piece = collection.get(uuid);
+        if (piece == null || piece.getHexcode() == null || piece.getPieceName() == null) return;
+
+        boolean[] types = new boolean[SLOTS];
+        boolean anyType = false;
+        for (int slot = 0; slot < SLOTS; slot++) {
+            types[slot] = ChecklistCacheGenerator.matchesPieceType(piece.getPieceName(), ChecklistCache.PIECE_TYPES[slot]);
+            anyType |= types[slot];
+        }
+        if (!anyType) return;
+
+        List<ChecklistCatalog.Stage> allStages = catalog.getAllStages();
+        catalog.getStageGrid().forEachWithin(ColorMath.hexToLab(piece.getHexcode()), MAX_DELTA_E, id -> {
+            ChecklistCatalog.Stage stage = allStages.get(id);
+            CategoryState category = categories.get(stage.category);
+            if (category == null) return;
+            for (int slot = 0; slot < SLOTS; slot++) {
+                if (types[slot]) {
+                    category.seeds[slot].set(stage.index);
+                }
+            }
+        });
+    }
+
+    /**
+     * Re-solve the neighbourhood of every touched category/slot pair against the current collection
+     * Nothing is written to the cache here, the results are applied when the update publishes
+     */
+    private List<SolvedSlot> resolveAffected(ChecklistCacheGenerator.PreparedCollection current, TaskProgress token) {
+        List<CategoryState> toSolve = new ArrayList<>();
+        for (CategoryState category : categories.values()) {
+            if (category.isAffected()) {
+                toSolve.add(category);
+            }
+        }
+        List<SolvedSlot> solved = new ArrayList<>();
+        if (toSolve.isEmpty()) return solved;
+
+        token.addTotal(toSolve.size());
+        for (CategoryState category : toSolve) {
+            token.throwIfCancelled();
+            for (int slot = 0; slot < SLOTS; slot++) {
+                if (category.seeds[slot].isEmpty()) continue;
+
+                List<ChecklistCatalog.Stage> stages = expandNeighbourhood(category.definition, slot, category.seeds[slot], current);
+                ColorMath.LAB[] labs = new ColorMath.LAB[stages.size()];
+                int[] stageIndices = new int[stages.size()];
+                for (int i = 0; i < stages.size(); i++) {
+                    labs[i] = stages.get(i).lab;
+                    stageIndices[i] = stages.get(i).index;
+                }
+
+                ChecklistCacheGenerator.StageCandidates[] candidates = ChecklistCacheGenerator.findCandidates(labs, current);
+                ChecklistCache.MatchInfo[] matches = ChecklistCacheGenerator.assignSlot(stages, candidates, current, slot);
+                solved.add(new SolvedSlot(category, slot, stageIndices, matches));
+            }
+            token.add(1);
+        }
+        return solved;
+    }
+
+    /**
+     * The seed stages plus every stage of the category connected to them through candidates of this piece type
+     * No stage outside of it shares a candidate with it, so their optimal matches can't change
+     */
+    private List<ChecklistCatalog.Stage> expandNeighbourhood(ChecklistCatalog.Category definition, int slot,
+                                                             BitSet seeds, ChecklistCacheGenerator.PreparedCollection current) {
+        List<ChecklistCatalog.Stage> stages = definition.getStages();
+        List<ChecklistCatalog.Stage> allStages = catalog.getAllStages();
+        BitSet reached = (BitSet) seeds.clone();
+        BitSet visitedPieces = new BitSet();
+
+        IntList queue = new IntList();
+        for (int index = seeds.nextSetBit(0); index >= 0; index = seeds.nextSetBit(index + 1)) {
+            queue.add(index);
+        }
+
+        // Breadth-first over stage -> candidate piece -> stages within range of that piece
+        for (int head = 0; head < queue.size(); head++) {
+            current.grid.forEachWithin(stages.get(queue.get(head)).lab, MAX_DELTA_E, id -> {
+                ChecklistCacheGenerator.PreparedPiece piece = current.pieces.get(id);
+                if (!piece.types[slot] || visitedPieces.get(id)) return;
+                visitedPieces.set(id);
+
+                catalog.getStageGrid().forEachWithin(piece.lab, MAX_DELTA_E, stageId -> {
+                    ChecklistCatalog.Stage stage = allStages.get(stageId);
+                    if (stage.category == definition && !reached.get(stage.index)) {
+                        reached.set(stage.index);
+                        queue.add(stage.index);
+                    }
+                });
+            });
+        }
+
+        List<ChecklistCatalog.Stage> result = new ArrayList<>(reached.cardinality());
+        for (int index = reached.nextSetBit(0); index >= 0; index = reached.nextSetBit(index + 1)) {
+            result.add(stages.get(index));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,268 @@
+package schnerry.seymouranalyzer.data;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import schnerry.seymouranalyzer.SeymourAnalyzer;
+import schnerry.seymouranalyzer.analyzer.ColorAnalyzer;
+import schnerry.seymouranalyzer.util.ColorMath;
+import schnerry.seymouranalyzer.util.LabGrid;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable checklist catalog: every normal and fade dye category with its stages
+ * checklistdata.json is parsed once, fade dye stages come from the already loaded ColorDatabase.
+ * Stage LAB values, piece masks, page order and a LAB grid over all stages are precomputed,
+ * so the cache generator, incremental updater and checklist screen all share the same data.
+ */
+public class ChecklistCatalog {
+    private static ChecklistCatalog instance;
+
+    // Fade dye pages in display order (only those present in colors.json are shown)
+    private static final String[] FADE_DYE_ORDER = {"Aurora", "Black Ice", "Frog", "Lava", "Lucky", "Marine",
+        "Oasis", "Ocean", "Pastel Sky", "Portal", "Red Tulip", "Rose",
+        "Snowflake", "Spooky", "Sunflower", "Sunset", "Warden"};
+
+    private final Map<String, Category> normalCategories;
+    private final Map<String, Category> fadeDyeCategories;
+    private final List<String> normalPageOrder;
+    private final List<String> fadeDyePageOrder;
+    private final List<Stage> allStages;
+    private final LabGrid stageGrid;
+    private final long version;
+
+    /**
+     * A single checklist stage (one target color)
+     */
+    public static class Stage {
+        public final Category category;
+        public final int index;
+        public final String hex;
+        public final String name;
+        public final List<String> pieces;
+        public final ColorMath.LAB lab;
+        // Bit per ChecklistCache.PIECE_TYPES slot that this stage needs
+        private final int pieceMask;
+
+        Stage(Category category, int index, String hex, String name, List<String> pieces) {
+            this.category = category;
+            this.index = index;
+            this.hex = hex;
+            this.name = name;
+            this.pieces = Collections.unmodifiableList(pieces);
+            this.lab = ColorMath.hexToLab(hex);
+
+            int mask = 0;
+            for (int slot = 0; slot < ChecklistCache.PIECE_TYPES.length; slot++) {
+                if (pieces.contains(ChecklistCache.PIECE_TYPES[slot])) mask |= 1 << slot;
+            }
+            this.pieceMask = mask;
+        }
+
+        public boolean needs(int slot) {
+            return (pieceMask & (1 << slot)) != 0;
+        }
+    }
+
+    /**
+     * A checklist page
+     */
+    public static class Category {
+        public final String name;
+        public final boolean isFade;
+        private List<Stage> stages = new ArrayList<>();
+        private ColorMath.LAB[] stageLabs;
+
+        Category(String name, boolean isFade) {
+            this.name = name;
+            this.isFade = isFade;
+        }
+
+        public List<Stage> getStages() {
+            return stages;
+        }
+
+        public ColorMath.LAB[] getStageLabs() {
+            return stageLabs;
+        }
+
+        public int size() {
+            return stages.size();
+        }
+
+        private void freeze() {
+            stages = Collections.unmodifiableList(stages);
+            stageLabs = new ColorMath.LAB[stages.size()];
+            for (int i = 0; i < stages.size(); i++) {
+                stageLabs[i] = stages.get(i).lab;
+            }
+        }
+    }
+
+    private ChecklistCatalog() {
+        Map<String, Category> normal = new LinkedHashMap<>();
+        List<String> normalOrder = new ArrayList<>();
+        loadChecklistData(normal, normalOrder);
+
+        Map<String, Category> fade = new LinkedHashMap<>();
+        loadFadeDyes(fade);
+        List<String> fadeOrder = new ArrayList<>();
+        for (String fadeDye : FADE_DYE_ORDER) {
+            if (fade.containsKey(fadeDye)) {
+                fadeOrder.add(fadeDye);
+            }
+        }
+
+        List<Stage> stages = new ArrayList<>();
+        List<ColorMath.LAB> labs = new ArrayList<>();
+        for (Category category : normal.values()) {
+            category.freeze();
+            stages.addAll(category.stages);
+        }
+        for (Category category : fade.values()) {
+            category.freeze();
+            stages.addAll(category.stages);
+        }
+        for (Stage stage : stages) {
+            labs.add(stage.lab);
+        }
+
+        this.normalCategories = Collections.unmodifiableMap(normal);
+        this.fadeDyeCategories = Collections.unmodifiableMap(fade);
+        this.normalPageOrder = Collections.unmodifiableList(normalOrder);
+        this.fadeDyePageOrder = Collections.unmodifiableList(fadeOrder);
+        this.allStages = Collections.unmodifiableList(stages);
+        this.stageGrid = LabGrid.of(labs, 5.0);
+        this.version = computeVersion(stages);
+
+        SeymourAnalyzer.LOGGER.info("Built checklist catalog: {} normal categories, {} fade dye categories, {} stages",
+            normal.size(), fade.size(), stages.size());
+    }
+
+    public static synchronized ChecklistCatalog getInstance() {
+        if (instance == null) {
+            instance = new ChecklistCatalog();
+        }
+        return instance;
+    }
+
+    /**
+     * Content hash over every stage, changes whenever checklistdata.json or the fade dye colors change
+     */
+    private static long computeVersion(List<Stage> stages) {
+        long hash = 1;
+        for (Stage stage : stages) {
+            hash = hash * 31 + stage.category.name.hashCode();
+            hash = hash * 31 + (stage.category.isFade ? 1 : 0);
+            hash = hash * 31 + stage.index;
+            hash = hash * 31 + stage.hex.hashCode();
+            hash = hash * 31 + stage.pieceMask;
+        }
+        return hash;
+    }
+
+    private static void loadChecklistData(Map<String, Category> categories, List<String> pageOrder) {
+        try (InputStream inputStream = SeymourAnalyzer.class.getResourceAsStream("/data/seymouranalyzer/checklistdata.json")) {
+            if (inputStream == null) {
+                SeymourAnalyzer.LOGGER.error("Could not load checklistdata.json");
+                return;
+            }
+
+            JsonObject root = new Gson().fromJson(new InputStreamReader(inputStream, StandardCharsets.UTF_8), JsonObject.class);
+
+            JsonObject categoriesJson = root.getAsJsonObject("categories");
+            for (String categoryName : categoriesJson.keySet()) {
+                Category category = new Category(categoryName, false);
+
+                for (JsonElement element : categoriesJson.getAsJsonArray(categoryName)) {
+                    JsonObject obj = element.getAsJsonObject();
+                    List<String> pieces = new ArrayList<>();
+                    for (JsonElement pieceElement : obj.getAsJsonArray("pieces")) {
+                        pieces.add(pieceElement.getAsString());
+                    }
+
+                    category.stages.add(new Stage(category, category.stages.size(),
+                        obj.get("hex").getAsString().toUpperCase(), obj.get("name").getAsString(), pieces));
+                }
+
+                categories.put(categoryName, category);
+            }
+
+            JsonArray pageOrderArray = root.getAsJsonArray("normalPageOrder");
+            if (pageOrderArray != null) {
+                for (JsonElement element : pageOrderArray) {
+                    pageOrder.add(element.getAsString());
+                }
+            }
+        } catch (Exception e) {
+            SeymourAnalyzer.LOGGER.error("Failed to load checklist data", e);
+        }
+    }
+
+    private static void loadFadeDyes(Map<String, Category> categories) {
+        List<String> allPieces = List.of(ChecklistCache.PIECE_TYPES);
+
+        // Group stages by fade dye name ("Aurora - Stage 1" format)
+        for (Map.Entry<String, String> entry : ColorAnalyzer.colorDatabase.getFadeDyes().entrySet()) {
+            String[] parts = entry.getKey().split(" - Stage ");
+            if (parts.length != 2) continue;
+
+            Category category = categories.computeIfAbsent(parts[0], name -> new Category(name, true));
+            category.stages.add(new Stage(category, category.stages.size(),
+                entry.getValue().toUpperCase(), entry.getKey(), new ArrayList<>(allPieces)));
+        }
+    }
+
+    public Map<String, Category> getNormalCategories() {
+        return normalCategories;
+    }
+
+    public Map<String, Category> getFadeDyeCategories() {
+        return fadeDyeCategories;
+    }
+
+    /**
+     * Look up a category by page name (normal or fade dye)
+     */
+    public Category getCategory(String name, boolean isFade) {
+        return isFade ? fadeDyeCategories.get(name) : normalCategories.get(name);
+    }
+
+    /**
+     * Catalog content version, stamped into the checklist cache
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public List<String> getNormalPageOrder() {
+        return normalPageOrder;
+    }
+
+    public List<String> getFadeDyePageOrder() {
+        return fadeDyePageOrder;
+    }
+
+    /**
+     * Every stage of every category, indexed like the stage grid
+     */
+    public List<Stage> getAllStages() {
+        return allStages;
+    }
+
+    /**
+     * LAB grid over getAllStages() with 5 deltaE cells
+     */
+    public LabGrid getStageGrid() {
+        return stageGrid;
+    }
+}
@@ -0,0 +1,43 @@
+package schnerry.seymouranalyzer.data;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Collection changes the checklist cache still has to catch up with
+ */
+final class ChecklistChanges {
+    // Past this many changes a full regeneration is cheaper than repairing piece by piece
+    private static final int INCREMENTAL_UPDATE_LIMIT = 500;
+
+    final Set<String> added;
+    final Set<String> removed;
+    private final boolean fullRegeneration;
+
+    ChecklistChanges(Set<String> added, Set<String> removed, boolean fullRegeneration) {
+        this.added = added;
+        this.removed = removed;
+        this.fullRegeneration = fullRegeneration;
+    }
+
+    /**
+     * Whether these changes need a full regeneration instead of an incremental update
+     * Also true when nothing was tracked (e.g. size changed without add/remove) - nothing to repair from
+     */
+    boolean needsFullRegeneration() {
+        return fullRegeneration
+            || (added.isEmpty() && removed.isEmpty())
+            || added.size() + removed.size() > INCREMENTAL_UPDATE_LIMIT;
+    }
+
+    /**
+     * Combine with changes that happened later
+     */
+    ChecklistChanges merge(ChecklistChanges later) {
+        Set<String> mergedAdded = new HashSet<>(added);
+        mergedAdded.addAll(later.added);
+        Set<String> mergedRemoved = new HashSet<>(removed);
+        mergedRemoved.addAll(later.removed);
+        return new ChecklistChanges(mergedAdded, mergedRemoved, fullRegeneration || later.fullRegeneration);
+    }
+}
@@ -17,10 +17,16 @@ public class CollectionManager {
     private final Map<String, ArmorPiece> collection = new ConcurrentHashMap<>();
     private final AtomicBoolean isDirty = new AtomicBoolean(false);
     private final AtomicBoolean isSaving = new AtomicBoolean(false);
+    private final AtomicInteger modificationCount = new AtomicInteger(0); // Bumped on every add/remove/clear
     private long lastSaveTime = 0;
     private static final long SAVE_DEBOUNCE_MS = 2000; // Wait 2 seconds after last change before saving
     private int lastCollectionSize = 0; // Track size to detect changes
 
+    // Pieces added/removed since the checklist cache last caught up (applied incrementally)
+    private final Set<String> pendingAdded = ConcurrentHashMap.newKeySet();
+    private final Set<String> pendingRemoved = ConcurrentHashMap.newKeySet();
+    private volatile boolean pendingFullRegeneration = false;
+
     private CollectionManager() {
         File configDir = new File(FabricLoader.getInstance().getConfigDir().toFile(), "seymouranalyzer");
         if (!configDir.exists() && !configDir.mkdirs()) {
@@ -28,6 +34,8 @@ public class CollectionManager {
         }
         collectionFile = new File(configDir, "collection.json");
         load();
+        // The persisted checklist cache is validated by fingerprint on startup, don't treat loading as a change
+        lastCollectionSize = collection.size();
     }
 
     public static CollectionManager getInstance() {
@@ -121,6 +129,51 @@ public class CollectionManager {
     private void markDirty() {
         isDirty.set(true);
         lastSaveTime = System.currentTimeMillis();
+        modificationCount.incrementAndGet();
+    }
+
+    /**
+     * Counter that changes whenever pieces are added or removed
+     * Lets caches (e.g. dupe highlights) detect collection changes without rescanning
+     */
+    public int getModificationCount() {
+        return modificationCount.get();
+    }
+
+    /**
+     * Order-independent fingerprint of the collection contents (uuid, color and piece type of every piece)
+     * Per-piece hashes are combined by sum and XOR, so the result doesn't depend on map iteration order
+     */
+    public long computeFingerprint() {
+        long sum = 0;
+        long xor = 0;
+        int count = 0;
+        for (Map.Entry<String, ArmorPiece> entry : collection.entrySet()) {
+            ArmorPiece piece = entry.getValue();
+            long hash = entry.getKey().hashCode() * 0x9E3779B97F4A7C15L;
+            hash = mix(hash ^ parseRgb(piece.getHexcode()));
+            hash = mix(hash ^ Objects.hashCode(piece.getPieceName()));
+            sum += hash;
+            xor ^= hash;
+            count++;
+        }
+        return mix(sum ^ Long.rotateLeft(xor, 32) ^ count);
+    }
+
+    private static long parseRgb(String hex) {
+        if (hex == null || hex.length() != 6) return -1;
+        try {
+            return Integer.parseInt(hex, 16);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    // SplitMix64 finalizer, spreads similar inputs (e.g. neighbouring colors) over all bits
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
     }
 
     /**
@@ -139,16 +192,20 @@ public class CollectionManager {
     }
 
     /**
-     * Check if collection size changed and regenerate checklist cache if needed
+     * Check if the collection changed and update the checklist cache if needed
+     * Small changes are applied incrementally, large ones (or a cleared collection) regenerate everything
      */
     private void checkAndRegenerateCache() {
         int currentSize = collection.size();
-        if (currentSize != lastCollectionSize && currentSize > 0) {
+        boolean hasPendingChanges = pendingFullRegeneration || !pendingAdded.isEmpty() || !pendingRemoved.isEmpty();
+        // An empty collection still has to publish an empty cache after a clear or after removing every piece
+        boolean canUpdate = currentSize > 0 || pendingFullRegeneration || !pendingRemoved.isEmpty();
+        if ((hasPendingChanges || currentSize != lastCollectionSize) && canUpdate) {
             // Don't regenerate during active scanning/exporting to avoid lag
             ChestScanner scanner = SeymouranalyzerClient.getScanner();
             if (scanner != null && (scanner.isScanningEnabled() || scanner.isExportingEnabled())) {
-                // Don't update lastCollectionSize during scanning - this way when scanning stops,
-                // the size mismatch will trigger regeneration
+                // Keep the pending changes during scanning - this way when scanning stops,
+                // they will trigger the update
                 return;
             }
 
@@ -156,31 +213,32 @@ public class CollectionManager {
             // to avoid lag while browsing
             GuiScaleManager guiManager = GuiScaleManager.getInstance();
             if (guiManager != null && guiManager.isInModGui()) {
-                // Don't update lastCollectionSize while in GUI - this way when GUI closes,
-                // the size mismatch will trigger regeneration
+                // Keep the pending changes while in GUI - this way when GUI closes,
+                // they will trigger the update
                 return;
             }
 
-            // Calculate the difference for logging
-            int sizeDiff = currentSize - lastCollectionSize;
+            // Take the pending changes, anything arriving after this is picked up next tick
+            Set<String> added = new HashSet<>(pendingAdded);
+            Set<String> removed = new HashSet<>(pendingRemoved);
+            pendingAdded.removeAll(added);
+            pendingRemoved.removeAll(removed);
+            boolean fullRegeneration = pendingFullRegeneration;
+            pendingFullRegeneration = false;
             lastCollectionSize = currentSize;
 
-            // Regenerate cache in background thread to avoid lag
-            new Thread(() -> {
-                try {
-                    if (sizeDiff > 0) {
-                        Seymouranalyzer.LOGGER.info("Collection size increased by {} (now {}), regenerating checklist cache...", sizeDiff, currentSize);
-                    } else {
-                        Seymouranalyzer.LOGGER.info("Collection size decreased by {} (now {}), regenerating checklist cache...", -sizeDiff, currentSize);
-                    }
-                    ChecklistCacheGenerator.generateAllCaches();
-                } catch (Exception e) {
-                    Seymouranalyzer.LOGGER.error("Failed to regenerate checklist cache", e);
-                }
-            }, "ChecklistCacheRegenerator").start();
+            // Update cache in the background, superseding any update still running
+            ChecklistCacheScheduler.getInstance().submit(new ChecklistChanges(added, removed, fullRegeneration));
         }
     }
 
+    /**
+     * Schedule a full checklist cache regeneration (picked up on the next tick)
+     */
+    public void requestChecklistRegeneration() {
+        pendingFullRegeneration = true;
+    }
+
     /**
      * Force immediate synchronous save (use when stopping scan or on shutdown)
      */
@@ -194,12 +252,25 @@ public class CollectionManager {
         if (piece.getUuid() == null) {
             piece.setUuid(UUID.randomUUID().toString());
         }
-        collection.put(piece.getUuid(), piece);
+        ArmorPiece previous = collection.put(piece.getUuid(), piece);
+        if (previous == null) {
+            pendingAdded.add(piece.getUuid());
+        } else if (!Objects.equals(previous.getHexcode(), piece.getHexcode())
+            || !Objects.equals(previous.getPieceName(), piece.getPieceName())) {
+            // Re-scanned with a different color/type - its checklist assignments have to be redone
+            pendingRemoved.add(piece.getUuid());
+            pendingAdded.add(piece.getUuid());
+        }
         markDirty(); // Don't save immediately!
     }
 
     public void removePiece(String uuid) {
-        collection.remove(uuid);
+        if (collection.remove(uuid) != null) {
+            // Never made it into the checklist cache - nothing to undo there
+            if (!pendingAdded.remove(uuid)) {
+                pendingRemoved.add(uuid);
+            }
+        }
         markDirty(); // Don't save immediately!
     }
 
@@ -218,6 +289,9 @@ public class CollectionManager {
 
     public void clear() {
         collection.clear();
+        pendingAdded.clear();
+        pendingRemoved.clear();
+        pendingFullRegeneration = true;
         markDirty();
         forceSync(); // Clear is important, save immediately
     }
@@ -0,0 +1,207 @@
+package schnerry.seymouranalyzer.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Sparse min-cost assignment of collection pieces to the stages of one checklist category (one piece type)
+ * Only the deltaE <= 5 edges are ever materialized, and each stage keeps at most as many edges as there
+ * are stages: a stage can never be forced past its N best pieces when only N - 1 other stages compete
+ * for them, so the pruned graph has the same optimum. Memory is proportional to the edge count.
+ *
+ * Solved with successive shortest augmenting paths (Jonker-Volgenant style dual potentials, Dijkstra
+ * over the sparse graph). Every stage also gets a private "unfilled" column, so stages may stay empty.
+ * Costs are layered so the optimum fills as many needed stages as possible, then as many stages
+ * overall, and only then minimizes the summed deltaE.
+ */
+final class StageAssignmentSolver {
+    private static final double MAX_DELTA_E = 5.0;
+
+    private StageAssignmentSolver() {
+    }
+
+    private record QueueEntry(double cost, int column) {
+    }
+
+    /**
+     * @param needed       Per stage: whether the stage needs this piece type
+     * @param stagePieces  Per stage: candidate piece ids (any non-negative id space)
+     * @param stageDeltaE  Per stage: deltaE of each candidate, parallel to stagePieces
+     * @return Per stage: the assigned piece id, or -1 if left empty
+     */
+    static int[] solve(boolean[] needed, int[][] stagePieces, double[][] stageDeltaE) {
+        int rows = needed.length;
+        int[] result = new int[rows];
+        Arrays.fill(result, -1);
+        if (rows == 0) return result;
+
+        // Layered costs: needed fills dominate total fills, which dominate the summed deltaE
+        double fillWeight = MAX_DELTA_E * rows + 1;
+        double neededWeight = fillWeight * (rows + 1);
+        double unfilledCost = fillWeight + neededWeight;
+
+        // Prune to each stage's best edges and relabel pieces to dense local columns
+        Map<Integer, Integer> localIds = new HashMap<>();
+        List<Integer> globalIds = new ArrayList<>();
+        int[][] adjColumns = new int[rows][];
+        double[][] adjCosts = new double[rows][];
+
+        for (int row = 0; row < rows; row++) {
+            int[] pieces = stagePieces[row];
+            double[] deltaEs = stageDeltaE[row];
+            int[] order = bestEdges(deltaEs, rows);
+
+            int kept = order.length;
+            adjColumns[row] = new int[kept + 1];
+            adjCosts[row] = new double[kept + 1];
+            for (int k = 0; k < kept; k++) {
+                int piece = pieces[order[k]];
+                Integer local = localIds.get(piece);
+                if (local == null) {
+                    local = globalIds.size();
+                    localIds.put(piece, local);
+                    globalIds.add(piece);
+                }
+                adjColumns[row][k] = local;
+                adjCosts[row][k] = needed[row] ? deltaEs[order[k]] : neededWeight + deltaEs[order[k]];
+            }
+            // Private "unfilled" column, resolved to its real index once all pieces are numbered
+            adjColumns[row][kept] = -1 - row;
+            adjCosts[row][kept] = unfilledCost;
+        }
+
+        int pieceColumns = globalIds.size();
+        int columns = pieceColumns + rows;
+        for (int row = 0; row < rows; row++) {
+            int last = adjColumns[row].length - 1;
+            adjColumns[row][last] = pieceColumns + row;
+        }
+
+        double[] u = new double[rows];
+        double[] v = new double[columns];
+        int[] colForRow = new int[rows];
+        int[] rowForCol = new int[columns];
+        Arrays.fill(colForRow, -1);
+        Arrays.fill(rowForCol, -1);
+
+        double[] pathCost = new double[columns];
+        Arrays.fill(pathCost, Double.POSITIVE_INFINITY);
+        int[] pathRow = new int[columns];
+        boolean[] settled = new boolean[columns];
+        List<Integer> touched = new ArrayList<>();
+        List<Integer> settledColumns = new ArrayList<>();
+        List<Integer> visitedRows = new ArrayList<>();
+        PriorityQueue<QueueEntry> queue = new PriorityQueue<>((x, y) -> Double.compare(x.cost, y.cost));
+
+        for (int current = 0; current < rows; current++) {
+            double minVal = 0;
+            int row = current;
+            int sink = -1;
+            visitedRows.add(current);
+
+            // Dijkstra over reduced costs until a free column is reached (the row's own "unfilled" column always is)
+            while (sink < 0) {
+                for (int k = 0; k < adjColumns[row].length; k++) {
+                    int col = adjColumns[row][k];
+                    if (settled[col]) continue;
+
+                    double reduced = minVal + adjCosts[row][k] - u[row] - v[col];
+                    if (reduced < pathCost[col]) {
+                        if (pathCost[col] == Double.POSITIVE_INFINITY) touched.add(col);
+                        pathCost[col] = reduced;
+                        pathRow[col] = row;
+                        queue.add(new QueueEntry(reduced, col));
+                    }
+                }
+
+                QueueEntry next;
+                do {
+                    next = queue.poll();
+                } while (next != null && (settled[next.column] || next.cost > pathCost[next.column]));
+                if (next == null) break; // Unreachable in practice, the unfilled column is always free
+
+                int col = next.column;
+                minVal = pathCost[col];
+                settled[col] = true;
+                settledColumns.add(col);
+
+                if (rowForCol[col] < 0) {
+                    sink = col;
+                } else {
+                    row = rowForCol[col];
+                    visitedRows.add(row);
+                }
+            }
+
+            if (sink >= 0) {
+                // Update the dual potentials so reduced costs stay non-negative
+                u[current] += minVal;
+                for (int visited : visitedRows) {
+                    if (visited != current) {
+                        u[visited] += minVal - pathCost[colForRow[visited]];
+                    }
+                }
+                for (int col : settledColumns) {
+                    v[col] -= minVal - pathCost[col];
+                }
+
+                // Augment along the path back to the current row
+                int col = sink;
+                while (true) {
+                    int pathStart = pathRow[col];
+                    rowForCol[col] = pathStart;
+                    int previous = colForRow[pathStart];
+                    colForRow[pathStart] = col;
+                    col = previous;
+                    if (pathStart == current) break;
+                }
+            }
+
+            for (int col : touched) {
+                pathCost[col] = Double.POSITIVE_INFINITY;
+                settled[col] = false;
+            }
+            touched.clear();
+            settledColumns.clear();
+            visitedRows.clear();
+            queue.clear();
+        }
+
+        for (int row = 0; row < rows; row++) {
+            int col = colForRow[row];
+            if (col >= 0 && col < pieceColumns) {
+                result[row] = globalIds.get(col);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Indices of the (at most) limit lowest deltaE edges
+     */
+    private static int[] bestEdges(double[] deltaEs, int limit) {
+        int[] order;
+        if (deltaEs.length <= limit) {
+            order = new int[deltaEs.length];
+            for (int k = 0; k < order.length; k++) order[k] = k;
+            return order;
+        }
+
+        // Sort primitive keys instead of boxed indices: non-negative float bits order like the values
+        long[] keys = new long[deltaEs.length];
+        for (int k = 0; k < keys.length; k++) {
+            keys[k] = ((long) Float.floatToIntBits((float) deltaEs[k]) << 32) | k;
+        }
+        Arrays.sort(keys);
+
+        order = new int[limit];
+        for (int k = 0; k < limit; k++) {
+            order[k] = (int) keys[k];
+        }
+        return order;
+    }
+}
@@ -41,143 +41,103 @@ public class ArmorChecklistScreen extends ModScreen {
         Map<String, String> foundPieceUuids = new HashMap<>(); // pieceType -> UUID
     }
 
-    public ArmorChecklistScreen(Screen parent) {
-        super(Text.literal("Armor Set Checklist"), parent);
-        loadChecklistData();
-
-        // Check if cache needs invalidation (collection size changed)
-        ChecklistCache cache = ChecklistCache.getInstance();
-        Map<String, ArmorPiece> collection = CollectionManager.getInstance().getCollection();
-        cache.checkAndInvalidate(collection.size());
-
-        calculateOptimalMatches();
+    // Categories this screen asked the scheduler to generate ("fade:" prefix for fade dyes), asked once each
+    private final Set<String> requestedCategories = new HashSet<>();
+    // The current page waits for its category to be generated
+    private boolean matchesPending = false;
+
+    // Precomputed render data for the current page, rebuilt only when the page, filter or cache changes
+    private PageView pageView = null;
+
+    private static class PageView {
+        final ChecklistCache.Snapshot snapshot; // Cache state the page was built from
+        final List<RowView> rows = new ArrayList<>();
+        String statsLine1;
+        String statsLine2;
+
+        PageView(ChecklistCache.Snapshot snapshot) {
+            this.snapshot = snapshot;
+        }
     }
 
-    private void loadChecklistData() {
-        try {
-            InputStream inputStream = Seymouranalyzer.class.getResourceAsStream("/data/seymouranalyzer/checklistdata.json");
-
-            if (inputStream == null) {
-                Seymouranalyzer.LOGGER.error("Could not load checklistdata.json");
-                return;
-            }
-
-            Gson gson = new Gson();
-            JsonObject root = gson.fromJson(new InputStreamReader(inputStream, StandardCharsets.UTF_8), JsonObject.class);
-
-            // Load categories
-            JsonObject categoriesJson = root.getAsJsonObject("categories");
-            for (String categoryName : categoriesJson.keySet()) {
-                List<ChecklistEntry> entries = new ArrayList<>();
-                var array = categoriesJson.getAsJsonArray(categoryName);
-
-                for (var element : array) {
-                    var obj = element.getAsJsonObject();
-                    ChecklistEntry entry = new ChecklistEntry();
-                    entry.hex = obj.get("hex").getAsString().toUpperCase();
-                    entry.name = obj.get("name").getAsString();
-                    entry.pieces = new ArrayList<>();
-
-                    var piecesArray = obj.getAsJsonArray("pieces");
-                    for (var pieceElement : piecesArray) {
-                        entry.pieces.add(pieceElement.getAsString());
-                    }
-
-                    entries.add(entry);
-                }
-
-                categories.put(categoryName, entries);
-            }
-
-            // Load page order
-            var pageOrderArray = root.getAsJsonArray("normalPageOrder");
-            for (var element : pageOrderArray) {
-                normalPageOrder.add(element.getAsString());
-            }
-
-            // Load fade dyes from colors.json
-            loadFadeDyes();
-
-            // Build fade dye page order from fade dye categories
-            String[] fadeDyes = {"Aurora", "Black Ice", "Frog", "Lava", "Lucky", "Marine",
-                                "Oasis", "Ocean", "Pastel Sky", "Portal", "Red Tulip", "Rose",
-                                "Snowflake", "Spooky", "Sunflower", "Sunset", "Warden"};
-            for (String fadeDye : fadeDyes) {
-                if (categories.containsKey(fadeDye)) {
-                    fadeDyePageOrder.add(fadeDye);
-                }
-            }
-
-            // Start with normal page order
-            pageOrder = normalPageOrder;
-
-            Seymouranalyzer.LOGGER.info("Loaded {} checklist categories (including {} fade dyes)",
-                categories.size(), fadeDyePageOrder.size());
+    private static class RowView {
+        int swatchColor;
+        int hexTextColor;
+        String hexText;
+        String displayName;
+        final SlotView[] slots = new SlotView[PIECE_TYPES.length];
+    }
 
-        } catch (Exception e) {
-            Seymouranalyzer.LOGGER.error("Error loading checklist data", e);
+    private static class SlotView {
+        final int fillColor;
+        final String text;
+        final int textOffset; // From the left edge of the box
+        final int textColor;
+
+        SlotView(int fillColor, String text, int textOffset, int textColor) {
+            this.fillColor = fillColor;
+            this.text = text;
+            this.textOffset = textOffset;
+            this.textColor = textColor;
         }
     }
 
-    private void loadFadeDyes() {
-        try {
-            InputStream inputStream = Seymouranalyzer.class.getResourceAsStream("/data/seymouranalyzer/colors.json");
-
-            if (inputStream == null) {
-                Seymouranalyzer.LOGGER.error("Could not load colors.json for fade dyes");
-                return;
-            }
-
-            Gson gson = new Gson();
-            JsonObject root = gson.fromJson(new InputStreamReader(inputStream, StandardCharsets.UTF_8), JsonObject.class);
-            JsonObject fadeDyes = root.getAsJsonObject("FADE_DYES");
+    private static final String[] PIECE_TYPES = {"helmet", "chestplate", "leggings", "boots"};
+    private static final int[] PIECE_COLUMN_X = {250, 370, 490, 610};
+    private static final SlotView FILTERED_SLOT = new SlotView(0xB0606060, "§8-", 45, 0xFF666666);
+    private static final SlotView MISSING_SLOT = new SlotView(0xFFC80000, "§c✗ Missing", 5, 0xFFFFFFFF);
 
-            if (fadeDyes == null) {
-                Seymouranalyzer.LOGGER.warn("No FADE_DYES section found in colors.json");
-                return;
-            }
-
-            // Group stages by fade dye name
-            Map<String, List<ChecklistEntry>> fadeDyeCategories = new LinkedHashMap<>();
+    public ArmorChecklistScreen(Screen parent) {
+        super(Text.literal("Armor Set Checklist"), parent);
+        loadChecklistData();
 
-            for (String key : fadeDyes.keySet()) {
-                // Parse "Aurora - Stage 1" format
-                String[] parts = key.split(" - Stage ");
-                if (parts.length == 2) {
-                    String dyeName = parts[0];
-                    String hexValue = fadeDyes.get(key).getAsString().toUpperCase();
+        // The cache snapshot is used as is, collection changes are applied by ChecklistCacheScheduler
+        calculateOptimalMatches();
+    }
 
-                    fadeDyeCategories.putIfAbsent(dyeName, new ArrayList<>());
+    private void loadChecklistData() {
+        // Stages come preparsed from the shared catalog, only the per-screen completion state is created here
+        ChecklistCatalog catalog = ChecklistCatalog.getInstance();
 
-                    ChecklistEntry entry = new ChecklistEntry();
-                    entry.hex = hexValue;
-                    entry.name = key;
-                    entry.pieces = new ArrayList<>();
-                    entry.pieces.add("helmet");
-                    entry.pieces.add("chestplate");
-                    entry.pieces.add("leggings");
-                    entry.pieces.add("boots");
+        for (ChecklistCatalog.Category category : catalog.getNormalCategories().values()) {
+            categories.put(category.name, createEntries(category));
+        }
+        for (ChecklistCatalog.Category category : catalog.getFadeDyeCategories().values()) {
+            categories.put(category.name, createEntries(category));
+        }
 
-                    fadeDyeCategories.get(dyeName).add(entry);
-                }
-            }
+        normalPageOrder.addAll(catalog.getNormalPageOrder());
+        fadeDyePageOrder.addAll(catalog.getFadeDyePageOrder());
 
-            // Add all fade dye categories to main categories map
-            categories.putAll(fadeDyeCategories);
+        // Start with normal page order
+        pageOrder = normalPageOrder;
 
-            Seymouranalyzer.LOGGER.info("Loaded {} fade dye categories with {} total stages",
-                fadeDyeCategories.size(),
-                fadeDyeCategories.values().stream().mapToInt(List::size).sum());
+        Seymouranalyzer.LOGGER.info("Loaded {} checklist categories (including {} fade dyes)",
+            categories.size(), fadeDyePageOrder.size());
+    }
 
-        } catch (Exception e) {
-            Seymouranalyzer.LOGGER.error("Error loading fade dyes", e);
+    private static List<ChecklistEntry> createEntries(ChecklistCatalog.Category category) {
+        List<ChecklistEntry> entries = new ArrayList<>(category.size());
+        for (ChecklistCatalog.Stage stage : category.getStages()) {
+            ChecklistEntry entry = new ChecklistEntry();
+            entry.hex = stage.hex;
+            entry.name = stage.name;
+            entry.pieces = stage.pieces;
+            entries.add(entry);
         }
+        return entries;
     }
 
     private void calculateOptimalMatches() {
+        computeOptimalMatches();
+        rebuildPageView();
+    }
+
+    private void computeOptimalMatches() {
         Map<String, ArmorPiece> collection = CollectionManager.getInstance().getCollection();
         ChecklistCache cache = ChecklistCache.getInstance();
 
+        matchesPending = false;
         if (pageOrder.isEmpty() || currentPage >= pageOrder.size()) return;
 
         String currentCategory = pageOrder.get(currentPage);
@@ -254,173 +214,18 @@ public class ArmorChecklistScreen extends ModScreen {
             }
 
                 return; // Cache hit, no need to recalculate
-            } else {
-                // Cache invalid, clear it for this category
-                if (fadeDyeMode) {
-                    cache.getFadeDyeOptimalCache().remove(currentCategory);
-                } else {
-                    cache.getNormalColorCache().remove(currentCategory);
-                }
-                Seymouranalyzer.LOGGER.info("Cache cleared for category {} due to hex value changes", currentCategory);
             }
         }
 
-        // No cache - calculate optimal matches
-        Seymouranalyzer.LOGGER.info("Calculating optimal matches for category: {}", currentCategory);
-
-        // Create new category cache
-        categoryCache = new ChecklistCache.CategoryCache();
-        categoryCache.category = currentCategory;
-        categoryCache.isCalculating = true;
-
-        // For each piece type, build a list of all candidates across all stages
-        String[] pieceTypes = {"helmet", "chestplate", "leggings", "boots"};
-
-        for (String pieceType : pieceTypes) {
-            List<CandidateMatch> candidates = new ArrayList<>();
-
-            // Build candidate list for ALL entries (not just those that need this piece type)
-            for (int stageIdx = 0; stageIdx < entries.size(); stageIdx++) {
-                ChecklistEntry entry = entries.get(stageIdx);
-
-                // Find all matching pieces for this stage and piece type
-                for (Map.Entry<String, ArmorPiece> collectionEntry : collection.entrySet()) {
-                    String uuid = collectionEntry.getKey();
-                    ArmorPiece piece = collectionEntry.getValue();
-                    String pieceName = piece.getPieceName().toLowerCase();
-                    boolean typeMatches = false;
-
-                    if (pieceType.equals("helmet") && (pieceName.contains("helm") || pieceName.contains("hat") || pieceName.contains("hood") || pieceName.contains("crown"))) {
-                        typeMatches = true;
-                    } else if (pieceType.equals("chestplate") && (pieceName.contains("chest") || pieceName.contains("tunic") || pieceName.contains("jacket"))) {
-                        typeMatches = true;
-                    } else if (pieceType.equals("leggings") && (pieceName.contains("legging") || pieceName.contains("pants") || pieceName.contains("trousers"))) {
-                        typeMatches = true;
-                    } else if (pieceType.equals("boots") && (pieceName.contains("boot") || pieceName.contains("shoes") || pieceName.contains("sneakers"))) {
-                        typeMatches = true;
-                    }
-
-                    if (typeMatches) {
-                        double deltaE = ColorMath.calculateDeltaE(entry.hex, piece.getHexcode());
-                        if (deltaE <= 5.0) {
-                            // Mark if this piece is actually needed for this entry
-                            boolean isNeeded = entry.pieces.contains(pieceType);
-                            candidates.add(new CandidateMatch(stageIdx, uuid, piece, deltaE, isNeeded));
-                        }
-                    }
-                }
-            }
-
-            // Sort candidates: first by priority (needed pieces first), then by deltaE
-            candidates.sort((a, b) -> {
-                if (a.isNeeded != b.isNeeded) {
-                    return a.isNeeded ? -1 : 1; // Needed pieces first
-                }
-                return Double.compare(a.deltaE, b.deltaE); // Then by quality
-            });
-
-            // Greedy assignment: assign each piece to the best available stage
-            Set<String> usedPieces = new HashSet<>();
-            Set<Integer> assignedStages = new HashSet<>();
-
-            for (CandidateMatch candidate : candidates) {
-                String uuid = candidate.uuid;
-
-                if (!usedPieces.contains(uuid) && !assignedStages.contains(candidate.stageIndex)) {
-                    // Assign this piece to this stage
-                    ChecklistEntry targetEntry = entries.get(candidate.stageIndex);
-                    targetEntry.foundPieces.put(pieceType, candidate.piece);
-                    targetEntry.foundPieceUuids.put(pieceType, uuid);
-                    usedPieces.add(uuid);
-                    assignedStages.add(candidate.stageIndex);
-                }
-            }
-        }
-
-        // Save to cache
-        for (int i = 0; i < entries.size(); i++) {
-            ChecklistEntry entry = entries.get(i);
-            ChecklistCache.StageMatches stageMatches = new ChecklistCache.StageMatches();
-            stageMatches.stageHex = entry.hex;
-            stageMatches.calculated = true;
-
-            // Save each piece match with actual UUID
-            ArmorPiece helmet = entry.foundPieces.get("helmet");
-            if (helmet != null) {
-                String uuid = entry.foundPieceUuids.get("helmet");
-                stageMatches.helmet = new ChecklistCache.MatchInfo(
-                    helmet.getPieceName(),
-                    helmet.getHexcode(),
-                    ColorMath.calculateDeltaE(entry.hex, helmet.getHexcode()),
-                    uuid
-                );
-            }
-
-            ArmorPiece chestplate = entry.foundPieces.get("chestplate");
-            if (chestplate != null) {
-                String uuid = entry.foundPieceUuids.get("chestplate");
-                stageMatches.chestplate = new ChecklistCache.MatchInfo(
-                    chestplate.getPieceName(),
-                    chestplate.getHexcode(),
-                    ColorMath.calculateDeltaE(entry.hex, chestplate.getHexcode()),
-                    uuid
-                );
-            }
-
-            ArmorPiece leggings = entry.foundPieces.get("leggings");
-            if (leggings != null) {
-                String uuid = entry.foundPieceUuids.get("leggings");
-                stageMatches.leggings = new ChecklistCache.MatchInfo(
-                    leggings.getPieceName(),
-                    leggings.getHexcode(),
-                    ColorMath.calculateDeltaE(entry.hex, leggings.getHexcode()),
-                    uuid
-                );
-            }
-
-            ArmorPiece boots = entry.foundPieces.get("boots");
-            if (boots != null) {
-                String uuid = entry.foundPieceUuids.get("boots");
-                stageMatches.boots = new ChecklistCache.MatchInfo(
-                    boots.getPieceName(),
-                    boots.getHexcode(),
-                    ColorMath.calculateDeltaE(entry.hex, boots.getHexcode()),
-                    uuid
-                );
-            }
-
-            categoryCache.matchesByIndex.put(i, stageMatches);
-        }
-
-        categoryCache.isCalculating = false;
-
-        // Store in cache system
-        if (fadeDyeMode) {
-            cache.setFadeDyeOptimalCache(currentCategory, categoryCache);
-        } else {
-            cache.setNormalColorCache(currentCategory, categoryCache);
+        // Missing or outdated - the scheduler generates it like a full regeneration would and publishes
+        // a new snapshot, which rebuilds the page. Until then the page shows no matches.
+        for (ChecklistEntry entry : entries) {
+            entry.foundPieces.clear();
+            entry.foundPieceUuids.clear();
         }
-
-        // Save to disk
-        cache.save();
-
-        Seymouranalyzer.LOGGER.info("Cached optimal matches for category: {}", currentCategory);
-    }
-
-    // Helper class for optimal matching
-    private static class CandidateMatch {
-        int stageIndex;
-        String uuid;
-        ArmorPiece piece;
-        double deltaE;
-        boolean isNeeded; // True if this piece type is actually needed for this stage
-
-        CandidateMatch(int stageIndex, String uuid, ArmorPiece piece, double deltaE, boolean isNeeded) {
-            this.stageIndex = stageIndex;
-            this.uuid = uuid;
-            this.piece = piece;
-            this.deltaE = deltaE;
-            this.isNeeded = isNeeded;
+        matchesPending = true;
+        if (requestedCategories.add((fadeDyeMode ? "fade:" : "") + currentCategory)) {
+            ChecklistCacheScheduler.getInstance().requestCategory(currentCategory, fadeDyeMode);
         }
     }
 
@@ -586,6 +391,92 @@ public class ArmorChecklistScreen extends ModScreen {
         };
     }
 
+    /**
+     * Build the render data for the current page once: colors, ΔE qualities, truncated labels and stats strings
+     */
+    private void rebuildPageView() {
+        pageView = null;
+        if (pageOrder.isEmpty() || currentPage >= pageOrder.size()) return;
+
+        List<ChecklistEntry> entries = categories.get(pageOrder.get(currentPage));
+        if (entries == null) return;
+
+        PageView view = new PageView(ChecklistCache.getInstance().getSnapshot());
+        int t1Count = 0, t2Count = 0, missingCount = 0, totalSlots = 0;
+
+        for (ChecklistEntry entry : entries) {
+            RowView row = new RowView();
+
+            // Hex color box (50px wide to fit hex code)
+            ColorMath.RGB rgb = ColorMath.hexToRgb(entry.hex);
+            row.swatchColor = 0xFF000000 | (rgb.r << 16) | (rgb.g << 8) | rgb.b;
+            row.hexTextColor = ColorMath.isColorDark(entry.hex) ? 0xFFFFFFFF : 0xFF000000;
+            row.hexText = "#" + entry.hex;
+
+            // Armor set name
+            row.displayName = entry.name.length() > 25 ? entry.name.substring(0, 25) + "..." : entry.name;
+
+            for (int i = 0; i < PIECE_TYPES.length; i++) {
+                String pieceType = PIECE_TYPES[i];
+
+                // Only hide non-required pieces when piece filter is enabled
+                if (pieceToPieceMode && !entry.pieces.contains(pieceType)) {
+                    row.slots[i] = FILTERED_SLOT;
+                    continue;
+                }
+
+                totalSlots++;
+                ArmorPiece match = entry.foundPieces.get(pieceType);
+                if (match == null) {
+                    missingCount++;
+                    row.slots[i] = MISSING_SLOT;
+                    continue;
+                }
+
+                double deltaE = ColorMath.calculateDeltaE(entry.hex, match.getHexcode());
+                if (deltaE <= 2) {
+                    t1Count++;
+                } else if (deltaE <= 5) {
+                    t2Count++;
+                }
+
+                int qualityColor;
+                if (deltaE == 0) {
+                    qualityColor = 0xFF800080; // Purple for exact match
+                } else if (deltaE <= 2) {
+                    qualityColor = 0xFF00C800; // Green for great match
+                } else {
+                    qualityColor = 0xFFC8C800; // Yellow for good match
+                }
+
+                // Show piece hex (truncated)
+                String pieceHex = match.getHexcode();
+                if (pieceHex.length() > 10) {
+                    pieceHex = pieceHex.substring(0, 10) + "...";
+                }
+                row.slots[i] = new SlotView(qualityColor, pieceHex, 3, 0xFFFFFFFF);
+            }
+
+            view.rows.add(row);
+        }
+
+        int filledCount = t1Count + t2Count;
+        String percentStr = totalSlots > 0 ? String.format("%.1f", (filledCount * 100.0 / totalSlots)) : "0.0";
+
+        // Calculate T1 percentage for color coding
+        double t1Percent = totalSlots > 0 ? (t1Count * 100.0 / totalSlots) : 0;
+        String t1Color = t1Percent >= 50 ? "§a" : (t1Percent >= 35 ? "§e" : "§c");
+        String t1PercentStr = totalSlots > 0 ? String.format("%.1f", t1Percent) : "0.0";
+        String t2PercentStr = totalSlots > 0 ? String.format("%.1f", (t2Count * 100.0 / totalSlots)) : "0.0";
+
+        // Line 1: T1 and T2 with percentages
+        view.statsLine1 = "§7T1: §c" + t1Count + " §7(" + t1Color + t1PercentStr + "%§7) | T2: §6" + t2Count + " §7(§f" + t2PercentStr + "%§7)";
+        // Line 2: Missing and total filled
+        view.statsLine2 = "§7Missing: §c" + missingCount + " §7| §e" + filledCount + "/" + totalSlots + " §7(§f" + percentStr + "%§7)";
+
+        pageView = view;
+    }
+
     @Override
     public void render(DrawContext context, int mouseX, int mouseY, float delta) {
         // Title
@@ -604,12 +495,22 @@ public class ArmorChecklistScreen extends ModScreen {
         String pageInfo = "§7Page " + (currentPage + 1) + "/" + pageOrder.size() + " - §e" + currentCategory;
         int pageInfoWidth = this.textRenderer.getWidth(pageInfo);
         context.drawTextWithShadow(this.textRenderer, pageInfo, this.width / 2 - pageInfoWidth / 2, 30, 0xFFFFFFFF);
+        if (matchesPending) {
+            String pendingInfo = "§7Calculating matches...";
+            context.drawTextWithShadow(this.textRenderer, pendingInfo, this.width / 2 - this.textRenderer.getWidth(pendingInfo) / 2, 42, 0xFFFFFFFF);
+        }
 
         // Draw checklist entries
         List<ChecklistEntry> entries = categories.get(currentCategory);
         if (entries != null) {
-            drawChecklist(context, entries);
-            drawStatsCounter(context, entries);
+            // Background updates publish a new cache snapshot - rebuild the page from it
+            if (pageView == null || pageView.snapshot != ChecklistCache.getInstance().getSnapshot()) {
+                calculateOptimalMatches();
+            }
+            if (pageView != null) {
+                drawChecklist(context, pageView);
+                drawStatsCounter(context, pageView);
+            }
         }
 
         // Draw context menu on top if open
@@ -646,7 +547,7 @@ public class ArmorChecklistScreen extends ModScreen {
         context.drawTextWithShadow(this.textRenderer, "Find in Database", x + 5, y + 26, 0xFFFFFFFF);
     }
 
-    private void drawStatsCounter(DrawContext context, List<ChecklistEntry> entries) {
+    private void drawStatsCounter(DrawContext context, PageView view) {
         int boxWidth = 180;
         int boxHeight = 40;
         int boxX = this.width - boxWidth - 20;
@@ -661,56 +562,20 @@ public class ArmorChecklistScreen extends ModScreen {
         context.fill(boxX, boxY, boxX + 2, boxY + boxHeight, 0xFF646464);
         context.fill(boxX + boxWidth - 2, boxY, boxX + boxWidth, boxY + boxHeight, 0xFF646464);
 
-        // Calculate stats
-        int t1Count = 0, t2Count = 0, missingCount = 0, totalSlots = 0;
-        String[] allPieceTypes = {"helmet", "chestplate", "leggings", "boots"};
-
-        for (ChecklistEntry entry : entries) {
-            for (String pieceType : allPieceTypes) {
-                // Skip if piece-to-piece filter is on and piece not needed
-                if (pieceToPieceMode && !entry.pieces.contains(pieceType)) {
-                    continue;
-                }
-
-                totalSlots++;
-                ArmorPiece match = entry.foundPieces.get(pieceType);
-
-                if (match == null) {
-                    missingCount++;
-                } else {
-                    double deltaE = ColorMath.calculateDeltaE(entry.hex, match.getHexcode());
-                    if (deltaE <= 2) {
-                        t1Count++;
-                    } else if (deltaE <= 5) {
-                        t2Count++;
-                    }
-                }
-            }
-        }
-
-        int filledCount = t1Count + t2Count;
-        String percentStr = totalSlots > 0 ? String.format("%.1f", (filledCount * 100.0 / totalSlots)) : "0.0";
-
-        // Calculate T1 percentage for color coding
-        double t1Percent = totalSlots > 0 ? (t1Count * 100.0 / totalSlots) : 0;
-        String t1Color = t1Percent >= 50 ? "§a" : (t1Percent >= 35 ? "§e" : "§c");
-        String t1PercentStr = totalSlots > 0 ? String.format("%.1f", t1Percent) : "0.0";
-        String t2PercentStr = totalSlots > 0 ? String.format("%.1f", (t2Count * 100.0 / totalSlots)) : "0.0";
-
         // Line 1: T1 and T2 with percentages
-        String line1 = "§7T1: §c" + t1Count + " §7(" + t1Color + t1PercentStr + "%§7) | T2: §6" + t2Count + " §7(§f" + t2PercentStr + "%§7)";
-        int line1Width = this.textRenderer.getWidth(line1);
+        int line1Width = this.textRenderer.getWidth(view.statsLine1);
         int line1X = boxX + (boxWidth - line1Width) / 2;
-        context.drawTextWithShadow(this.textRenderer, line1, line1X, boxY + 6, 0xFFFFFFFF);
+        context.drawTextWithShadow(this.textRenderer, view.statsLine1, line1X, boxY + 6, 0xFFFFFFFF);
 
         // Line 2: Missing and total filled
-        String line2 = "§7Missing: §c" + missingCount + " §7| §e" + filledCount + "/" + totalSlots + " §7(§f" + percentStr + "%§7)";
-        int line2Width = this.textRenderer.getWidth(line2);
+        int line2Width = this.textRenderer.getWidth(view.statsLine2);
         int line2X = boxX + (boxWidth - line2Width) / 2;
-        context.drawTextWithShadow(this.textRenderer, line2, line2X, boxY + 22, 0xFFFFFFFF);
+        context.drawTextWithShadow(this.textRenderer, view.statsLine2, line2X, boxY + 22, 0xFFFFFFFF);
     }
 
-    private void drawChecklist(DrawContext context, List<ChecklistEntry> entries) {
+    private void drawChecklist(DrawContext context, PageView view) {
+        List<RowView> rows = view.rows;
+
         // Draw headers
         context.drawTextWithShadow(this.textRenderer, "§l§7Target Color", 80, START_Y - 15, 0xFFFFFFFF);
         context.drawTextWithShadow(this.textRenderer, "§l§7Helmet", 250, START_Y - 15, 0xFFFFFFFF);
@@ -721,17 +586,16 @@ public class ArmorChecklistScreen extends ModScreen {
         int availableHeight = this.height - START_Y - 80;
         int maxVisible = Math.max(1, availableHeight / ROW_HEIGHT);
 
-        int endIndex = Math.min(scrollOffset + maxVisible, entries.size());
+        int endIndex = Math.min(scrollOffset + maxVisible, rows.size());
 
         for (int i = scrollOffset; i < endIndex; i++) {
-            ChecklistEntry entry = entries.get(i);
             int y = START_Y + ((i - scrollOffset) * ROW_HEIGHT);
-            drawChecklistRow(context, entry, y);
+            drawChecklistRow(context, rows.get(i), y);
         }
 
         // Scroll indicator
-        if (entries.size() > maxVisible) {
-            String scrollText = "§7(" + (scrollOffset + 1) + "-" + endIndex + " of " + entries.size() + ") §eScroll for more";
+        if (rows.size() > maxVisible) {
+            String scrollText = "§7(" + (scrollOffset + 1) + "-" + endIndex + " of " + rows.size() + ") §eScroll for more";
             context.drawTextWithShadow(this.textRenderer, scrollText, 20, START_Y + (maxVisible * ROW_HEIGHT) + 5, 0xFFFFFFFF);
 
             // Draw scrollbar
@@ -739,77 +603,24 @@ public class ArmorChecklistScreen extends ModScreen {
             int scrollbarY = START_Y;
             int scrollbarHeight = maxVisible * ROW_HEIGHT;
             ScrollbarRenderer.renderVerticalScrollbar(context, scrollbarX, scrollbarY, scrollbarHeight,
-                scrollOffset, entries.size(), maxVisible);
+                scrollOffset, rows.size(), maxVisible);
         }
     }
 
-    private void drawChecklistRow(DrawContext context, ChecklistEntry entry, int y) {
-        // Draw hex color box (50px wide to fit hex code)
-        ColorMath.RGB rgb = ColorMath.hexToRgb(entry.hex);
-        int color = 0xFF000000 | (rgb.r << 16) | (rgb.g << 8) | rgb.b;
-        context.fill(20, y, 70, y + 20, color);
-
-        // Draw hex text on the color box
-        boolean isDark = ColorMath.isColorDark(entry.hex);
-        int textColor = isDark ? 0xFFFFFFFF : 0xFF000000;
-        String hexText = "#" + entry.hex;
-        context.drawTextWithShadow(this.textRenderer, hexText, 22, y + 6, textColor);
-
-        // Draw armor set name
-        String displayName = entry.name;
-        if (displayName.length() > 25) {
-            displayName = displayName.substring(0, 25) + "...";
-        }
-        context.drawTextWithShadow(this.textRenderer, displayName, 80, y + 6, 0xFFFFFFFF);
-
-        // Draw piece match boxes (helmet, chestplate, leggings, boots)
-        int[] xPositions = {250, 370, 490, 610};
-        String[] pieceTypes = {"helmet", "chestplate", "leggings", "boots"};
-
-        for (int i = 0; i < pieceTypes.length; i++) {
-            String pieceType = pieceTypes[i];
-            int boxX = xPositions[i];
-
-            // Check if this piece is required for this armor set
-            boolean isRequired = entry.pieces.contains(pieceType);
-
-            // Only hide non-required pieces when piece filter is enabled
-            if (!isRequired && pieceToPieceMode) {
-                // Gray out - not needed for this set (only when filter is ON)
-                context.fill(boxX, y, boxX + 100, y + 20, 0xB0606060);
-                context.drawTextWithShadow(this.textRenderer, "§8-", boxX + 45, y + 6, 0xFF666666);
-                continue;
-            }
-
-            // Check if we have a match
-            ArmorPiece match = entry.foundPieces.get(pieceType);
-
-            if (match == null) {
-                // No match found - RED
-                context.fill(boxX, y, boxX + 100, y + 20, 0xFFC80000);
-                context.drawTextWithShadow(this.textRenderer, "§c✗ Missing", boxX + 5, y + 6, 0xFFFFFFFF);
-            } else {
-                // Match found - show with quality color
-                double deltaE = ColorMath.calculateDeltaE(entry.hex, match.getHexcode());
-
-                int qualityColor;
-                if (deltaE == 0) {
-                    qualityColor = 0xFF800080; // Purple for exact match
-                } else if (deltaE <= 2) {
-                    qualityColor = 0xFF00C800; // Green for great match
-                } else {
-                    qualityColor = 0xFFC8C800; // Yellow for good match
-                }
+    private void drawChecklistRow(DrawContext context, RowView row, int y) {
+        // Hex color box with the hex on it
+        context.fill(20, y, 70, y + 20, row.swatchColor);
+        context.drawTextWithShadow(this.textRenderer, row.hexText, 22, y + 6, row.hexTextColor);
 
-                context.fill(boxX, y, boxX + 100, y + 20, qualityColor);
+        // Armor set name
+        context.drawTextWithShadow(this.textRenderer, row.displayName, 80, y + 6, 0xFFFFFFFF);
 
-                // Show piece name (truncated)
-                String pieceHex = match.getHexcode();
-                if (pieceHex.length() > 10) {
-                    pieceHex = pieceHex.substring(0, 10) + "...";
-                }
-                context.drawTextWithShadow(this.textRenderer, pieceHex, boxX + 3, y + 6, 0xFFFFFFFF);
-            }
+        // Piece match boxes (helmet, chestplate, leggings, boots)
+        for (int i = 0; i < row.slots.length; i++) {
+            SlotView slot = row.slots[i];
+            int boxX = PIECE_COLUMN_X[i];
+            context.fill(boxX, y, boxX + 100, y + 20, slot.fillColor);
+            context.drawTextWithShadow(this.textRenderer, slot.text, boxX + slot.textOffset, y + 6, slot.textColor);
         }
     }
 
@@ -1026,6 +837,9 @@ public class ArmorChecklistScreen extends ModScreen {
 
     @Override
     public void close() {
+        // Persist the categories calculated while browsing (only changed ones, written off-thread)
+        ChecklistCache.getInstance().save();
+
         if (this.client != null) {
             this.client.setScreen(parent);
         }
@@ -4,62 +4,167 @@ package schnerry.seymouranalyzer.gui;
  * Best Sets GUI - finds the truly optimal best matching 4-piece armor sets
  *
  * Algorithm:
- * 1. Generates ALL valid 4-piece combinations (where all pairwise ΔE ≤ 5.0)
- * 2. Sorts all combinations by average ΔE (best to worst)
- * 3. Greedily selects non-overlapping sets from the sorted list
+ * 1. Builds the pairwise ΔE ≤ 5.0 compatibility graph between piece types (BestSetsFinder)
+ * 2. Enumerates ALL valid 4-piece combinations as cliques of that graph, keeping only the best by average ΔE
+ * 3. Greedily selects non-overlapping sets from them (best to worst)
  *
- * This guarantees the best possible sets based on average ΔE,
- * with each piece used only once across all selected sets.
+ * The result is the same as sorting every valid set first, which guarantees the best possible
+ * sets based on average ΔE, with each piece used only once across all selected sets.
+ *
+ * Target mode (/seymour bestsets <hex|stage> [3p] or the target field) instead lists the sets whose pieces
+ * are all within ΔE 5 of a chosen color, closest first (TargetSetQuery). 3-piece sets leave out the helmet.
  */
 public class BestSetsScreen extends ModScreen {
     private List<ArmorSet> bestSets = new ArrayList<>();
     private boolean isCalculating = false;
-    private int calculationProgress = 0;
+    private boolean loadingCached = false;
+    private volatile TaskProgress calculationTask = null;
     private int scrollOffset = 0;
     private ContextMenu contextMenu = null;
+    private TextFieldWidget targetField;
 
-    // Static cache to persist results across GUI opens/closes
-    private static List<ArmorSet> cachedBestSets = null;
-    private static int cachedCollectionSize = -1;
-    private static long cacheTimestamp = 0;
+    // Target mode, targetHex is null when showing the regular best sets
+    private String targetHex = null;
+    private String targetLabel = null;
+    private boolean threePiece = false;
+    // Bumped per target query so a slower older query can't overwrite a newer one (client thread only)
+    private int targetQuery = 0;
+    private boolean targetQueryRunning = false;
 
     private static final int MAX_SETS = 100;
-    private static final double MAX_DELTA_E = 5.0;
+    private static final double MAX_DELTA_E = BestSetsFinder.MAX_DELTA_E;
     private static final int ROW_HEIGHT = 80;
     private static final int START_Y = 90;
-    private static final long CACHE_VALIDITY_MS = 300000; // 5 minutes
 
     public BestSetsScreen(Screen parent) {
         super(Text.literal("Best Matching Sets"), parent);
 
-        // Load from cache if valid
-        int currentSize = CollectionManager.getInstance().getCollection().size();
-        long currentTime = System.currentTimeMillis();
+        loadCachedSets();
+    }
+
+    /**
+     * Load the persisted result if it was computed for the current collection
+     * Fingerprinting the collection and reading the cache file happen off the render thread, the sets are
+     * shown once loaded unless a calculation or target query replaced them in the meantime.
+     */
+    private void loadCachedSets() {
+        loadingCached = true;
+        CompletableFuture.supplyAsync(() -> {
+            CollectionManager manager = CollectionManager.getInstance();
+            return BestSetsCache.getInstance().getSelected(manager.computeFingerprint(), manager.getCollection());
+        }).whenComplete((cached, error) -> MinecraftClient.getInstance().execute(() -> {
+            loadingCached = false;
+            if (error != null) {
+                error.printStackTrace();
+                return;
+            }
+            if (cached == null || isCalculating || targetHex != null || !bestSets.isEmpty()) return;
 
-        if (cachedBestSets != null &&
-            cachedCollectionSize == currentSize &&
-            (currentTime - cacheTimestamp) < CACHE_VALIDITY_MS) {
-            bestSets = new ArrayList<>(cachedBestSets);
+            List<ArmorSet> sets = new ArrayList<>(cached.size());
+            for (ArmorPiece[] set : cached) {
+                sets.add(new ArmorSet(set, Double.NaN));
+            }
+            bestSets = sets;
             System.out.println("[Best Sets] Loaded " + bestSets.size() + " sets from cache");
-        }
+        }));
+    }
+
+    /**
+     * Open in target mode: sets with every piece near the given color
+     * @param label Shown in the title, the stage name or the hex
+     */
+    public BestSetsScreen(Screen parent, String targetHex, boolean threePiece, String label) {
+        super(Text.literal("Best Matching Sets"), parent);
+        this.threePiece = threePiece;
+        runTargetQuery(targetHex, label);
     }
 
     @Override
     protected void init() {
         super.init();
 
-        // Calculate button - updates text based on isCalculating state
+        // Calculate button - turns into a cancel button while calculating
         ButtonWidget calculateButton = ButtonWidget.builder(
-            Text.literal(isCalculating ? "§7Calculating..." : "§aCalculate Best Sets"),
+            Text.literal(isCalculating ? "§cCancel Calculation" : "§aCalculate Best Sets"),
             button -> {
                 if (!isCalculating) {
+                    targetHex = null;
+                    // Drop the result of a target query still running
+                    targetQuery++;
+                    targetQueryRunning = false;
                     calculateBestSets();
+                } else if (calculationTask != null) {
+                    calculationTask.cancel();
                 }
             })
             .dimensions(this.width / 2 - 75, 40, 150, 25)
             .build();
-        calculateButton.active = !isCalculating; // Disable button while calculating
         this.addDrawableChild(calculateButton);
+
+        // Target query: hex field, 3-piece toggle and search button
+        String previousTarget = targetField != null ? targetField.getText() : (targetHex != null && targetLabel.startsWith("#") ? targetHex : "");
+        targetField = new TextFieldWidget(this.textRenderer, this.width - 260, 42, 90, 20, Text.literal("Target"));
+        targetField.setMaxLength(7);
+        targetField.setPlaceholder(Text.literal("Target hex..."));
+        targetField.setText(previousTarget);
+        this.addDrawableChild(targetField);
+
+        ButtonWidget threePieceButton = ButtonWidget.builder(
+            Text.literal(threePiece ? "§a3p" : "§74p"),
+            button -> {
+                threePiece = !threePiece;
+                button.setMessage(Text.literal(threePiece ? "§a3p" : "§74p"));
+                if (targetHex != null) {
+                    runTargetQuery(targetHex, targetLabel);
+                }
+            })
+            .dimensions(this.width - 165, 42, 30, 20)
+            .build();
+        this.addDrawableChild(threePieceButton);
+
+        ButtonWidget nearButton = ButtonWidget.builder(
+            Text.literal("Find Near"),
+            button -> {
+                String hex = targetField.getText().replace("#", "").toUpperCase();
+                if (hex.matches("^[0-9A-F]{6}$") && !isCalculating) {
+                    runTargetQuery(hex, "#" + hex);
+                }
+            })
+            .dimensions(this.width - 130, 42, 70, 20)
+            .build();
+        this.addDrawableChild(nearButton);
+    }
+
+    /**
+     * Switch to target mode and list the sets near the color
+     * The query (and an index rebuild after collection changes) runs in the background, only the newest
+     * query's result is shown.
+     */
+    private void runTargetQuery(String hex, String label) {
+        this.targetHex = hex;
+        this.targetLabel = label;
+        bestSets = new ArrayList<>();
+        scrollOffset = 0;
+
+        int query = ++targetQuery;
+        boolean queryThreePiece = threePiece;
+        targetQueryRunning = true;
+        CompletableFuture.supplyAsync(() -> TargetSetQuery.getInstance().query(hex, queryThreePiece, MAX_SETS))
+            .whenComplete((found, error) -> MinecraftClient.getInstance().execute(() -> {
+                if (query != targetQuery) return;
+                targetQueryRunning = false;
+                if (error != null) {
+                    error.printStackTrace();
+                    return;
+                }
+
+                List<ArmorSet> sets = new ArrayList<>(found.size());
+                for (TargetSetQuery.TargetSet set : found) {
+                    sets.add(new ArmorSet(set.pieces, set.targetDeltaE));
+                }
+                bestSets = sets;
+                scrollOffset = 0;
+            }));
     }
 
     @Override
@@ -67,11 +172,13 @@ public class BestSetsScreen extends ModScreen {
         super.render(context, mouseX, mouseY, delta);
 
         // Title
-        String title = "§l§nBest Matching Sets";
+        String title = targetHex != null ? "§l§nBest Sets near " + targetLabel : "§l§nBest Matching Sets";
         int titleWidth = this.textRenderer.getWidth(title);
         context.drawTextWithShadow(this.textRenderer, title, this.width / 2 - titleWidth / 2, 10, 0xFFFFFFFF);
 
         // Progress bar
+        TaskProgress task = calculationTask;
+        int calculationProgress = task != null ? (int) (task.getFraction() * 100) : 0;
         if (isCalculating && calculationProgress > 0) {
             int progressBarX = this.width / 2 - 100;
             int progressBarY = 70;
@@ -98,7 +205,16 @@ public class BestSetsScreen extends ModScreen {
         }
 
         // Draw sets or instructions
-        if (bestSets.isEmpty() && !isCalculating) {
+        if (bestSets.isEmpty() && targetHex != null && targetQueryRunning) {
+            String line = "§7Searching sets near " + targetLabel + "...";
+            context.drawTextWithShadow(this.textRenderer, line, this.width / 2 - this.textRenderer.getWidth(line) / 2, 100, 0xFF888888);
+        } else if (bestSets.isEmpty() && targetHex != null) {
+            String line = "§7No " + (threePiece ? "3-piece" : "4-piece") + " sets with every piece within ΔE " + MAX_DELTA_E + " of " + targetLabel;
+            context.drawTextWithShadow(this.textRenderer, line, this.width / 2 - this.textRenderer.getWidth(line) / 2, 100, 0xFF888888);
+        } else if (bestSets.isEmpty() && loadingCached && !isCalculating) {
+            String line = "§7Loading saved sets...";
+            context.drawTextWithShadow(this.textRenderer, line, this.width / 2 - this.textRenderer.getWidth(line) / 2, 100, 0xFF888888);
+        } else if (bestSets.isEmpty() && !isCalculating) {
             String line1 = "§7Click button to calculate best matching sets";
             String line2 = "§7This will find 4-piece sets with lowest color difference";
             String line3 = "§7Each piece is used only ONCE across all sets";
@@ -107,7 +223,9 @@ public class BestSetsScreen extends ModScreen {
             context.drawTextWithShadow(this.textRenderer, line2, this.width / 2 - this.textRenderer.getWidth(line2) / 2, 115, 0xFF888888);
             context.drawTextWithShadow(this.textRenderer, line3, this.width / 2 - this.textRenderer.getWidth(line3) / 2, 130, 0xFF888888);
         } else if (!bestSets.isEmpty()) {
-            String setsInfo = "§7Top " + bestSets.size() + " sets (ΔE ≤ " + MAX_DELTA_E + ") - Each piece used once";
+            String setsInfo = targetHex != null
+                ? "§7Top " + bestSets.size() + (threePiece ? " 3-piece" : "") + " sets near #" + targetHex + " (every piece ΔE ≤ " + MAX_DELTA_E + ") - Each piece used once"
+                : "§7Top " + bestSets.size() + " sets (ΔE ≤ " + MAX_DELTA_E + ") - Each piece used once";
             context.drawTextWithShadow(this.textRenderer, setsInfo, 20, START_Y - 10, 0xFF888888);
 
             // Draw visible sets
@@ -143,14 +261,17 @@ public class BestSetsScreen extends ModScreen {
         int boxY = rowY + 15;
         int boxSize = 24;
 
-        ColorMath.RGB helmetRgb = ColorMath.hexToRgb(set.helmet.getHexcode());
         ColorMath.RGB chestRgb = ColorMath.hexToRgb(set.chestplate.getHexcode());
         ColorMath.RGB legsRgb = ColorMath.hexToRgb(set.leggings.getHexcode());
         ColorMath.RGB bootsRgb = ColorMath.hexToRgb(set.boots.getHexcode());
 
-        // Draw color boxes
-        context.fill(boxX, boxY, boxX + boxSize, boxY + boxSize,
-            0xFF000000 | (helmetRgb.r << 16) | (helmetRgb.g << 8) | helmetRgb.b);
+        // Draw color boxes, an empty helmet slot (3-piece set) stays dark
+        int helmetColor = 0xFF3C3C3C;
+        if (set.helmet != null) {
+            ColorMath.RGB helmetRgb = ColorMath.hexToRgb(set.helmet.getHexcode());
+            helmetColor = 0xFF000000 | (helmetRgb.r << 16) | (helmetRgb.g << 8) | helmetRgb.b;
+        }
+        context.fill(boxX, boxY, boxX + boxSize, boxY + boxSize, helmetColor);
         context.fill(boxX + boxSize, boxY, boxX + boxSize * 2, boxY + boxSize,
             0xFF000000 | (chestRgb.r << 16) | (chestRgb.g << 8) | chestRgb.b);
         context.fill(boxX, boxY + boxSize, boxX + boxSize, boxY + boxSize * 2,
@@ -172,8 +293,12 @@ public class BestSetsScreen extends ModScreen {
         context.drawTextWithShadow(this.textRenderer, "§8B", boxX + boxSize + 3, boxY + boxSize + 5, 0xFFFFFFFF);
 
         // Piece info (left side)
-        context.drawTextWithShadow(this.textRenderer, "§7Helmet: §f" + set.helmet.getPieceName(), 80, rowY, 0xFFFFFFFF);
-        context.drawTextWithShadow(this.textRenderer, "§8  #" + set.helmet.getHexcode().toUpperCase(), 80, rowY + 12, 0xFFFFFFFF);
+        if (set.helmet != null) {
+            context.drawTextWithShadow(this.textRenderer, "§7Helmet: §f" + set.helmet.getPieceName(), 80, rowY, 0xFFFFFFFF);
+            context.drawTextWithShadow(this.textRenderer, "§8  #" + set.helmet.getHexcode().toUpperCase(), 80, rowY + 12, 0xFFFFFFFF);
+        } else {
+            context.drawTextWithShadow(this.textRenderer, "§7Helmet: §8none (3-piece)", 80, rowY, 0xFFFFFFFF);
+        }
 
         context.drawTextWithShadow(this.textRenderer, "§7Chest: §f" + set.chestplate.getPieceName(), 80, rowY + 24, 0xFFFFFFFF);
         context.drawTextWithShadow(this.textRenderer, "§8  #" + set.chestplate.getHexcode().toUpperCase(), 80, rowY + 36, 0xFFFFFFFF);
@@ -191,6 +316,9 @@ public class BestSetsScreen extends ModScreen {
         context.drawTextWithShadow(this.textRenderer, "§7W/o worst: §b" + String.format("%.2f", set.avgWithout1), 770, rowY + 12, 0xFFFFFFFF);
         context.drawTextWithShadow(this.textRenderer, "§7W/o worst 2: §d" + String.format("%.2f", set.avgWithout2), 770, rowY + 24, 0xFFFFFFFF);
         context.drawTextWithShadow(this.textRenderer, "§7Worst: §c" + set.worstPieceType, 770, rowY + 36, 0xFFFFFFFF);
+        if (!Double.isNaN(set.targetDeltaE)) {
+            context.drawTextWithShadow(this.textRenderer, "§7Target ΔE: §a" + String.format("%.2f", set.targetDeltaE), 770, rowY + 48, 0xFFFFFFFF);
+        }
 
         // Separator line
         context.fill(20, rowY + 75, this.width - 40, rowY + 76, 0xFF3C3C3C);
@@ -227,7 +355,7 @@ public class BestSetsScreen extends ModScreen {
             int rowY = START_Y + (i * ROW_HEIGHT);
 
             // Check helmet hex
-            if (mouseX >= 80 && mouseX <= 230 && mouseY >= rowY + 10 && mouseY <= rowY + 24) {
+            if (set.helmet != null && mouseX >= 80 && mouseX <= 230 && mouseY >= rowY + 10 && mouseY <= rowY + 24) {
                 showContextMenu(set.helmet.getHexcode(), mouseX, mouseY);
                 return;
             }
@@ -308,8 +436,9 @@ public class BestSetsScreen extends ModScreen {
 
     private void calculateBestSets() {
         isCalculating = true;
-        calculationProgress = 0;
         bestSets.clear();
+        TaskProgress task = TaskProgress.start("Best Sets", 0);
+        calculationTask = task;
 
         // Re-init to update button state
         if (this.client != null) {
@@ -319,12 +448,15 @@ public class BestSetsScreen extends ModScreen {
         // Run calculation asynchronously
         CompletableFuture.runAsync(() -> {
             try {
-                performCalculation();
+                performCalculation(task);
+            } catch (CancellationException e) {
+                System.out.println("[Best Sets] Calculation cancelled");
             } catch (Exception e) {
                 e.printStackTrace();
             } finally {
+                task.close();
+                calculationTask = null;
                 isCalculating = false;
-                calculationProgress = 100;
 
                 // Re-init to update button state back
                 if (this.client != null) {
@@ -334,179 +466,42 @@ public class BestSetsScreen extends ModScreen {
         });
     }
 
-    private void performCalculation() {
+    private void performCalculation(TaskProgress task) {
         long startTime = System.currentTimeMillis();
 
-        // Categorize pieces by type
         Map<String, ArmorPiece> collection = CollectionManager.getInstance().getCollection();
+        long fingerprint = CollectionManager.getInstance().computeFingerprint();
 
-        List<PieceWithLab> helmets = new ArrayList<>();
-        List<PieceWithLab> chestplates = new ArrayList<>();
-        List<PieceWithLab> leggings = new ArrayList<>();
-        List<PieceWithLab> boots = new ArrayList<>();
-
-        calculationProgress = 5;
+        // Build the pairwise deltaE <= 5 compatibility graph (LAB grid per piece type)
+        BestSetsFinder finder = new BestSetsFinder(collection.values());
 
-        // Pre-calculate LAB values for ALL pieces (huge optimization - done once instead of 6x per set)
-        for (ArmorPiece piece : collection.values()) {
-            if (piece.getHexcode() == null || piece.getPieceName() == null) continue;
+        System.out.println("[Best Sets] Pieces: " + finder.count(BestSetsFinder.HELMET) + " helmets, " +
+                          finder.count(BestSetsFinder.CHESTPLATE) + " chests, " + finder.count(BestSetsFinder.LEGGINGS) +
+                          " legs, " + finder.count(BestSetsFinder.BOOTS) + " boots");
 
-            String type = getPieceType(piece.getPieceName());
-            PieceWithLab pwl = new PieceWithLab(piece);
+        // Reuse the persisted candidates when only a few pieces changed (searches around those pieces only)
+        BestSetsCache cache = BestSetsCache.getInstance();
+        BestSetsFinder.Result result = cache.reuse(finder, MAX_SETS, task);
 
-            switch (type) {
-                case "helmet" -> helmets.add(pwl);
-                case "chestplate" -> chestplates.add(pwl);
-                case "leggings" -> leggings.add(pwl);
-                case "boots" -> boots.add(pwl);
-            }
+        // Otherwise search the graph's 4-piece cliques, only the best candidates are kept (bounded per-thread heaps)
+        // Progress follows the helmets searched, cancelling stops the search within a chestplate
+        if (result == null) {
+            result = finder.selectBest(MAX_SETS, task);
         }
+        cache.store(finder, fingerprint, result);
 
-        System.out.println("[Best Sets] Pieces: " + helmets.size() + " helmets, " + chestplates.size() +
-                          " chests, " + leggings.size() + " legs, " + boots.size() + " boots");
-
-        calculationProgress = 10;
-
-        // Pre-filter: Remove pieces that can't possibly match with ANY other piece
-        helmets = filterViablePieces(helmets, Arrays.asList(chestplates, leggings, boots));
-        chestplates = filterViablePieces(chestplates, Arrays.asList(helmets, leggings, boots));
-        leggings = filterViablePieces(leggings, Arrays.asList(helmets, chestplates, boots));
-        boots = filterViablePieces(boots, Arrays.asList(helmets, chestplates, leggings));
-
-        System.out.println("[Best Sets] After filtering: " + helmets.size() + " helmets, " +
-                          chestplates.size() + " chests, " + leggings.size() + " legs, " +
-                          boots.size() + " boots");
-
-        calculationProgress = 15;
-
-        // Generate ALL valid 4-piece combinations and calculate their scores
-        List<ArmorSet> allValidSets = Collections.synchronizedList(new ArrayList<>());
-
-        long totalCombinations = (long) helmets.size() * chestplates.size() * leggings.size() * boots.size();
-        final long[] processedCombinations = {0};
-        final int[] lastProgress = {15};
-
-        System.out.println("[Best Sets] Total theoretical combinations: " + totalCombinations);
-
-        // Make lists final for lambda
-        final List<PieceWithLab> finalChestplates = chestplates;
-        final List<PieceWithLab> finalLeggings = leggings;
-        final List<PieceWithLab> finalBoots = boots;
-
-        // Process in parallel for better performance
-        helmets.parallelStream().forEach(helmet -> {
-            for (PieceWithLab chest : finalChestplates) {
-                // Quick validation - check if helmet-chest pair is within threshold
-                double hcDelta = ColorMath.calculateDeltaEWithLab(helmet.lab, chest.lab);
-                if (hcDelta > MAX_DELTA_E) {
-                    synchronized (processedCombinations) {
-                        processedCombinations[0] += (long) finalLeggings.size() * finalBoots.size();
-                    }
-                    continue;
-                }
-
-                for (PieceWithLab leg : finalLeggings) {
-                    // Check if adding legs keeps us within threshold
-                    double hlDelta = ColorMath.calculateDeltaEWithLab(helmet.lab, leg.lab);
-                    double clDelta = ColorMath.calculateDeltaEWithLab(chest.lab, leg.lab);
-
-                    if (hlDelta > MAX_DELTA_E || clDelta > MAX_DELTA_E) {
-                        synchronized (processedCombinations) {
-                            processedCombinations[0] += finalBoots.size();
-                        }
-                        continue;
-                    }
-
-                    for (PieceWithLab boot : finalBoots) {
-                        synchronized (processedCombinations) {
-                            processedCombinations[0]++;
-
-                            // Update progress every 5000 combinations (cap at 80 for this phase)
-                            if (processedCombinations[0] % 5000 == 0) {
-                                int newProgress = 15 + (int)((processedCombinations[0] * 65.0) / totalCombinations);
-                                newProgress = Math.min(80, newProgress);
-                                if (newProgress > lastProgress[0]) {
-                                    calculationProgress = newProgress;
-                                    lastProgress[0] = newProgress;
-                                }
-                            }
-                        }
-
-                        // Check if all pieces are different (no reuse within a set)
-                        if (helmet.piece.getUuid().equals(chest.piece.getUuid()) ||
-                            helmet.piece.getUuid().equals(leg.piece.getUuid()) ||
-                            helmet.piece.getUuid().equals(boot.piece.getUuid()) ||
-                            chest.piece.getUuid().equals(leg.piece.getUuid()) ||
-                            chest.piece.getUuid().equals(boot.piece.getUuid()) ||
-                            leg.piece.getUuid().equals(boot.piece.getUuid())) {
-                            continue;
-                        }
-
-                        // Check boots deltas
-                        double hbDelta = ColorMath.calculateDeltaEWithLab(helmet.lab, boot.lab);
-                        double cbDelta = ColorMath.calculateDeltaEWithLab(chest.lab, boot.lab);
-                        double lbDelta = ColorMath.calculateDeltaEWithLab(leg.lab, boot.lab);
-
-                        // All pairwise deltas must be within threshold
-                        if (hbDelta > MAX_DELTA_E || cbDelta > MAX_DELTA_E || lbDelta > MAX_DELTA_E) {
-                            continue;
-                        }
-
-                        // Create the set with pre-computed LAB values and deltas
-                        ArmorSet set = new ArmorSet(
-                            helmet.piece, chest.piece, leg.piece, boot.piece,
-                            helmet.lab, chest.lab, leg.lab, boot.lab,
-                            hcDelta, hlDelta, hbDelta, clDelta, cbDelta, lbDelta
-                        );
-
-                        if (set.avgDeltaE <= MAX_DELTA_E) {
-                            allValidSets.add(set);
-                        }
-                    }
-                }
-            }
-        });
-
-        calculationProgress = 85;
-        System.out.println("[Best Sets] Found " + allValidSets.size() + " valid combinations");
-
-        // Sort all valid sets by average delta E (best first)
-        allValidSets.sort(Comparator.comparingDouble(set -> set.avgDeltaE));
-
-        calculationProgress = 90;
-
-        // Select the best non-overlapping sets (greedy selection from sorted list)
+        // Only the selected sets are turned into objects
         List<ArmorSet> selectedSets = new ArrayList<>();
-        Set<String> usedUuids = new HashSet<>();
-
-        for (ArmorSet set : allValidSets) {
-            if (selectedSets.size() >= MAX_SETS) break;
-
-            // Check if any piece in this set is already used
-            if (usedUuids.contains(set.helmet.getUuid()) ||
-                usedUuids.contains(set.chestplate.getUuid()) ||
-                usedUuids.contains(set.leggings.getUuid()) ||
-                usedUuids.contains(set.boots.getUuid())) {
-                continue;
+        for (int[] ids : result.selected) {
+            ArmorPiece[] set = new ArmorPiece[BestSetsFinder.TYPES];
+            for (int type = 0; type < BestSetsFinder.TYPES; type++) {
+                set[type] = finder.piece(type, ids[type]);
             }
-
-            // This set doesn't overlap with any selected set - add it
-            selectedSets.add(set);
-            usedUuids.add(set.helmet.getUuid());
-            usedUuids.add(set.chestplate.getUuid());
-            usedUuids.add(set.leggings.getUuid());
-            usedUuids.add(set.boots.getUuid());
+            selectedSets.add(new ArmorSet(set, Double.NaN));
         }
 
-        calculationProgress = 95;
-
         bestSets = selectedSets;
 
-        // Save to cache
-        cachedBestSets = new ArrayList<>(selectedSets);
-        cachedCollectionSize = collection.size();
-        cacheTimestamp = System.currentTimeMillis();
-
         long endTime = System.currentTimeMillis();
         long totalTimeMs = endTime - startTime;
         double totalTimeSec = totalTimeMs / 1000.0;
@@ -514,63 +509,7 @@ public class BestSetsScreen extends ModScreen {
     }
 
     /**
-     * Pre-filter pieces that can't possibly match with ANY piece from other types
-     */
-    private List<PieceWithLab> filterViablePieces(List<PieceWithLab> pieces, List<List<PieceWithLab>> otherTypesLists) {
-        return pieces.stream()
-            .filter(piece -> {
-                // Check if this piece can match with at least one piece from EACH other type
-                for (List<PieceWithLab> otherType : otherTypesLists) {
-                    boolean hasMatch = otherType.stream()
-                        .anyMatch(other -> ColorMath.calculateDeltaEWithLab(piece.lab, other.lab) <= MAX_DELTA_E);
-                    if (!hasMatch) {
-                        return false; // Can't form a valid set
-                    }
-                }
-                return true;
-            })
-            .collect(Collectors.toList());
-    }
-
-    /**
-     * Wrapper class to hold piece and pre-computed LAB values
-     */
-    private static class PieceWithLab {
-        final ArmorPiece piece;
-        final ColorMath.LAB lab;
-
-        PieceWithLab(ArmorPiece piece) {
-            this.piece = piece;
-            this.lab = ColorMath.hexToLab(piece.getHexcode());
-        }
-    }
-
-    private String getPieceType(String pieceName) {
-        String lower = pieceName.toLowerCase();
-
-        if (lower.contains("helmet") || lower.contains("hat") || lower.contains("hood") ||
-            lower.contains("cap") || lower.contains("crown") || lower.contains("mask")) {
-            return "helmet";
-        }
-        if (lower.contains("chestplate") || lower.contains("tunic") || lower.contains("shirt") ||
-            lower.contains("vest") || lower.contains("jacket") || lower.contains("robe") ||
-            lower.contains("coat") || lower.contains("plate")) {
-            return "chestplate";
-        }
-        if (lower.contains("leggings") || lower.contains("pants") || lower.contains("trousers") ||
-            lower.contains("legs") || lower.contains("shorts")) {
-            return "leggings";
-        }
-        if (lower.contains("boots") || lower.contains("shoes") || lower.contains("sandals") ||
-            lower.contains("sneakers") || lower.contains("feet")) {
-            return "boots";
-        }
-
-        return "unknown";
-    }
-
-    /**
-     * Represents a complete 4-piece armor set with statistics
+     * Represents a 4-piece armor set (or a 3-piece one without helmet) with statistics
      */
     private static class ArmorSet {
         final ArmorPiece helmet;
@@ -582,53 +521,66 @@ public class BestSetsScreen extends ModScreen {
         final double avgWithout1; // Average ΔE without worst piece
         final double avgWithout2; // Average ΔE of best 2 pieces
         final String worstPieceType;
+        final double targetDeltaE; // Average ΔE to the target color, NaN outside target mode
+
+        /**
+         * @param pieces Pieces by type (helmet, chest, legs, boots), the helmet may be null
+         */
+        ArmorSet(ArmorPiece[] pieces, double targetDeltaE) {
+            this.helmet = pieces[BestSetsFinder.HELMET];
+            this.chestplate = pieces[BestSetsFinder.CHESTPLATE];
+            this.leggings = pieces[BestSetsFinder.LEGGINGS];
+            this.boots = pieces[BestSetsFinder.BOOTS];
+            this.targetDeltaE = targetDeltaE;
+
+            // Pairwise deltas between the present pieces
+            double[][] deltas = new double[BestSetsFinder.TYPES][BestSetsFinder.TYPES];
+            List<Double> pairs = new ArrayList<>();
+            for (int first = 0; first < BestSetsFinder.TYPES; first++) {
+                for (int second = first + 1; second < BestSetsFinder.TYPES; second++) {
+                    if (pieces[first] == null || pieces[second] == null) continue;
+                    double deltaE = ColorMath.calculateDeltaE(pieces[first].getHexcode(), pieces[second].getHexcode());
+                    deltas[first][second] = deltaE;
+                    deltas[second][first] = deltaE;
+                    pairs.add(deltaE);
+                }
+            }
 
-        // Constructor with pre-computed LAB values and deltas (MAJOR optimization)
-        ArmorSet(ArmorPiece helmet, ArmorPiece chestplate, ArmorPiece leggings, ArmorPiece boots,
-                 ColorMath.LAB helmetLab, ColorMath.LAB chestLab, ColorMath.LAB legsLab, ColorMath.LAB bootsLab,
-                 double d_hc, double d_hl, double d_hb, double d_cl, double d_cb, double d_lb) {
-            this.helmet = helmet;
-            this.chestplate = chestplate;
-            this.leggings = leggings;
-            this.boots = boots;
-
-            // Average of all pairs (already computed)
-            this.avgDeltaE = (d_hc + d_hl + d_hb + d_cl + d_cb + d_lb) / 6.0;
-
-            // Calculate average delta for each piece
-            double helmetAvg = (d_hc + d_hl + d_hb) / 3.0;
-            double chestAvg = (d_hc + d_cl + d_cb) / 3.0;
-            double legsAvg = (d_hl + d_cl + d_lb) / 3.0;
-            double bootsAvg = (d_hb + d_cb + d_lb) / 3.0;
-
-            // Find worst piece
-            Map<String, Double> pieceAvgs = new HashMap<>();
-            pieceAvgs.put("helmet", helmetAvg);
-            pieceAvgs.put("chestplate", chestAvg);
-            pieceAvgs.put("leggings", legsAvg);
-            pieceAvgs.put("boots", bootsAvg);
-
-            List<Map.Entry<String, Double>> sorted = pieceAvgs.entrySet().stream()
-                .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
-                .collect(Collectors.toList());
-
-            this.worstPieceType = sorted.get(0).getKey();
-
-            // Calculate average without worst piece (best 3 pieces)
-            List<Double> best3Deltas = new ArrayList<>();
-            String worst = sorted.get(0).getKey();
-
-            if (!worst.equals("helmet")) best3Deltas.addAll(Arrays.asList(d_hc, d_hl, d_hb));
-            if (!worst.equals("chestplate")) best3Deltas.addAll(Arrays.asList(d_hc, d_cl, d_cb));
-            if (!worst.equals("leggings")) best3Deltas.addAll(Arrays.asList(d_hl, d_cl, d_lb));
-            if (!worst.equals("boots")) best3Deltas.addAll(Arrays.asList(d_hb, d_cb, d_lb));
-
-            this.avgWithout1 = best3Deltas.stream().mapToDouble(Double::doubleValue).average().orElse(0);
+            // Average of all pairs
+            this.avgDeltaE = pairs.stream().mapToDouble(Double::doubleValue).average().orElse(0);
+
+            // Find worst piece (highest average delta to the others)
+            int worst = -1;
+            double worstAvg = -1;
+            for (int type = 0; type < BestSetsFinder.TYPES; type++) {
+                if (pieces[type] == null) continue;
+                double sum = 0;
+                int count = 0;
+                for (int other = 0; other < BestSetsFinder.TYPES; other++) {
+                    if (other == type || pieces[other] == null) continue;
+                    sum += deltas[type][other];
+                    count++;
+                }
+                double avg = count > 0 ? sum / count : 0;
+                if (avg > worstAvg) {
+                    worstAvg = avg;
+                    worst = type;
+                }
+            }
+            this.worstPieceType = BestSetsFinder.TYPE_NAMES[worst];
+
+            // Calculate average without worst piece (deltas of every other piece)
+            List<Double> bestDeltas = new ArrayList<>();
+            for (int type = 0; type < BestSetsFinder.TYPES; type++) {
+                if (type == worst || pieces[type] == null) continue;
+                for (int other = 0; other < BestSetsFinder.TYPES; other++) {
+                    if (other != type && pieces[other] != null) bestDeltas.add(deltas[type][other]);
+                }
+            }
+            this.avgWithout1 = bestDeltas.stream().mapToDouble(Double::doubleValue).average().orElse(0);
 
             // Calculate average of best 2 pieces (smallest delta)
-            double[] allDeltas = {d_hc, d_hl, d_hb, d_cl, d_cb, d_lb};
-            Arrays.sort(allDeltas);
-            this.avgWithout2 = allDeltas[0]; // Best pair
+            this.avgWithout2 = pairs.stream().mapToDouble(Double::doubleValue).min().orElse(0); // Best pair
         }
     }
 
@@ -0,0 +1,456 @@
+package schnerry.seymouranalyzer.gui;
+
+import schnerry.seymouranalyzer.SeymourAnalyzer;
+import schnerry.seymouranalyzer.data.ArmorPiece;
+import schnerry.seymouranalyzer.util.ColorMath;
+import schnerry.seymouranalyzer.util.IntList;
+import schnerry.seymouranalyzer.util.LabGrid;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Query engine behind the database screen's search, filters and sorting
+ * Every piece gets its lowercase name/hex/match and formatted ΔE once, plus a trigram index over those
+ * fields, so a text search only verifies the pieces that contain all of the query's trigrams. Hex searches
+ * use a LAB grid, sort orders are ranked once per column. Queries run on a background thread after a short
+ * debounce, superseded queries are dropped, and results come back as a sorted array of piece ids.
+ * Pieces are shared with the screen and never written to, per-query values (hex search distances) travel in the Result.
+ */
+final class DatabaseQueryEngine {
+    private static final ScheduledExecutorService QUERY_EXECUTOR = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "DatabaseQuery");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private static final double HEX_SEARCH_DELTA_E = 5.0;
+
+    private final ArmorPiece[] pieces;
+    private final Predicate<String> isFade;
+
+    // Built on the query thread by the first query
+    private String[] names;
+    private String[] hexes;
+    private String[] upperHexes;
+    private String[] matches;
+    private String[] deltaTexts;
+    // Pieces with the same hex share a group, dupes are counted per query since pieces can be removed
+    private int[] hexGroups;
+    private int hexGroupCount;
+    private boolean[] fades;
+    private Map<Long, int[]> trigrams;
+    private LabGrid grid;
+    // Sort column -> rank per piece id, equal keys share a rank
+    private final Map<String, int[]> ranks = new HashMap<>();
+
+    // Guarded by this
+    private final boolean[] removed;
+    private ScheduledFuture<?> pending = null;
+    private long generation = 0;
+
+    /**
+     * Search, filter and sort settings of one query
+     */
+    static final class Query {
+        final String text;
+        final String hex;
+        final boolean dupesOnly;
+        final boolean showFades;
+        final String sortColumn;
+        final boolean ascending;
+
+        /**
+         * @param hex Hex search (6 uppercase digits), or null
+         * @param sortColumn Column to sort by, or null for the initial order
+         */
+        Query(String text, String hex, boolean dupesOnly, boolean showFades, String sortColumn, boolean ascending) {
+            this.text = text;
+            this.hex = hex;
+            this.dupesOnly = dupesOnly;
+            this.showFades = showFades;
+            this.sortColumn = sortColumn;
+            this.ascending = ascending;
+        }
+    }
+
+    /**
+     * Query result, a read-only list view over the matching piece ids in display order
+     * With a hex search it also holds every listed piece's ΔE and absolute distance to the searched color
+     */
+    static final class Result extends AbstractList<ArmorPiece> implements RandomAccess {
+        private final ArmorPiece[] pieces;
+        private final int[] ids;
+        // Parallel to ids, null without a hex search
+        private final double[] searchDeltaE;
+        private final int[] searchDistance;
+
+        private Result(ArmorPiece[] pieces, int[] ids, double[] searchDeltaE, int[] searchDistance) {
+            this.pieces = pieces;
+            this.ids = ids;
+            this.searchDeltaE = searchDeltaE;
+            this.searchDistance = searchDistance;
+        }
+
+        @Override
+        public ArmorPiece get(int index) {
+            return pieces[ids[index]];
+        }
+
+        boolean hasSearchDistances() {
+            return searchDeltaE != null;
+        }
+
+        double getSearchDeltaE(int index) {
+            return searchDeltaE[index];
+        }
+
+        int getSearchDistance(int index) {
+            return searchDistance[index];
+        }
+
+        @Override
+        public int size() {
+            return ids.length;
+        }
+    }
+
+    /**
+     * @param pieces Pieces in their initial display order
+     * @param isFade Whether a match name belongs to a fade dye
+     */
+    DatabaseQueryEngine(List<ArmorPiece> pieces, Predicate<String> isFade) {
+        this.pieces = pieces.toArray(new ArmorPiece[0]);
+        this.isFade = isFade;
+        this.removed = new boolean[this.pieces.length];
+    }
+
+    /**
+     * Evaluate a query on the query thread, replacing any query that hasn't finished yet
+     * @param delayMs Debounce, the query only runs if no other one was submitted in the meantime
+     * @param onResult Called on the query thread, only for the latest query
+     */
+    synchronized void submit(Query query, long delayMs, Consumer<Result> onResult) {
+        long current = ++generation;
+        if (pending != null) {
+            pending.cancel(false);
+        }
+        pending = QUERY_EXECUTOR.schedule(() -> {
+            try {
+                Result result = evaluate(query, current);
+                if (result != null) {
+                    onResult.accept(result);
+                }
+            } catch (Exception e) {
+                SeymourAnalyzer.LOGGER.error("Database query failed", e);
+            }
+        }, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Leave a removed piece out of all further results
+     */
+    synchronized void remove(String uuid) {
+        for (int id = 0; id < pieces.length; id++) {
+            if (uuid.equals(pieces[id].getUuid())) {
+                removed[id] = true;
+            }
+        }
+    }
+
+    private synchronized boolean isCurrent(long queryGeneration) {
+        return queryGeneration == generation;
+    }
+
+    private synchronized boolean[] removedSnapshot() {
+        return removed.clone();
+    }
+
+    /**
+     * @return The result, or null if a newer query was submitted while evaluating
+     */
+    private Result evaluate(Query query, long queryGeneration) {
+        ensureIndexed();
+        boolean[] excluded = removedSnapshot();
+
+        int[] groupSizes = null;
+        if (query.dupesOnly) {
+            groupSizes = new int[hexGroupCount];
+            for (int id = 0; id < pieces.length; id++) {
+                if (!excluded[id]) groupSizes[hexGroups[id]]++;
+            }
+        }
+
+        // Text search narrows the candidates first, ids stay ascending
+        int[] candidates = query.text.isEmpty() ? null : searchText(query.text);
+        if (!isCurrent(queryGeneration)) return null;
+
+        // ΔE to the hex search color, NaN when out of range
+        double[] searchDeltaE = null;
+        if (query.hex != null) {
+            searchDeltaE = searchHex(query.hex);
+        }
+
+        IntList kept = new IntList();
+        int count = candidates != null ? candidates.length : pieces.length;
+        for (int i = 0; i < count; i++) {
+            int id = candidates != null ? candidates[i] : i;
+            if (excluded[id]) continue;
+            if (groupSizes != null && groupSizes[hexGroups[id]] < 2) continue;
+            if (!query.showFades && fades[id]) continue;
+            if (searchDeltaE != null && Double.isNaN(searchDeltaE[id])) continue;
+            kept.add(id);
+        }
+        int[] ids = kept.toArray();
+        if (!isCurrent(queryGeneration)) return null;
+
+        if ("distance".equals(query.sortColumn)) {
+            sortByDistance(ids, searchDeltaE, query.ascending);
+        } else if (query.sortColumn != null) {
+            sortByRank(ids, getRanks(query.sortColumn), query.ascending);
+        }
+
+        // Closest column values in display order, only the kept pieces need the absolute distance
+        double[] resultDeltaE = null;
+        int[] resultDistance = null;
+        if (searchDeltaE != null) {
+            resultDeltaE = new double[ids.length];
+            resultDistance = new int[ids.length];
+            for (int i = 0; i < ids.length; i++) {
+                resultDeltaE[i] = searchDeltaE[ids[i]];
+                resultDistance[i] = ColorMath.calculateAbsoluteDistance(query.hex, pieces[ids[i]].getHexcode());
+            }
+        }
+        return new Result(pieces, ids, resultDeltaE, resultDistance);
+    }
+
+    /**
+     * Ids of the pieces whose name, hex, match or formatted ΔE contain the text (or match a hex wildcard like FFXX00)
+     */
+    private int[] searchText(String text) {
+        String upper = text.toUpperCase();
+        IntList found = new IntList();
+
+        // Hex pattern with wildcards (X represents any hex digit)
+        if (upper.contains("X") && upper.length() == 6 && upper.matches("[0-9A-FX]+")) {
+            for (int id = 0; id < pieces.length; id++) {
+                if (matchesWildcard(upperHexes[id], upper)) found.add(id);
+            }
+            return found.toArray();
+        }
+
+        String lower = text.toLowerCase();
+        int[] candidates = lower.length() >= 3 ? trigramCandidates(lower) : null;
+        int count = candidates != null ? candidates.length : pieces.length;
+        for (int i = 0; i < count; i++) {
+            int id = candidates != null ? candidates[i] : i;
+            if (names[id].contains(lower) || hexes[id].contains(lower)
+                || (matches[id] != null && (matches[id].contains(lower) || deltaTexts[id].contains(lower)))) {
+                found.add(id);
+            }
+        }
+        return found.toArray();
+    }
+
+    private static boolean matchesWildcard(String hex, String pattern) {
+        if (hex.length() != 6) return false;
+        for (int i = 0; i < 6; i++) {
+            char p = pattern.charAt(i);
+            char c = hex.charAt(i);
+            if (p == 'X' ? Character.digit(c, 16) < 0 : p != c) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Pieces containing every trigram of the text, a superset of the pieces containing the text
+     */
+    private int[] trigramCandidates(String lower) {
+        List<int[]> postings = new ArrayList<>();
+        for (int i = 0; i + 3 <= lower.length(); i++) {
+            int[] ids = trigrams.get(trigramKey(lower, i));
+            if (ids == null) return new int[0];
+            postings.add(ids);
+        }
+
+        // Intersect shortest first, the candidate list only shrinks
+        postings.sort(Comparator.comparingInt(ids -> ids.length));
+        int[] result = postings.get(0);
+        for (int p = 1; p < postings.size() && result.length > 0; p++) {
+            result = intersect(result, postings.get(p));
+        }
+        return result;
+    }
+
+    private static int[] intersect(int[] first, int[] second) {
+        int[] result = new int[Math.min(first.length, second.length)];
+        int size = 0;
+        int i = 0, j = 0;
+        while (i < first.length && j < second.length) {
+            if (first[i] < second[j]) {
+                i++;
+            } else if (first[i] > second[j]) {
+                j++;
+            } else {
+                result[size++] = first[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * ΔE of every piece within range of the color (NaN for the rest)
+     */
+    private double[] searchHex(String hex) {
+        double[] deltas = new double[pieces.length];
+        Arrays.fill(deltas, Double.NaN);
+
+        ColorMath.LAB lab = ColorMath.hexToLab(hex);
+        // Slightly larger radius so the exact check below decides the boundary
+        grid.forEachWithin(lab, HEX_SEARCH_DELTA_E + 1e-9, id -> {
+            double deltaE = grid.distance(id, lab.getL(), lab.getA(), lab.getB());
+            if (deltaE > HEX_SEARCH_DELTA_E) return;
+            deltas[id] = deltaE;
+        });
+        return deltas;
+    }
+
+    private static void sortByDistance(int[] ids, double[] searchDeltaE, boolean ascending) {
+        if (searchDeltaE == null) return;
+
+        // Hex search results are few, ties keep the initial order
+        Integer[] boxed = new Integer[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            boxed[i] = ids[i];
+        }
+        Comparator<Integer> byDistance = Comparator.comparingDouble(id -> searchDeltaE[id]);
+        Arrays.sort(boxed, (ascending ? byDistance : byDistance.reversed()).thenComparingInt(id -> id));
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = boxed[i];
+        }
+    }
+
+    /**
+     * Sort ids by rank, ties keep the initial order in both directions (like a stable sort)
+     */
+    private static void sortByRank(int[] ids, int[] rank, boolean ascending) {
+        long[] keys = new long[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            long key = ascending ? rank[ids[i]] : Integer.MAX_VALUE - rank[ids[i]];
+            keys[i] = (key << 32) | ids[i];
+        }
+        Arrays.sort(keys);
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = (int) keys[i];
+        }
+    }
+
+    private int[] getRanks(String column) {
+        return ranks.computeIfAbsent(column, this::computeRanks);
+    }
+
+    private int[] computeRanks(String column) {
+        Comparator<Integer> comparator = switch (column) {
+            case "name" -> Comparator.comparing(id -> names[id]);
+            case "match" -> Comparator.comparing(id -> matches[id] != null ? matches[id] : "");
+            case "deltaE" -> Comparator.comparingDouble(id ->
+                pieces[id].getBestMatch() != null ? pieces[id].getBestMatch().deltaE : 999.0
+            );
+            case "absolute" -> Comparator.comparingInt(id ->
+                pieces[id].getBestMatch() != null ? pieces[id].getBestMatch().absoluteDistance : 999
+            );
+            default -> Comparator.comparing(id -> pieces[id].getHexcode());
+        };
+
+        Integer[] order = new Integer[pieces.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, comparator);
+
+        int[] rank = new int[pieces.length];
+        for (int i = 1; i < order.length; i++) {
+            boolean tie = comparator.compare(order[i - 1], order[i]) == 0;
+            rank[order[i]] = tie ? rank[order[i - 1]] : i;
+        }
+        return rank;
+    }
+
+    private void ensureIndexed() {
+        if (names != null) return;
+        long startTime = System.currentTimeMillis();
+
+        int count = pieces.length;
+        String[] nameArray = new String[count];
+        hexes = new String[count];
+        upperHexes = new String[count];
+        matches = new String[count];
+        deltaTexts = new String[count];
+        hexGroups = new int[count];
+        fades = new boolean[count];
+
+        Map<String, Integer> groupsByHex = new HashMap<>();
+        List<ColorMath.LAB> labs = new ArrayList<>(count);
+        Map<Long, IntList> postings = new HashMap<>();
+        for (int id = 0; id < count; id++) {
+            ArmorPiece piece = pieces[id];
+            nameArray[id] = piece.getPieceName().toLowerCase();
+            hexes[id] = piece.getHexcode().toLowerCase();
+            upperHexes[id] = piece.getHexcode().replace("#", "").toUpperCase();
+            if (piece.getBestMatch() != null) {
+                matches[id] = piece.getBestMatch().colorName.toLowerCase();
+                deltaTexts[id] = String.format("%.2f", piece.getBestMatch().deltaE);
+                fades[id] = isFade.test(piece.getBestMatch().colorName);
+            }
+            hexGroups[id] = groupsByHex.computeIfAbsent(piece.getHexcode(), k -> groupsByHex.size());
+            labs.add(ColorMath.hexToLab(piece.getHexcode()));
+
+            addTrigrams(postings, nameArray[id], id);
+            addTrigrams(postings, hexes[id], id);
+            if (matches[id] != null) {
+                addTrigrams(postings, matches[id], id);
+                addTrigrams(postings, deltaTexts[id], id);
+            }
+        }
+        hexGroupCount = groupsByHex.size();
+
+        trigrams = new HashMap<>(postings.size() * 2);
+        for (Map.Entry<Long, IntList> entry : postings.entrySet()) {
+            trigrams.put(entry.getKey(), entry.getValue().toArray());
+        }
+        grid = LabGrid.of(labs, HEX_SEARCH_DELTA_E);
+        // Set last, ensureIndexed checks it
+        names = nameArray;
+
+        SeymourAnalyzer.LOGGER.info("Indexed {} pieces for database search ({} trigrams) in {}ms",
+            count, trigrams.size(), System.currentTimeMillis() - startTime);
+    }
+
+    private static void addTrigrams(Map<Long, IntList> postings, String text, int id) {
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            IntList ids = postings.computeIfAbsent(trigramKey(text, i), k -> new IntList(4));
+            // Ids are added in ascending order, so a repeated trigram of the same piece is the last entry
+            if (ids.isEmpty() || ids.get(ids.size() - 1) != id) {
+                ids.add(id);
+            }
+        }
+    }
+
+    private static long trigramKey(String text, int start) {
+        return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+    }
+}
@@ -7,10 +7,15 @@ package schnerry.seymouranalyzer.gui;
 public class DatabaseScreen extends ModScreen {
     private List<ArmorPiece> allPieces = new ArrayList<>();
     private List<ArmorPiece> filteredPieces = new ArrayList<>();
+    // Latest query result (same list as filteredPieces), holds the Closest column values of a hex search
+    private DatabaseQueryEngine.Result queryResult = null;
+    private DatabaseQueryEngine queryEngine;
     private int scrollOffset = 0;
     private static final int ROW_HEIGHT = 20;
     private static final int HEADER_Y = 50;
     private static final int START_Y = 70;
+    // Typing only queries once the input settles for this long
+    private static final long SEARCH_DEBOUNCE_MS = 120;
 
     // Search and filters
     private TextFieldWidget searchField;
@@ -83,6 +88,7 @@ public class DatabaseScreen extends ModScreen {
 
         Seymouranalyzer.LOGGER.info("Loaded {} pieces into database GUI", allPieces.size());
         filteredPieces = new ArrayList<>(allPieces);
+        queryEngine = new DatabaseQueryEngine(allPieces, this::checkFadeDye);
     }
 
     @Override
@@ -97,14 +103,14 @@ public class DatabaseScreen extends ModScreen {
         searchField = new TextFieldWidget(this.textRenderer, this.width - 255, 8, 235, 20, Text.literal("Search"));
         searchField.setMaxLength(50);
         searchField.setPlaceholder(Text.literal("Search hex/match/delta..."));
-        searchField.setChangedListener(text -> filterAndSort());
+        searchField.setChangedListener(text -> filterAndSortDebounced());
         this.addDrawableChild(searchField);
 
         // Hex search field (below search)
         hexSearchField = new TextFieldWidget(this.textRenderer, this.width - 145, 35, 125, 20, Text.literal("Hex Search"));
         hexSearchField.setMaxLength(6);
         hexSearchField.setPlaceholder(Text.literal("Hex search (ΔE<5)..."));
-        hexSearchField.setChangedListener(text -> filterAndSort());
+        hexSearchField.setChangedListener(text -> filterAndSortDebounced());
         this.addDrawableChild(hexSearchField);
 
         // Checklist button (top left)
@@ -383,7 +389,7 @@ public class DatabaseScreen extends ModScreen {
 
             // Only draw if the row is at least partially visible
             if (currentY + rowHeight > START_Y) {
-                drawPieceRow(context, piece, currentY);
+                drawPieceRow(context, piece, i, currentY);
             }
 
             currentY += rowHeight;
@@ -420,7 +426,7 @@ public class DatabaseScreen extends ModScreen {
         super.render(context, mouseX, mouseY, delta);
     }
 
-    private void drawPieceRow(DrawContext context, ArmorPiece piece, int y) {
+    private void drawPieceRow(DrawContext context, ArmorPiece piece, int index, int y) {
         boolean isExpanded = piece.getUuid().equals(expandedPieceUuid);
 
         // Draw highlight backgrounds first
@@ -521,9 +527,10 @@ public class DatabaseScreen extends ModScreen {
         String hexSearchText = hexSearchField != null ? hexSearchField.getText().replace("#", "") : "";
         boolean showClosestColumn = hexSearchText.length() == 6 && hexSearchText.matches("[0-9A-Fa-f]{6}");
 
-        if (showClosestColumn && piece.getCachedSearchDeltaE() != null && piece.getCachedSearchDistance() != null) {
-            double searchDeltaE = piece.getCachedSearchDeltaE();
-            int searchDistance = piece.getCachedSearchDistance();
+        DatabaseQueryEngine.Result result = queryResult;
+        if (showClosestColumn && result == filteredPieces && result.hasSearchDistances()) {
+            double searchDeltaE = result.getSearchDeltaE(index);
+            int searchDistance = result.getSearchDistance(index);
 
             // Draw highlight behind the Closest column based on deltaE
             int closestHighlight = 0;
@@ -695,6 +702,7 @@ public class DatabaseScreen extends ModScreen {
 
             // Rebuild filtered pieces list
             allPieces.removeIf(p -> p.getUuid().equals(uuid));
+            queryEngine.remove(uuid);
             filterAndSort();
 
             if (client != null && client.player != null) {
@@ -787,144 +795,41 @@ public class DatabaseScreen extends ModScreen {
     }
 
     private void filterAndSort() {
-        // Start with all pieces
-        List<ArmorPiece> result = new ArrayList<>(allPieces);
-
-        // Apply dupes filter first if enabled
-        if (showDupesOnly) {
-            Map<String, Integer> hexCounts = new HashMap<>();
-            for (ArmorPiece piece : result) {
-                String hex = piece.getHexcode();
-                hexCounts.put(hex, hexCounts.getOrDefault(hex, 0) + 1);
-            }
-
-            result = result.stream()
-                .filter(piece -> hexCounts.getOrDefault(piece.getHexcode(), 0) > 1)
-                .collect(Collectors.toList());
-        }
+        submitQuery(0);
+    }
 
-        // Apply fades filter
-        if (!showFades) {
-            result = result.stream()
-                .filter(piece -> {
-                    if (piece.getBestMatch() == null) return true;
-                    return !checkFadeDye(piece.getBestMatch().colorName);
-                })
-                .collect(Collectors.toList());
-        }
+    private void filterAndSortDebounced() {
+        submitQuery(SEARCH_DEBOUNCE_MS);
+    }
 
-        // Apply text search filter
+    /**
+     * Evaluate search, filters and sorting on the query thread, the result replaces the list once ready
+     * Earlier queries that haven't finished are dropped, so only the latest input is ever shown.
+     */
+    private void submitQuery(long delayMs) {
         String searchText = searchField != null ? searchField.getText() : "";
-        if (!searchText.isEmpty()) {
-            String searchLower = searchText.toLowerCase();
-            String searchUpper = searchText.toUpperCase();
-
-            // Check if this is a hex pattern with wildcards (X represents any hex digit)
-            boolean hasWildcard = searchUpper.contains("X") && searchUpper.length() == 6 && searchUpper.matches("[0-9A-FX]+");
-
-            if (hasWildcard) {
-                // Build regex pattern from wildcard search
-                StringBuilder regexPattern = new StringBuilder("^");
-                for (int i = 0; i < 6; i++) {
-                    char c = searchUpper.charAt(i);
-                    if (c == 'X') {
-                        regexPattern.append("[0-9A-F]");
-                    } else {
-                        regexPattern.append(c);
-                    }
-                }
-                regexPattern.append("$");
-                String pattern = regexPattern.toString();
-
-                result = result.stream()
-                    .filter(piece -> {
-                        String hexClean = piece.getHexcode().replace("#", "").toUpperCase();
-                        return hexClean.matches(pattern);
-                    })
-                    .collect(Collectors.toList());
-            } else {
-                // Normal text search
-                result = result.stream()
-                    .filter(piece -> {
-                        String name = piece.getPieceName().toLowerCase();
-                        String hex = piece.getHexcode().toLowerCase();
-
-                        if (name.contains(searchLower) || hex.contains(searchLower)) {
-                            return true;
-                        }
-
-                        if (piece.getBestMatch() != null) {
-                            String match = piece.getBestMatch().colorName.toLowerCase();
-                            if (match.contains(searchLower)) {
-                                return true;
-                            }
-
-                            String delta = String.format("%.2f", piece.getBestMatch().deltaE);
-                            return delta.contains(searchLower);
-                        }
-
-                        return false;
-                    })
-                    .collect(Collectors.toList());
-            }
-        }
 
-        // Apply hex search filter (only with exactly 6 hex digits)
+        // Hex search filter (only with exactly 6 hex digits)
         String hexSearchText = hexSearchField != null ? hexSearchField.getText().toUpperCase().replace("#", "") : "";
         boolean hasActiveHexSearch = hexSearchText.length() == 6 && hexSearchText.matches("[0-9A-F]{6}");
 
         if (hasActiveHexSearch) {
-            final String searchHex = hexSearchText;
-            result = result.stream()
-                .filter(piece -> {
-                    // Calculate and cache deltaE and distance for this search
-                    if (!searchHex.equals(piece.getCachedSearchHex())) {
-                        double deltaE = ColorMath.calculateDeltaE(searchHex, piece.getHexcode());
-                        int distance = ColorMath.calculateAbsoluteDistance(searchHex, piece.getHexcode());
-
-                        piece.setCachedSearchHex(searchHex);
-                        piece.setCachedSearchDeltaE(deltaE);
-                        piece.setCachedSearchDistance(distance);
-                    }
-
-                    return piece.getCachedSearchDeltaE() <= 5.0;
-                })
-                .collect(Collectors.toList());
-
             // Automatically sort by distance when hex search is active
             sortColumn = "distance";
             sortAscending = true;
         }
 
-        // Apply sorting
-        if (sortColumn != null) {
-            result.sort(getComparator(sortColumn, sortAscending));
-        }
-
-        filteredPieces = result;
-        scrollOffset = 0;
-    }
-
-    private Comparator<ArmorPiece> getComparator(String column, boolean ascending) {
-        Comparator<ArmorPiece> comparator = switch (column) {
-            case "name" -> Comparator.comparing(p -> p.getPieceName().toLowerCase());
-            case "hex" -> Comparator.comparing(ArmorPiece::getHexcode);
-            case "match" -> Comparator.comparing(p ->
-                p.getBestMatch() != null ? p.getBestMatch().colorName.toLowerCase() : ""
-            );
-            case "deltaE" -> Comparator.comparingDouble(p ->
-                p.getBestMatch() != null ? p.getBestMatch().deltaE : 999.0
-            );
-            case "absolute" -> Comparator.comparingInt(p ->
-                p.getBestMatch() != null ? p.getBestMatch().absoluteDistance : 999
-            );
-            case "distance" -> Comparator.comparingDouble(p ->
-                p.getCachedSearchDeltaE() != null ? p.getCachedSearchDeltaE() : 999.0
-            );
-            default -> Comparator.comparing(ArmorPiece::getHexcode);
-        };
-
-        return ascending ? comparator : comparator.reversed();
+        DatabaseQueryEngine.Query query = new DatabaseQueryEngine.Query(searchText, hasActiveHexSearch ? hexSearchText : null,
+            showDupesOnly, showFades, sortColumn, sortAscending);
+        queryEngine.submit(query, delayMs, result -> {
+            if (this.client != null) {
+                this.client.execute(() -> {
+                    filteredPieces = result;
+                    queryResult = result;
+                    scrollOffset = 0;
+                });
+            }
+        });
     }
 
     private boolean checkFadeDye(String colorName) {
@@ -1100,11 +1005,11 @@ public class DatabaseScreen extends ModScreen {
     @Override
     public boolean keyPressed(int keyCode, int scanCode, int modifiers) {
         if (searchField != null && searchField.keyPressed(keyCode, scanCode, modifiers)) {
-            filterAndSort();
+            filterAndSortDebounced();
             return true;
         }
         if (hexSearchField != null && hexSearchField.keyPressed(keyCode, scanCode, modifiers)) {
-            filterAndSort();
+            filterAndSortDebounced();
             return true;
         }
         return super.keyPressed(keyCode, scanCode, modifiers);
@@ -1113,11 +1018,11 @@ public class DatabaseScreen extends ModScreen {
     @Override
     public boolean charTyped(char chr, int modifiers) {
         if (searchField != null && searchField.charTyped(chr, modifiers)) {
-            filterAndSort();
+            filterAndSortDebounced();
             return true;
         }
         if (hexSearchField != null && hexSearchField.charTyped(chr, modifiers)) {
-            filterAndSort();
+            filterAndSortDebounced();
             return true;
         }
         return super.charTyped(chr, modifiers);
@@ -0,0 +1,166 @@
+package schnerry.seymouranalyzer.render;
+
+import net.minecraft.world.item.ItemStack;
+import schnerry.seymouranalyzer.SeymourAnalyzer;
+import schnerry.seymouranalyzer.analyzer.ColorAnalyzer;
+import schnerry.seymouranalyzer.config.ClothConfig;
+import schnerry.seymouranalyzer.config.ConfigOption;
+import schnerry.seymouranalyzer.scanner.ChestScanner;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Analyzes container contents as soon as the packets arrive (see ClientPacketListenerMixin)
+ * Extraction and color analysis run on a worker thread, so by the time the screen draws its first frame
+ * the highlight color and analysis for every Seymour slot is usually ready to be read
+ */
+public class ContainerHighlightCache {
+    private static ContainerHighlightCache instance;
+    private static final ExecutorService ANALYSIS_EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "ContainerAnalyzer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // Player inventory container id - kept across screen changes since it is always open
+    private static final int PLAYER_CONTAINER_ID = 0;
+
+    private final Map<Integer, ContainerAnalysis> containers = new ConcurrentHashMap<>();
+    private final ChestScanner scanner = new ChestScanner();
+
+    /**
+     * Analysis result for a single slot
+     * The source stack is kept so readers can verify the slot still holds the analyzed item
+     */
+    public static class SlotAnalysis {
+        public final ItemStack stack;
+        public final String hex;
+        public final String uuid;
+        public final Integer highlightColor;
+        public final ColorAnalyzer.AnalysisResult analysis;
+        final int epoch;
+
+        SlotAnalysis(ItemStack stack, String hex, String uuid, Integer highlightColor, ColorAnalyzer.AnalysisResult analysis, int epoch) {
+            this.stack = stack;
+            this.hex = hex;
+            this.uuid = uuid;
+            this.highlightColor = highlightColor;
+            this.analysis = analysis;
+            this.epoch = epoch;
+        }
+    }
+
+    private static class ContainerAnalysis {
+        final Map<Integer, SlotAnalysis> slots = new ConcurrentHashMap<>();
+    }
+
+    private ContainerHighlightCache() {
+    }
+
+    public static ContainerHighlightCache getInstance() {
+        if (instance == null) {
+            instance = new ContainerHighlightCache();
+        }
+        return instance;
+    }
+
+    public boolean isEnabled() {
+        return ClothConfig.getInstance().getOptionValue(ConfigOption.PACKET_ANALYSIS_ENABLED);
+    }
+
+    /**
+     * Full container contents received (called from the network thread)
+     */
+    public void onContainerContent(int containerId, List<ItemStack> items) {
+        if (!isEnabled() || containerId < 0) return;
+
+        // Snapshot the list, the packet is handed over to the main thread right after this
+        ItemStack[] snapshot = items.toArray(new ItemStack[0]);
+
+        ANALYSIS_EXECUTOR.submit(() -> {
+            try {
+                // A new container replaces whatever was open before
+                containers.keySet().removeIf(id -> id != containerId && id != PLAYER_CONTAINER_ID);
+
+                ContainerAnalysis container = new ContainerAnalysis();
+                for (int i = 0; i < snapshot.length; i++) {
+                    SlotAnalysis result = analyzeStack(snapshot[i]);
+                    if (result != null) {
+                        container.slots.put(i, result);
+                    }
+                }
+                containers.put(containerId, container);
+            } catch (Exception e) {
+                SeymourAnalyzer.LOGGER.error("Error analyzing container contents", e);
+            }
+        });
+    }
+
+    /**
+     * Single slot update received (called from the network thread)
+     */
+    public void onSlotUpdate(int containerId, int slotIndex, ItemStack stack) {
+        if (!isEnabled() || containerId < 0 || slotIndex < 0) return;
+
+        ANALYSIS_EXECUTOR.submit(() -> {
+            try {
+                ContainerAnalysis container = containers.computeIfAbsent(containerId, id -> new ContainerAnalysis());
+                SlotAnalysis result = analyzeStack(stack);
+                if (result != null) {
+                    container.slots.put(slotIndex, result);
+                } else {
+                    container.slots.remove(slotIndex);
+                }
+            } catch (Exception e) {
+                SeymourAnalyzer.LOGGER.error("Error analyzing slot update", e);
+            }
+        });
+    }
+
+    /**
+     * Get the precomputed analysis for a slot, or null if it isn't ready (or the slot changed since)
+     */
+    public SlotAnalysis getSlotAnalysis(int containerId, int slotIndex, ItemStack current) {
+        if (!isEnabled()) return null;
+
+        ContainerAnalysis container = containers.get(containerId);
+        if (container == null) return null;
+
+        SlotAnalysis result = container.slots.get(slotIndex);
+        if (result == null || result.stack != current) return null;
+        // Collection changed since (dupe status may differ) - let the caller recompute
+        if (result.epoch != ItemSlotHighlighter.getInstance().currentEpoch()) return null;
+        return result;
+    }
+
+    /**
+     * Drop all precomputed results (search, priorities or collection changed)
+     */
+    public void clear() {
+        containers.clear();
+    }
+
+    /**
+     * Analyze a single stack (thread-safe, also used by ItemSlotHighlighter's batch precomputation)
+     */
+    SlotAnalysis analyzeStack(ItemStack stack) {
+        if (stack == null || stack.isEmpty()) return null;
+
+        if (!ChestScanner.isSeymourArmor(stack)) return null;
+        String itemName = stack.getHoverName().getString();
+
+        String hex = scanner.extractHex(stack);
+        if (hex == null) return null;
+
+        String uuid = scanner.getOrCreateItemUUID(stack);
+        int epoch = ItemSlotHighlighter.getInstance().currentEpoch();
+        ColorAnalyzer.AnalysisResult analysis = ColorAnalyzer.analyzeArmorColor(hex, itemName);
+        Integer highlightColor = ItemSlotHighlighter.getInstance().computeHighlightColor(hex, uuid, analysis);
+
+        return new SlotAnalysis(stack, hex, uuid, highlightColor, analysis, epoch);
+    }
+}
@@ -7,8 +7,23 @@ package schnerry.seymouranalyzer.render;
  */
 public class HexTooltipRenderer {
     private static HexTooltipRenderer instance;
+    private static final int MAX_PREPARED_TOOLTIPS = 256;
     private boolean enabled = true;
 
+    private final ChestScanner scanner = new ChestScanner();
+
+    // Prepared lines per stack content fingerprint - tooltips are rebuilt every frame, the analysis isn't
+    // Access-ordered so the least recently hovered entries are dropped first
+    // Only touched on the render thread, a get on an access-ordered map already modifies it
+    private final Map<Integer, PreparedTooltip> preparedTooltips = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, PreparedTooltip> eldest) {
+            return size() > MAX_PREPARED_TOOLTIPS;
+        }
+    };
+    private ItemStack lastStack = null;
+    private PreparedTooltip lastPrepared = null;
+
     private HexTooltipRenderer() {
         // Register tooltip callback
         // ItemTooltipCallback signature: getTooltip(ItemStack stack, TooltipContext context, TooltipType type, List<Text> lines)
@@ -39,6 +54,55 @@ public class HexTooltipRenderer {
         if (!enabled) return;
         if (stack.isEmpty()) return;
 
+        PreparedTooltip prepared = getPreparedTooltip(stack);
+        if (prepared.hexLine == null) return;
+
+        // Insert after the item name (usually line 0) and before stats
+        // The vanilla lines for the same stack are identical between frames, so reuse the position too
+        if (prepared.insertIndex < 0 || prepared.lineCount != lines.size()) {
+            prepared.insertIndex = findInsertionPoint(lines);
+            prepared.lineCount = lines.size();
+        }
+        lines.add(prepared.insertIndex, prepared.hexLine);
+
+        if (prepared.closestLine != null) {
+            // Insert right after the hex line
+            lines.add(prepared.insertIndex + 1, prepared.closestLine);
+        }
+    }
+
+    /**
+     * Get the prepared lines for a stack, building them only when its content or the config/collection changed
+     */
+    private PreparedTooltip getPreparedTooltip(ItemStack stack) {
+        int epoch = ItemSlotHighlighter.getInstance().currentEpoch();
+
+        // Tooltips are also built off-thread (e.g. the creative search tree), those skip the memo
+        if (!MinecraftClient.getInstance().isOnThread()) {
+            return buildTooltip(stack, epoch);
+        }
+
+        // Same stack instance as last frame (steady hover)
+        if (stack == lastStack && lastPrepared != null && lastPrepared.epoch == epoch) {
+            return lastPrepared;
+        }
+
+        int fingerprint = ItemStack.hashItemAndComponents(stack);
+        PreparedTooltip prepared = preparedTooltips.get(fingerprint);
+        if (prepared == null || prepared.epoch != epoch || !ItemStack.isSameItemSameComponents(prepared.source, stack)) {
+            prepared = buildTooltip(stack, epoch);
+            preparedTooltips.put(fingerprint, prepared);
+        }
+
+        lastStack = stack;
+        lastPrepared = prepared;
+        return prepared;
+    }
+
+    /**
+     * Run the dye check and color analysis once and build the styled lines
+     */
+    private PreparedTooltip buildTooltip(ItemStack stack, int epoch) {
         // Check if item has been dyed
         DyeInfo dyeInfo = checkDyeStatus(stack);
 
@@ -52,15 +116,15 @@ public class HexTooltipRenderer {
             hexForAnalysis = dyeInfo.originalHex;
         } else {
             // Not dyed: extract hex normally and use it for both
-            ChestScanner scanner = new ChestScanner();
             displayHex = scanner.extractHex(stack);
             hexForAnalysis = displayHex;
         }
 
-        if (displayHex == null) return;
+        ItemStack source = stack.copy();
+        if (displayHex == null) return new PreparedTooltip(source, null, null, epoch);
 
         String itemName = stack.getName().getString();
-        boolean isSeymourArmor = ChestScanner.isSeymourArmor(itemName);
+        boolean isSeymourArmor = ChestScanner.isSeymourArmor(stack);
 
         // Parse hex to RGB for coloring the text
         int rgb = hexToRgb(displayHex);
@@ -77,9 +141,7 @@ public class HexTooltipRenderer {
                 .styled(style -> style.withColor(0xFF5555).withItalic(false).withBold(true))); // Bright red, bold
         }
 
-        // Insert after the item name (usually line 0) and before stats
-        int insertIndex = findInsertionPoint(lines);
-        lines.add(insertIndex, hexText);
+        MutableText closestText = null;
 
         // Only show closest match analysis for Seymour armor pieces
         if (isSeymourArmor) {
@@ -98,7 +160,7 @@ public class HexTooltipRenderer {
                     analysis.bestMatch.isCustom);
 
                 // Build the second line: "Closest: Match Name - ΔE"
-                MutableText closestText = Text.literal("Closest: ")
+                closestText = Text.literal("Closest: ")
                     .styled(style -> style.withColor(0xA8A8A8).withItalic(false)) // Gray for "Closest: "
                     .append(Text.literal(matchName)
                         .styled(style -> style.withColor(0xFFFFFF).withItalic(false))) // White for match name
@@ -106,11 +168,10 @@ public class HexTooltipRenderer {
                         .styled(style -> style.withColor(0xA8A8A8).withItalic(false)))
                     .append(Text.literal("ΔE: " + String.format("%.2f", deltaE))
                         .styled(style -> style.withColor(closenessColor).withItalic(false))); // Colored deltaE
-
-                // Insert right after the hex line
-                lines.add(insertIndex + 1, closestText);
             }
         }
+
+        return new PreparedTooltip(source, hexText, closestText, epoch);
     }
 
     /**
@@ -234,6 +295,26 @@ public class HexTooltipRenderer {
         return null;
     }
 
+    /**
+     * Tooltip lines built for one stack content
+     * Text is immutable once built, so the same instances are inserted every frame
+     */
+    private static class PreparedTooltip {
+        final ItemStack source;
+        final Text hexLine;
+        final Text closestLine;
+        final int epoch;
+        int insertIndex = -1;
+        int lineCount = -1;
+
+        PreparedTooltip(ItemStack source, Text hexLine, Text closestLine, int epoch) {
+            this.source = source;
+            this.hexLine = hexLine;
+            this.closestLine = closestLine;
+            this.epoch = epoch;
+        }
+    }
+
     /**
      * Helper class to hold dye status information
      */
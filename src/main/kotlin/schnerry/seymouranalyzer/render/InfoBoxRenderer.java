@@ -3,13 +3,20 @@ package schnerry.seymouranalyzer.render;
 import net.fabricmc.fabric.api.client.screen.v1.ScreenEvents;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.world.inventory.Slot;
 import net.minecraft.world.item.ItemStack;
+import schnerry.seymouranalyzer.SeymourAnalyzer;
 import schnerry.seymouranalyzer.analyzer.ColorAnalyzer;
 import schnerry.seymouranalyzer.analyzer.PatternDetector;
 import schnerry.seymouranalyzer.config.ClothConfig;
 import schnerry.seymouranalyzer.data.ChecklistCache;
+import schnerry.seymouranalyzer.data.CollectionManager;
 import schnerry.seymouranalyzer.scanner.ChestScanner;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Renders info box showing detailed color analysis for hovered items
  * Exact port from ChatTriggers index.js
@@ -17,7 +24,7 @@ import schnerry.seymouranalyzer.scanner.ChestScanner;
 public class InfoBoxRenderer {
     private static final boolean DEBUG = false; // Disable debugging
     private static InfoBoxRenderer instance;
-    private static HoveredItemData hoveredItemData = null;
+    private static volatile HoveredItemData hoveredItemData = null;
     private static ItemStack lastHoveredStack = null; // For debugger access
     private static int boxX = 10;
     private static int boxY = 10;
@@ -26,6 +33,19 @@ public class InfoBoxRenderer {
     private static int dragOffsetY = 0;
     private static Object currentOpenGui = null; // Track which GUI is open
 
+    // Current hover key (see setHoveredSlot)
+    private static Slot lastHoverSlot = null;
+    private static ItemStack lastHoverStackRef = null;
+    private static int lastHoverFingerprint = 0;
+    private static int lastHoverModCount = -1;
+    private static final AtomicInteger hoverGeneration = new AtomicInteger(0);
+    private static final ChestScanner SCANNER = new ChestScanner();
+    private static final ExecutorService HOVER_EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "InfoBoxAnalyzer");
+        t.setDaemon(true);
+        return t;
+    });
+
     public static void resetPosition() {
         boxX = 50;
         boxY = 80;
@@ -46,26 +66,61 @@ public class InfoBoxRenderer {
     }
 
     /**
-     * Called by mixin to set the currently hovered item directly
+     * Called by mixin (several times per frame) to set the currently hovered slot directly
      * This avoids timing issues where the slot might be empty by the time we check it
+     * Hovers are keyed by (slot, content fingerprint, collection modification count): repeated calls for the same
+     * hover cost a few comparisons, and the expensive data is only rebuilt (on a worker thread) when the hover
+     * changes or the collection changed under it (dupes and checklist assignments depend on it)
      */
-    public void setHoveredItem(ItemStack stack, String itemName) {
-        if (DEBUG) {
-            System.out.println("[InfoBox] setHoveredItem() called");
-            System.out.println("[InfoBox]   Item: " + itemName);
-        }
+    public void setHoveredSlot(Slot slot, ItemStack stack, int containerId) {
+        int modCount = CollectionManager.getInstance().getModificationCount();
+        if (slot == lastHoverSlot && stack == lastHoverStackRef && modCount == lastHoverModCount) return;
+
+        // Same slot but a new stack instance (container resync) - only rebuild if the content changed
+        int fingerprint = ItemStack.hashItemAndComponents(stack);
+        boolean sameContent = slot == lastHoverSlot && fingerprint == lastHoverFingerprint && modCount == lastHoverModCount;
+        lastHoverSlot = slot;
+        lastHoverStackRef = stack;
+        lastHoverFingerprint = fingerprint;
+        lastHoverModCount = modCount;
+        if (sameContent) return;
 
         // Store the stack for debugger access
-        lastHoveredStack = stack.copy();
+        ItemStack hoveredCopy = stack.copy();
+        lastHoveredStack = hoveredCopy;
 
         // Check if it's a Seymour armor piece
-        if (ChestScanner.isSeymourArmor(itemName)) {
-            if (DEBUG) System.out.println("[InfoBox] Is Seymour armor, analyzing...");
-            setHoveredItemData(stack, itemName);
-        } else {
+        if (!ChestScanner.isSeymourArmor(stack)) {
             if (DEBUG) System.out.println("[InfoBox] Not Seymour armor, ignoring");
             // Don't clear data here - let it persist
+            return;
         }
+
+        String itemName = stack.getHoverName().getString();
+        if (DEBUG) System.out.println("[InfoBox] Hover changed to Seymour armor, analyzing: " + itemName);
+
+        // Reuse the slot's batch analysis (hex/uuid/color analysis) when it is ready
+        ContainerHighlightCache.SlotAnalysis precomputed = ItemSlotHighlighter.getInstance().getPrecomputedAnalysis(containerId, slot);
+        int generation = hoverGeneration.incrementAndGet();
+
+        HOVER_EXECUTOR.submit(() -> {
+            try {
+                HoveredItemData data = buildHoveredItemData(hoveredCopy, itemName, precomputed);
+                // Drop results for hovers that were superseded while computing
+                if (data != null && hoverGeneration.get() == generation) {
+                    hoveredItemData = data;
+                }
+            } catch (Exception e) {
+                SeymourAnalyzer.LOGGER.error("Error analyzing hovered item", e);
+            }
+        });
+    }
+
+    private static void resetHoverKey() {
+        lastHoverSlot = null;
+        lastHoverStackRef = null;
+        lastHoverFingerprint = 0;
+        lastHoverModCount = -1;
     }
 
     /**
@@ -79,11 +134,17 @@ public class InfoBoxRenderer {
     /**
      * Force clear the hovered item data cache
      * Called after checklist cache regeneration to ensure stale data is not shown
+     * Runs on the generator threads: hover tasks still computing from the old cache are dropped right away,
+     * the hover key (only touched by the render thread) is reset on the client thread.
      */
     public static void forceCloseHoveredDataCache() {
-        hoveredItemData = null;
-        lastHoveredStack = null;
-        if (DEBUG) System.out.println("[InfoBox] Forced clear of hovered item data cache");
+        hoverGeneration.incrementAndGet();
+        Minecraft.getInstance().execute(() -> {
+            hoveredItemData = null;
+            lastHoveredStack = null;
+            resetHoverKey();
+            if (DEBUG) System.out.println("[InfoBox] Forced clear of hovered item data cache");
+        });
     }
 
     /**
@@ -158,10 +219,11 @@ public class InfoBoxRenderer {
             if (DEBUG) System.out.println("[InfoBox] GUI changed from " + (currentOpenGui != null ? currentOpenGui.getClass().getSimpleName() : "null") + " to " + currentScreen.getClass().getSimpleName());
             currentOpenGui = currentScreen;
             hoveredItemData = null; // Clear data when switching GUIs
+            resetHoverKey();
             isDragging = false;
         }
 
-        // The mixin now calls setHoveredItem() directly, so we don't need updateHoveredItem()
+        // The mixin now calls setHoveredSlot() directly, so we don't need updateHoveredItem()
 
         // Handle dragging
         handleDragging(client);
@@ -175,15 +237,22 @@ public class InfoBoxRenderer {
         }
     }
 
-    private static void setHoveredItemData(ItemStack stack, String itemName) {
-        ChestScanner scanner = new ChestScanner();
-        String hex = scanner.extractHex(stack);
-        if (hex == null) return;
-
-        String uuid = scanner.getOrCreateItemUUID(stack);
+    private static HoveredItemData buildHoveredItemData(ItemStack stack, String itemName, ContainerHighlightCache.SlotAnalysis precomputed) {
+        String hex;
+        String uuid;
+        ColorAnalyzer.AnalysisResult analysis;
+        if (precomputed != null) {
+            hex = precomputed.hex;
+            uuid = precomputed.uuid;
+            analysis = precomputed.analysis;
+        } else {
+            hex = SCANNER.extractHex(stack);
+            if (hex == null) return null;
+            uuid = SCANNER.getOrCreateItemUUID(stack);
+            analysis = ColorAnalyzer.getInstance().analyzeArmorColor(hex, itemName);
+        }
 
-        var analysis = ColorAnalyzer.getInstance().analyzeArmorColor(hex, itemName);
-        if (analysis == null || analysis.bestMatch == null) return;
+        if (analysis == null || analysis.bestMatch == null) return null;
 
         ClothConfig config = ClothConfig.getInstance();
 
@@ -200,7 +269,7 @@ public class InfoBoxRenderer {
         ChecklistStatus checklistStatus = getChecklistStatusForHex(analysis.bestMatch.targetHex, itemName);
         int dupeCount = config.isDupesEnabled() ? checkDupeCount(hex, uuid) : 0;
 
-        hoveredItemData = new HoveredItemData(
+        return new HoveredItemData(
             analysis.bestMatch.name,
             analysis.bestMatch.targetHex,
             analysis.bestMatch.deltaE,
@@ -234,62 +303,30 @@ public class InfoBoxRenderer {
     }
 
     /**
-     * Get checklist status for a target hex by checking the checklist cache
+     * Get checklist status for a target hex from the checklist cache's stage index
      * Cache is now always generated on mod init and after collection changes
      * @param targetHex The target hex from analysis (what this piece matches to)
      * @param itemName The item name to determine piece type
      * @return ChecklistStatus with hasMatch (if assigned), isNeeded (if target), and tier of assigned match
      */
     private static ChecklistStatus getChecklistStatusForHex(String targetHex, String itemName) {
-        ChecklistCache cache = ChecklistCache.getInstance();
-        String hexUpper = targetHex.toUpperCase();
-
-        // Determine piece type
-        String pieceType = getPieceTypeFromName(itemName);
-        if (pieceType == null) {
+        int slot = ChecklistCache.pieceSlot(getPieceTypeFromName(itemName));
+        if (slot < 0) {
             return new ChecklistStatus(false, false, Integer.MAX_VALUE);
         }
 
-        // Check normal color cache
-        for (var categoryCache : cache.getNormalColorCache().values()) {
-            if (categoryCache.matchesByIndex != null) {
-                for (var stageMatches : categoryCache.matchesByIndex.values()) {
-                    if (stageMatches.stageHex != null && stageMatches.stageHex.equalsIgnoreCase(hexUpper)) {
-                        // This hex is a target in checklist
-                        ChecklistCache.MatchInfo matchInfo = getMatchForPieceType(stageMatches, pieceType);
-                        if (matchInfo != null) {
-                            // We have a match assigned
-                            int tier = getTierFromMatch(matchInfo);
-                            return new ChecklistStatus(true, true, tier);
-                        }
-                        // Target exists but no match assigned yet
-                        return new ChecklistStatus(false, true, Integer.MAX_VALUE);
-                    }
-                }
-            }
+        ChecklistCache.StageIndexEntry stage = ChecklistCache.getInstance().lookupStage(targetHex.toUpperCase());
+        if (stage == null) {
+            // Not a checklist target
+            return new ChecklistStatus(false, false, Integer.MAX_VALUE);
         }
 
-        // Check fade dye cache
-        for (var categoryCache : cache.getFadeDyeOptimalCache().values()) {
-            if (categoryCache.matchesByIndex != null) {
-                for (var stageMatches : categoryCache.matchesByIndex.values()) {
-                    if (stageMatches.stageHex != null && stageMatches.stageHex.equalsIgnoreCase(hexUpper)) {
-                        // This hex is a target in checklist
-                        ChecklistCache.MatchInfo matchInfo = getMatchForPieceType(stageMatches, pieceType);
-                        if (matchInfo != null) {
-                            // We have a match assigned
-                            int tier = getTierFromMatch(matchInfo);
-                            return new ChecklistStatus(true, true, tier);
-                        }
-                        // Target exists but no match assigned yet
-                        return new ChecklistStatus(false, true, Integer.MAX_VALUE);
-                    }
-                }
-            }
+        if (stage.uuids[slot] != null) {
+            // We have a match assigned
+            return new ChecklistStatus(true, true, stage.tiers[slot]);
         }
-
-        // Not a checklist target
-        return new ChecklistStatus(false, false, Integer.MAX_VALUE);
+        // Target exists but no match assigned yet
+        return new ChecklistStatus(false, true, Integer.MAX_VALUE);
     }
 
     private static String getPieceTypeFromName(String itemName) {
@@ -308,27 +345,6 @@ public class InfoBoxRenderer {
         return null;
     }
 
-    private static ChecklistCache.MatchInfo getMatchForPieceType(ChecklistCache.StageMatches stageMatches, String pieceType) {
-        return switch (pieceType) {
-            case "helmet" -> stageMatches.helmet;
-            case "chestplate" -> stageMatches.chestplate;
-            case "leggings" -> stageMatches.leggings;
-            case "boots" -> stageMatches.boots;
-            default -> null;
-        };
-    }
-
-    private static int getTierFromMatch(ChecklistCache.MatchInfo matchInfo) {
-        if (matchInfo == null || matchInfo.hex == null) return Integer.MAX_VALUE;
-
-        // Analyze the matched piece to get its tier
-        var analysis = ColorAnalyzer.getInstance().analyzeArmorColor(matchInfo.hex, matchInfo.name);
-        if (analysis != null) {
-            return analysis.tier;
-        }
-        return Integer.MAX_VALUE;
-    }
-
     private static int checkDupeCount(String hex, String uuid) {
         var collection = CollectionManager.getInstance().getCollection();
         String hexUpper = hex.toUpperCase();
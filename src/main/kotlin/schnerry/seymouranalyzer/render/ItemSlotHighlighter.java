@@ -1,8 +1,10 @@
 package schnerry.seymouranalyzer.render;
 
 import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.world.inventory.AbstractContainerMenu;
 import net.minecraft.world.inventory.Slot;
 import net.minecraft.world.item.ItemStack;
+import schnerry.seymouranalyzer.SeymourAnalyzer;
 import schnerry.seymouranalyzer.analyzer.ColorAnalyzer;
 import schnerry.seymouranalyzer.analyzer.PatternDetector;
 import schnerry.seymouranalyzer.config.ClothConfig;
@@ -12,8 +14,15 @@ import schnerry.seymouranalyzer.data.CollectionManager;
 import schnerry.seymouranalyzer.scanner.ChestScanner;
 
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.WeakHashMap;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Highlights armor pieces in inventory GUIs based on tier, custom colors, fade dyes, etc.
@@ -21,15 +30,42 @@ import java.util.WeakHashMap;
  */
 public class ItemSlotHighlighter {
     private static ItemSlotHighlighter instance;
-    private final Set<String> searchHexes = new HashSet<>();
+    // Concurrent since ContainerHighlightCache reads it from its worker thread
+    private final Set<String> searchHexes = ConcurrentHashMap.newKeySet();
     private final ChestScanner scanner = new ChestScanner(); // Reuse scanner instance
 
-    // Cache analyzed item data to avoid re-processing every frame
-    // WeakHashMap allows garbage collection of ItemStack keys when no longer referenced
-    private final WeakHashMap<ItemStack, CachedItemData> itemCache = new WeakHashMap<>();
+    // Cache analyzed item data so batches don't re-analyze unchanged pieces
+    // Keyed by item content (uuid + rgb) so results survive container resyncs, which create new ItemStack instances
+    // Only touched by the precompute thread
+    private static final int MAX_CACHE_SIZE = 2048;
+    private final Map<ContentKey, CachedItemData> itemCache = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ContentKey, CachedItemData> eldest) {
+            return size() > MAX_CACHE_SIZE;
+        }
+    };
 
-    // Debug mode - set to true to log position info and show visual debug
-    private static final boolean DEBUG_POSITIONS = false;
+    // Stack -> content key, so unchanged stacks skip NBT extraction entirely
+    // WeakHashMap allows garbage collection of ItemStack keys when no longer referenced
+    private final WeakHashMap<ItemStack, ContentKey> stackKeys = new WeakHashMap<>();
+
+    // Bumped when search/config/priorities change (client thread only); combined with the collection's modification count
+    private volatile int cacheEpoch = 0;
+
+    // Batch precomputation of every slot in the open container (see ensureBatch)
+    private static final ExecutorService PRECOMPUTE_EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "SlotHighlightPrecompute");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicInteger batchGeneration = new AtomicInteger(0);
+    private volatile SlotBatch currentBatch = null;
+    private int scheduledContainerId = -1;
+    private int scheduledStateId = -1;
+    private int scheduledEpoch = -1;
+
+    // Reused x/y/color triples for renderSlotHighlights, grown on demand
+    private int[] highlightBuffer = new int[3 * 90];
 
     // Priority order: Dupe > Search > Word > Pattern > Tier
     // Color definitions from old module
@@ -53,18 +89,75 @@ public class ItemSlotHighlighter {
     private static final int COLOR_NORMAL_T1 = 0x78FF69B4;      // Hot pink (120 alpha)
     private static final int COLOR_NORMAL_T2 = 0x78FFA500;      // Orange (120 alpha)
 
+    // Highlight color per MatchPriority, indexed by ordinal
+    private static final MatchPriority[] MATCH_PRIORITIES = MatchPriority.values();
+    private static final int[] PRIORITY_COLORS = new int[MATCH_PRIORITIES.length];
+
+    static {
+        PRIORITY_COLORS[MatchPriority.DUPE.ordinal()] = COLOR_DUPE;
+        PRIORITY_COLORS[MatchPriority.SEARCH.ordinal()] = COLOR_SEARCH;
+        PRIORITY_COLORS[MatchPriority.WORD.ordinal()] = COLOR_WORD;
+        PRIORITY_COLORS[MatchPriority.PATTERN.ordinal()] = COLOR_PATTERN;
+        PRIORITY_COLORS[MatchPriority.CUSTOM_T1.ordinal()] = COLOR_CUSTOM_T1;
+        PRIORITY_COLORS[MatchPriority.CUSTOM_T2.ordinal()] = COLOR_CUSTOM_T2;
+        PRIORITY_COLORS[MatchPriority.FADE_T0.ordinal()] = COLOR_FADE_T0;
+        PRIORITY_COLORS[MatchPriority.FADE_T1.ordinal()] = COLOR_FADE_T1;
+        PRIORITY_COLORS[MatchPriority.FADE_T2.ordinal()] = COLOR_FADE_T2;
+        PRIORITY_COLORS[MatchPriority.NORMAL_T0.ordinal()] = COLOR_NORMAL_T0;
+        PRIORITY_COLORS[MatchPriority.NORMAL_T1.ordinal()] = COLOR_NORMAL_T1;
+        PRIORITY_COLORS[MatchPriority.NORMAL_T2.ordinal()] = COLOR_NORMAL_T2;
+    }
+
+    // MatchPriority ordinals in the user's priority order
+    // Rebuilt by setPriorityOrder when the config loads or saves, compute paths only read it
+    private volatile int[] priorityOrder = buildPriorityOrder(ClothConfig.getDefaultMatchPriorities());
+
     /**
-     * Cached data for an item to avoid re-analysis every frame
+     * Cached data for an item to avoid re-analysis on every batch
      */
     private static class CachedItemData {
         final String hex;
         final String uuid;
         final Integer highlightColor;
+        final ColorAnalyzer.AnalysisResult analysis;
+        final int epoch;
 
-        CachedItemData(String hex, String uuid, Integer highlightColor) {
+        CachedItemData(String hex, String uuid, Integer highlightColor, ColorAnalyzer.AnalysisResult analysis, int epoch) {
             this.hex = hex;
             this.uuid = uuid;
             this.highlightColor = highlightColor;
+            this.analysis = analysis;
+            this.epoch = epoch;
+        }
+    }
+
+    /**
+     * Precomputed highlight colors and analyses for every slot of one container state
+     * Stacks are kept so the render hook can verify a slot still holds the analyzed item
+     */
+    private static class SlotBatch {
+        final int containerId;
+        final int epoch;
+        final ItemStack[] stacks;
+        final int[] colors; // 0 = no highlight
+        final ContainerHighlightCache.SlotAnalysis[] analyses;
+
+        SlotBatch(int containerId, int epoch, ItemStack[] stacks) {
+            this.containerId = containerId;
+            this.epoch = epoch;
+            this.stacks = stacks;
+            this.colors = new int[stacks.length];
+            this.analyses = new ContainerHighlightCache.SlotAnalysis[stacks.length];
+        }
+    }
+
+    /**
+     * Identifies an item by its content rather than by ItemStack instance
+     * The piece type is part of the key since matching is piece-specific and uuid-less pieces only differ by it
+     */
+    private record ContentKey(String uuid, int rgb, String pieceType) {
+        String hex() {
+            return String.format("%06X", rgb);
         }
     }
 
@@ -85,7 +178,7 @@ public class ItemSlotHighlighter {
     public void addSearchHex(String hex) {
         searchHexes.add(hex.toUpperCase());
         // Clear cache when search changes since highlight colors will change
-        itemCache.clear();
+        clearCache();
     }
 
     /**
@@ -94,7 +187,7 @@ public class ItemSlotHighlighter {
     public void clearSearchHexes() {
         searchHexes.clear();
         // Clear cache when search changes since highlight colors will change
-        itemCache.clear();
+        clearCache();
     }
 
     /**
@@ -108,412 +201,283 @@ public class ItemSlotHighlighter {
      * Clear the item cache (used when priorities or config changes)
      */
     public void clearCache() {
-        itemCache.clear();
+        // Entries from older epochs are recomputed lazily instead of dropping the whole cache
+        cacheEpoch++;
+        ContainerHighlightCache.getInstance().clear();
+    }
+
+    int currentEpoch() {
+        return cacheEpoch + CollectionManager.getInstance().getModificationCount();
     }
 
     /**
-     * Render highlight for a single slot (called by mixin)
-     * This method is called during slot rendering, so it's in the correct coordinate space
+     * Get (or compute) the cached highlight data for a Seymour armor stack
+     * Returns null if the item has no hex
      */
-    public void renderSlotHighlight(GuiGraphics context, Slot slot) {
-        ClothConfig config = ClothConfig.getInstance();
-        if (!config.isHighlightsEnabled()) return;
-
-        ItemStack stack = slot.getItem();
-        if (stack.isEmpty()) return;
-
-        // Check if it's a Seymour armor piece (fast name check)
-        String itemName = stack.getHoverName().getString();
-        if (!ChestScanner.isSeymourArmor(itemName)) return;
-
-        // Check cache first
-        CachedItemData cachedData = itemCache.get(stack);
-
-        if (cachedData == null) {
-            // Not in cache - analyze and cache it
+    private CachedItemData getCachedItemData(ItemStack stack, String itemName, int epoch) {
+        ContentKey key = stackKeys.get(stack);
+        if (key == null) {
             String hex = scanner.extractHex(stack);
-            if (hex == null) return;
-
-            String uuid = scanner.getOrCreateItemUUID(stack);
-            Integer highlightColor = getHighlightColor(stack, hex, itemName, uuid);
+            if (hex == null) return null;
 
-            // Cache for next frame
-            cachedData = new CachedItemData(hex, uuid, highlightColor);
-            itemCache.put(stack, cachedData);
+            key = new ContentKey(scanner.getOrCreateItemUUID(stack), Integer.parseInt(hex, 16),
+                ColorAnalyzer.detectPieceType(itemName));
+            stackKeys.put(stack, key);
         }
 
-        // Use cached highlight color
-        if (cachedData.highlightColor != null) {
-            // Use slot.x and slot.y directly - we're already in the correct coordinate space
-            int slotX = slot.x;
-            int slotY = slot.y;
+        CachedItemData cachedData = itemCache.get(key);
+
+        if (cachedData == null || cachedData.epoch != epoch) {
+            // Not in cache (or stale) - analyze and cache it
+            String hex = key.hex();
+            var analysis = ColorAnalyzer.getInstance().analyzeArmorColor(hex, itemName);
+            Integer highlightColor = computeHighlightColor(hex, key.uuid(), analysis);
 
-            drawSlotHighlight(context, slotX, slotY, cachedData.highlightColor);
+            cachedData = new CachedItemData(hex, key.uuid(), highlightColor, analysis, epoch);
+            itemCache.put(key, cachedData);
         }
+
+        return cachedData;
     }
 
     /**
-     * Render highlights in slot coordinate space
-     * This is called during beforeRenderForeground which already has the correct translation applied
+     * Schedule a background batch for the menu if its contents (state id) or the cache epoch changed
+     * Called when container contents arrive and once per frame from the mixin - a no-op when nothing changed
      */
-    private void renderHighlightsInSlotSpace(HandledScreen<?> screen, GuiGraphics context) {
-        ClothConfig config = ClothConfig.getInstance();
-        if (!config.isHighlightsEnabled()) return;
+    public void ensureBatch(AbstractContainerMenu menu) {
+        if (menu == null) return;
 
-        try {
-            if (DEBUG_POSITIONS) {
-                System.out.println("=== DEBUG POSITIONS (Slot Space) ===");
-                System.out.println("Total slots: " + screen.getScreenHandler().slots.size());
-            }
-
-            int debugCount = 0;
-            // Iterate through all slots in the screen
-            for (Slot slot : screen.getScreenHandler().slots) {
-                ItemStack stack = slot.getItem();
-
-                // Debug first 3 slots regardless of content
-                if (DEBUG_POSITIONS && debugCount < 3) {
-                    System.out.println("\nSlot #" + slot.id + ":");
-                    System.out.println("  slot.x=" + slot.x + ", slot.y=" + slot.y);
-                    System.out.println("  (using slot position directly, no offset needed)");
-                    System.out.println("  has item: " + !stack.isEmpty());
-                    if (!stack.isEmpty()) {
-                        System.out.println("  item: " + stack.getHoverName().getString());
-                    }
-                    debugCount++;
-                }
-
-                if (stack.isEmpty()) continue;
+        int epoch = currentEpoch();
+        if (menu.containerId == scheduledContainerId && menu.getStateId() == scheduledStateId && epoch == scheduledEpoch) {
+            return;
+        }
+        scheduledContainerId = menu.containerId;
+        scheduledStateId = menu.getStateId();
+        scheduledEpoch = epoch;
+
+        // Snapshot the stacks on the main thread, the worker only reads them
+        List<Slot> slots = menu.slots;
+        ItemStack[] stacks = new ItemStack[slots.size()];
+        for (int i = 0; i < stacks.length; i++) {
+            stacks[i] = slots.get(i).getItem();
+        }
 
-                // Check if it's a Seymour armor piece (fast name check)
-                String itemName = stack.getHoverName().getString();
-                if (!ChestScanner.isSeymourArmor(itemName)) continue;
+        int containerId = menu.containerId;
+        int generation = batchGeneration.incrementAndGet();
+        PRECOMPUTE_EXECUTOR.submit(() -> computeBatch(containerId, epoch, stacks, generation));
+    }
 
-                // Check cache first - if we've already analyzed this ItemStack, use cached data
-                CachedItemData cachedData = itemCache.get(stack);
+    private void computeBatch(int containerId, int epoch, ItemStack[] stacks, int generation) {
+        try {
+            ContainerHighlightCache containerCache = ContainerHighlightCache.getInstance();
+            SlotBatch batch = new SlotBatch(containerId, epoch, stacks);
 
-                if (cachedData == null) {
-                    // Not in cache - analyze and cache it
-                    String hex = scanner.extractHex(stack);
-                    if (hex == null) continue;
+            for (int i = 0; i < stacks.length; i++) {
+                // A newer batch was scheduled, don't bother finishing this one
+                if (batchGeneration.get() != generation) return;
 
-                    String uuid = scanner.getOrCreateItemUUID(stack);
-                    Integer highlightColor = getHighlightColor(stack, hex, itemName, uuid);
+                ItemStack stack = stacks[i];
+                if (stack.isEmpty()) continue;
 
-                    // Cache for next frame
-                    cachedData = new CachedItemData(hex, uuid, highlightColor);
-                    itemCache.put(stack, cachedData);
+                // Reuse the packet-level analysis if it already covers this stack, then the content cache
+                ContainerHighlightCache.SlotAnalysis analysis = containerCache.getSlotAnalysis(containerId, i, stack);
+                if (analysis == null) {
+                    analysis = analyzeCached(stack, epoch);
                 }
+                if (analysis == null) continue;
 
-                // Use cached highlight color
-                if (cachedData.highlightColor != null) {
-                    // In slot coordinate space, we use slot.x and slot.y directly
-                    // No screen offset needed - the coordinate system is already transformed
-                    int slotX = slot.x;
-                    int slotY = slot.y;
-
-                    if (DEBUG_POSITIONS) {
-                        System.out.println("\n*** HIGHLIGHTING SEYMOUR PIECE ***");
-                        System.out.println("Item: " + itemName);
-                        System.out.println("Slot #" + slot.id + " at x=" + slotX + ", y=" + slotY);
-                        System.out.println("Color: " + Integer.toHexString(cachedData.highlightColor));
-                    }
-
-                    drawSlotHighlight(context, slotX, slotY, cachedData.highlightColor);
-
-                    // Draw debug markers
-                    if (DEBUG_POSITIONS) {
-                        // Draw a bright cyan border to show where we're drawing
-                        context.fill(slotX, slotY, slotX + 16, slotY + 1, 0xFF00FFFF); // Top
-                        context.fill(slotX, slotY + 15, slotX + 16, slotY + 16, 0xFF00FFFF); // Bottom
-                        context.fill(slotX, slotY, slotX + 1, slotY + 16, 0xFF00FFFF); // Left
-                        context.fill(slotX + 15, slotY, slotX + 16, slotY + 16, 0xFF00FFFF); // Right
-                    }
-                }
+                batch.analyses[i] = analysis;
+                batch.colors[i] = analysis.highlightColor != null ? analysis.highlightColor : 0;
             }
 
-            if (DEBUG_POSITIONS) {
-                System.out.println("======================\n");
+            if (batchGeneration.get() == generation) {
+                currentBatch = batch;
             }
         } catch (Exception e) {
-            if (DEBUG_POSITIONS) {
-                System.err.println("Error in renderHighlightsInSlotSpace: " + e.getMessage());
-                e.printStackTrace();
-            }
+            SeymourAnalyzer.LOGGER.error("Error precomputing slot highlights", e);
         }
     }
 
     /**
-     * Old render method - kept for reference, can be removed later
+     * Analyze a stack through the content cache (precompute thread only)
      */
-    private void renderHighlights(HandledScreen<?> screen, GuiGraphics context, int mouseX, int mouseY, float delta) {
-        ClothConfig config = ClothConfig.getInstance();
-        if (!config.isHighlightsEnabled()) return;
-
-        try {
-            // Get screen position - try multiple field names for compatibility
-            int screenX = getScreenX(screen);
-            int screenY = getScreenY(screen);
-
-            if (DEBUG_POSITIONS) {
-                System.out.println("=== DEBUG POSITIONS ===");
-                System.out.println("Screen dimensions: " + screen.width + "x" + screen.height);
-                System.out.println("Calculated screen position: x=" + screenX + ", y=" + screenY);
-                System.out.println("Total slots: " + screen.getScreenHandler().slots.size());
-            }
+    private ContainerHighlightCache.SlotAnalysis analyzeCached(ItemStack stack, int epoch) {
+        if (!ChestScanner.isSeymourArmor(stack)) return null;
 
-            int debugCount = 0;
-            // Iterate through all slots in the screen
-            for (Slot slot : screen.getScreenHandler().slots) {
-                ItemStack stack = slot.getItem();
-
-                // Debug first 3 slots regardless of content
-                if (DEBUG_POSITIONS && debugCount < 3) {
-                    System.out.println("\nSlot #" + slot.id + ":");
-                    System.out.println("  slot.x=" + slot.x + ", slot.y=" + slot.y);
-                    System.out.println("  calculated screen pos: " + (screenX + slot.x) + ", " + (screenY + slot.y));
-                    System.out.println("  has item: " + !stack.isEmpty());
-                    if (!stack.isEmpty()) {
-                        System.out.println("  item: " + stack.getHoverName().getString());
-                    }
-                    debugCount++;
-                }
+        CachedItemData cachedData = getCachedItemData(stack, stack.getHoverName().getString(), epoch);
+        if (cachedData == null) return null;
+        return new ContainerHighlightCache.SlotAnalysis(stack, cachedData.hex, cachedData.uuid,
+            cachedData.highlightColor, cachedData.analysis, epoch);
+    }
 
-                if (stack.isEmpty()) continue;
+    /**
+     * Get the precomputed analysis for a slot of the open container, or null if not available
+     */
+    public ContainerHighlightCache.SlotAnalysis getPrecomputedAnalysis(int containerId, Slot slot) {
+        SlotBatch batch = currentBatch;
+        if (batch == null || batch.containerId != containerId || batch.epoch != currentEpoch()) return null;
 
-                // Check if it's a Seymour armor piece (fast name check)
-                String itemName = stack.getHoverName().getString();
-                if (!ChestScanner.isSeymourArmor(itemName)) continue;
+        int index = slot.index;
+        if (index < 0 || index >= batch.stacks.length || batch.stacks[index] != slot.getItem()) return null;
+        return batch.analyses[index];
+    }
 
-                // Check cache first - if we've already analyzed this ItemStack, use cached data
-                CachedItemData cachedData = itemCache.get(stack);
+    /**
+     * Render highlights for every slot of the menu in one pass (called by mixin before slots are drawn)
+     * Colors are collected first and then submitted back to back, so the GUI renderer can merge them
+     * into a single draw instead of one fill per slot interleaved with item rendering.
+     * Slot x/y are already in the screen's slot coordinate space, so no offsets are needed.
+     */
+    public void renderSlotHighlights(GuiGraphics context, AbstractContainerMenu menu) {
+        ClothConfig config = ClothConfig.getInstance();
+        if (!config.isHighlightsEnabled() || menu == null) return;
 
-                if (cachedData == null) {
-                    // Not in cache - analyze and cache it
-                    String hex = scanner.extractHex(stack);
-                    if (hex == null) continue;
+        List<Slot> slots = menu.slots;
+        if (highlightBuffer.length < slots.size() * 3) {
+            highlightBuffer = new int[slots.size() * 3];
+        }
 
-                    String uuid = scanner.getOrCreateItemUUID(stack);
-                    Integer highlightColor = getHighlightColor(stack, hex, itemName, uuid);
+        int count = 0;
+        for (Slot slot : slots) {
+            if (!slot.isActive()) continue;
 
-                    // Cache for next frame
-                    cachedData = new CachedItemData(hex, uuid, highlightColor);
-                    itemCache.put(stack, cachedData);
-                }
+            int color = resolveSlotColor(slot, menu.containerId);
+            if (color == 0) continue;
 
-                // Use cached highlight color
-                if (cachedData.highlightColor != null) {
-                    // Use the slot's own x/y coordinates plus the screen offset
-                    int slotScreenX = screenX + slot.x;
-                    int slotScreenY = screenY + slot.y;
-
-                    if (DEBUG_POSITIONS) {
-                        System.out.println("\n*** HIGHLIGHTING SEYMOUR PIECE ***");
-                        System.out.println("Item: " + itemName);
-                        System.out.println("Slot #" + slot.id + " at slot.x=" + slot.x + ", slot.y=" + slot.y);
-                        System.out.println("Final highlight position: " + slotScreenX + ", " + slotScreenY);
-                        System.out.println("Color: " + Integer.toHexString(cachedData.highlightColor));
-                    }
-
-                    drawSlotHighlight(context, slotScreenX, slotScreenY, cachedData.highlightColor);
-
-                    // Draw debug markers
-                    if (DEBUG_POSITIONS) {
-                        // Draw a bright cyan border to show where we're drawing
-                        context.fill(slotScreenX, slotScreenY, slotScreenX + 16, slotScreenY + 1, 0xFF00FFFF); // Top
-                        context.fill(slotScreenX, slotScreenY + 15, slotScreenX + 16, slotScreenY + 16, 0xFF00FFFF); // Bottom
-                        context.fill(slotScreenX, slotScreenY, slotScreenX + 1, slotScreenY + 16, 0xFF00FFFF); // Left
-                        context.fill(slotScreenX + 15, slotScreenY, slotScreenX + 16, slotScreenY + 16, 0xFF00FFFF); // Right
-                    }
-                }
-            }
+            highlightBuffer[count * 3] = slot.x;
+            highlightBuffer[count * 3 + 1] = slot.y;
+            highlightBuffer[count * 3 + 2] = color;
+            count++;
+        }
 
-            if (DEBUG_POSITIONS) {
-                System.out.println("======================\n");
-            }
-        } catch (Exception e) {
-            if (DEBUG_POSITIONS) {
-                System.err.println("Error in renderHighlights: " + e.getMessage());
-                e.printStackTrace();
-            }
+        for (int i = 0; i < count; i++) {
+            drawSlotHighlight(context, highlightBuffer[i * 3], highlightBuffer[i * 3 + 1], highlightBuffer[i * 3 + 2]);
         }
     }
 
     /**
-     * Get the screen X position using reflection, trying multiple field names
+     * Resolve the highlight color for a slot, or 0 for no highlight
+     * Only reads the last finished batch of this container, nothing is analyzed on the render thread.
+     * While a newer batch is pending the previous colors stay up on slots that still hold the same stack.
      */
-    private int getScreenX(HandledScreen<?> screen) {
-        try {
-            // Try common field names used in different mappings
-            String[] fieldNames = {"x", "field_2888", "backgroundLeft"};
-            for (String fieldName : fieldNames) {
-                try {
-                    var field = HandledScreen.class.getDeclaredField(fieldName);
-                    field.setAccessible(true);
-                    int value = (int) field.get(screen);
-                    if (DEBUG_POSITIONS) {
-                        System.out.println("Found screen X using field '" + fieldName + "': " + value);
-                    }
-                    return value;
-                } catch (NoSuchFieldException ignored) {
-                    // Try next field name
-                }
-            }
-        } catch (Exception e) {
-            if (DEBUG_POSITIONS) {
-                System.out.println("Exception getting screen X: " + e.getMessage());
-            }
-        }
+    private int resolveSlotColor(Slot slot, int containerId) {
+        SlotBatch batch = currentBatch;
+        int index = slot.index;
+        if (batch == null || batch.containerId != containerId || index < 0 || index >= batch.stacks.length) return 0;
+        return batch.stacks[index] == slot.getItem() ? batch.colors[index] : 0;
+    }
 
-        // Fallback calculation
-        int fallback = (screen.width - 176) / 2;
-        if (DEBUG_POSITIONS) {
-            System.out.println("Using fallback screen X calculation: " + fallback);
-        }
-        return fallback;
+    /**
+     * Rebuild the priority order from the user's list (called on the client thread when the config loads or saves)
+     */
+    public void setPriorityOrder(List<MatchPriority> priorities) {
+        priorityOrder = buildPriorityOrder(priorities);
+        clearCache();
     }
 
     /**
-     * Get the screen Y position using reflection, trying multiple field names
+     * MatchPriority ordinals in list order, missing priorities are appended so every candidate bit has a rank
      */
-    private int getScreenY(HandledScreen<?> screen) {
-        try {
-            // Try common field names used in different mappings
-            String[] fieldNames = {"y", "field_2890", "backgroundTop"};
-            for (String fieldName : fieldNames) {
-                try {
-                    var field = HandledScreen.class.getDeclaredField(fieldName);
-                    field.setAccessible(true);
-                    int value = (int) field.get(screen);
-                    if (DEBUG_POSITIONS) {
-                        System.out.println("Found screen Y using field '" + fieldName + "': " + value);
-                    }
-                    return value;
-                } catch (NoSuchFieldException ignored) {
-                    // Try next field name
-                }
-            }
-        } catch (Exception e) {
-            if (DEBUG_POSITIONS) {
-                System.out.println("Exception getting screen Y: " + e.getMessage());
-            }
+    private static int[] buildPriorityOrder(List<MatchPriority> priorities) {
+        int[] order = new int[MATCH_PRIORITIES.length];
+        int count = 0;
+        int seen = 0;
+        for (MatchPriority priority : priorities) {
+            int bit = 1 << priority.ordinal();
+            if ((seen & bit) != 0) continue;
+            seen |= bit;
+            order[count++] = priority.ordinal();
         }
-
-        // Fallback calculation
-        int fallback = (screen.height - 166) / 2;
-        if (DEBUG_POSITIONS) {
-            System.out.println("Using fallback screen Y calculation: " + fallback);
+        for (MatchPriority priority : MATCH_PRIORITIES) {
+            if ((seen & (1 << priority.ordinal())) == 0) {
+                order[count++] = priority.ordinal();
+            }
         }
-        return fallback;
+        return order;
     }
 
     /**
      * Determine highlight color based on item properties using the priority system
+     * Every candidate sets one bit (MatchPriority ordinal), the winner is the first set bit in priority order
      * Returns null if no highlight should be drawn
+     * Safe to call from a worker thread (used by ContainerHighlightCache)
      */
-    private Integer getHighlightColor(ItemStack stack, String hex, String itemName, String uuid) {
+    Integer computeHighlightColor(String hex, String uuid, ColorAnalyzer.AnalysisResult analysis) {
         ClothConfig config = ClothConfig.getInstance();
-        String hexUpper = hex.toUpperCase();
-
-        // Collect all possible matches with their priorities
-        java.util.Map<MatchPriority, Integer> possibleMatches = new java.util.HashMap<>();
+        int candidates = 0;
 
         // Check dupe
         if (config.isDupesEnabled() && uuid != null && isDuplicateHex(hex, uuid)) {
-            possibleMatches.put(MatchPriority.DUPE, COLOR_DUPE);
+            candidates |= 1 << MatchPriority.DUPE.ordinal();
         }
 
         // Check search match
-        if (!searchHexes.isEmpty() && searchHexes.contains(hexUpper)) {
-            possibleMatches.put(MatchPriority.SEARCH, COLOR_SEARCH);
+        if (!searchHexes.isEmpty() && searchHexes.contains(hex.toUpperCase())) {
+            candidates |= 1 << MatchPriority.SEARCH.ordinal();
         }
 
         // Check word match
-        if (config.isWordsEnabled()) {
-            String wordMatch = PatternDetector.getInstance().detectWordMatch(hex);
-            if (wordMatch != null) {
-                possibleMatches.put(MatchPriority.WORD, COLOR_WORD);
-            }
+        if (config.isWordsEnabled() && PatternDetector.getInstance().detectWordMatch(hex) != null) {
+            candidates |= 1 << MatchPriority.WORD.ordinal();
         }
 
         // Check pattern match
-        if (config.isPatternsEnabled()) {
-            String pattern = PatternDetector.getInstance().detectPattern(hex);
-            if (pattern != null) {
-                possibleMatches.put(MatchPriority.PATTERN, COLOR_PATTERN);
-            }
+        if (config.isPatternsEnabled() && PatternDetector.getInstance().detectPattern(hex) != null) {
+            candidates |= 1 << MatchPriority.PATTERN.ordinal();
         }
 
         // Check tier-based matches - check ALL top 3 matches, not just the best one
         // A piece can match multiple categories (e.g., T1 fade AND T2 normal)
-        var analysis = ColorAnalyzer.getInstance().analyzeArmorColor(hex, itemName);
         if (analysis != null && analysis.top3Matches != null) {
             for (var match : analysis.top3Matches) {
-                int tier = calculateTier(match.deltaE, match.isCustom, match.isFade);
-
-                // Skip T3+ matches (too far away)
-                if (tier == 3) continue;
-
-                if (match.isCustom) {
-                    switch (tier) {
-                        case 1 -> possibleMatches.putIfAbsent(MatchPriority.CUSTOM_T1, COLOR_CUSTOM_T1);
-                        case 2 -> possibleMatches.putIfAbsent(MatchPriority.CUSTOM_T2, COLOR_CUSTOM_T2);
-                    }
-                } else if (match.isFade) {
-                    switch (tier) {
-                        case 0 -> possibleMatches.putIfAbsent(MatchPriority.FADE_T0, COLOR_FADE_T0);
-                        case 1 -> possibleMatches.putIfAbsent(MatchPriority.FADE_T1, COLOR_FADE_T1);
-                        case 2 -> possibleMatches.putIfAbsent(MatchPriority.FADE_T2, COLOR_FADE_T2);
-                    }
-                } else {
-                    switch (tier) {
-                        case 0 -> possibleMatches.putIfAbsent(MatchPriority.NORMAL_T0, COLOR_NORMAL_T0);
-                        case 1 -> possibleMatches.putIfAbsent(MatchPriority.NORMAL_T1, COLOR_NORMAL_T1);
-                        case 2 -> possibleMatches.putIfAbsent(MatchPriority.NORMAL_T2, COLOR_NORMAL_T2);
-                    }
+                int tierPriority = tierPriorityOrdinal(match.tier, match.isCustom, match.isFade);
+                if (tierPriority >= 0) {
+                    candidates |= 1 << tierPriority;
                 }
             }
         }
 
         // If no matches, return null
-        if (possibleMatches.isEmpty()) {
+        if (candidates == 0) {
             return null;
         }
 
         // Find the highest priority match based on user's priority order
-        java.util.List<MatchPriority> priorities = config.getMatchPriorities();
-        for (MatchPriority priority : priorities) {
-            if (possibleMatches.containsKey(priority)) {
-                return possibleMatches.get(priority);
+        for (int ordinal : priorityOrder) {
+            if ((candidates & (1 << ordinal)) != 0) {
+                return PRIORITY_COLORS[ordinal];
             }
         }
 
-        // Fallback: return any match
-        return possibleMatches.values().iterator().next();
+        // Unreachable - every priority has a rank
+        return PRIORITY_COLORS[Integer.numberOfTrailingZeros(candidates)];
     }
 
     /**
-     * Calculate tier for a match (copied from ColorAnalyzer to avoid recalculation)
+     * Map a match tier (already computed by ColorAnalyzer) to its MatchPriority ordinal, or -1 for T3+
      */
-    private int calculateTier(double deltaE, boolean isCustom, boolean isFade) {
+    private static int tierPriorityOrdinal(int tier, boolean isCustom, boolean isFade) {
         if (isCustom) {
-            if (deltaE <= 2) return 1;
-            if (deltaE <= 5) return 2;
-            return 3;
+            return switch (tier) {
+                case 1 -> MatchPriority.CUSTOM_T1.ordinal();
+                case 2 -> MatchPriority.CUSTOM_T2.ordinal();
+                default -> -1;
+            };
         }
-
         if (isFade) {
-            if (deltaE <= 1) return 0;
-            if (deltaE <= 2) return 1;
-            if (deltaE <= 5) return 2;
-            return 3;
+            return switch (tier) {
+                case 0 -> MatchPriority.FADE_T0.ordinal();
+                case 1 -> MatchPriority.FADE_T1.ordinal();
+                case 2 -> MatchPriority.FADE_T2.ordinal();
+                default -> -1;
+            };
         }
-
-        // Normal colors
-        if (deltaE <= 1) return 0;
-        if (deltaE <= 2) return 1;
-        if (deltaE <= 5) return 2;
-        return 3;
+        return switch (tier) {
+            case 0 -> MatchPriority.NORMAL_T0.ordinal();
+            case 1 -> MatchPriority.NORMAL_T1.ordinal();
+            case 2 -> MatchPriority.NORMAL_T2.ordinal();
+            default -> -1;
+        };
     }
 
     /**
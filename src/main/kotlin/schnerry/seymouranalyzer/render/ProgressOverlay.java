@@ -0,0 +1,68 @@
+package schnerry.seymouranalyzer.render;
+
+import net.fabricmc.fabric.api.client.rendering.v1.HudRenderCallback;
+import net.fabricmc.fabric.api.client.screen.v1.ScreenEvents;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.GuiGraphics;
+import schnerry.seymouranalyzer.util.TaskProgress;
+
+import java.util.List;
+
+/**
+ * Shared progress overlay for background tasks (best sets, rebuild commands, checklist generation)
+ * Draws one bar per running TaskProgress in the top right corner, in-game and on top of screens.
+ */
+public class ProgressOverlay {
+    private static ProgressOverlay instance;
+
+    private static final int BAR_WIDTH = 140;
+    private static final int BAR_HEIGHT = 4;
+    private static final int ENTRY_HEIGHT = 18;
+    private static final int MARGIN = 6;
+
+    @SuppressWarnings("deprecation")
+    private ProgressOverlay() {
+        // HUD covers in-game, the screen hook covers open GUIs (the HUD isn't drawn on top of those)
+        HudRenderCallback.EVENT.register((context, tickCounter) -> {
+            if (Minecraft.getInstance().screen == null) {
+                render(context);
+            }
+        });
+        ScreenEvents.AFTER_INIT.register((client, screen, scaledWidth, scaledHeight) ->
+            ScreenEvents.afterRender(screen).register((scr, context, mouseX, mouseY, delta) -> render(context)));
+    }
+
+    public static ProgressOverlay getInstance() {
+        if (instance == null) {
+            instance = new ProgressOverlay();
+        }
+        return instance;
+    }
+
+    private static void render(GuiGraphics context) {
+        List<TaskProgress> tasks = TaskProgress.getActive();
+        if (tasks.isEmpty()) return;
+
+        Minecraft client = Minecraft.getInstance();
+        int x = client.getWindow().getGuiScaledWidth() - BAR_WIDTH - MARGIN;
+        int y = MARGIN;
+
+        // Background for all entries plus the cancel hint
+        int height = tasks.size() * ENTRY_HEIGHT + 12;
+        context.fill(x - 4, y - 4, x + BAR_WIDTH + 4, y + height, 0xC0000000);
+
+        for (TaskProgress task : tasks) {
+            int percent = (int) (task.getFraction() * 100);
+            String label = task.isCancelled() ? "§c" + task.getName() + " §7(cancelling)" : "§f" + task.getName() + " §e" + percent + "%";
+            context.drawString(client.font, label, x, y, 0xFFFFFFFF);
+
+            int barY = y + 10;
+            context.fill(x, barY, x + BAR_WIDTH, barY + BAR_HEIGHT, 0xFF282828);
+            context.fill(x, barY, x + (BAR_WIDTH * percent) / 100, barY + BAR_HEIGHT, task.isCancelled() ? 0xFFC80000 : 0xFF00C800);
+
+            y += ENTRY_HEIGHT;
+        }
+
+        context.drawString(client.font, "§8/seymour cancel to stop", x, y, 0xFFFFFFFF);
+    }
+}
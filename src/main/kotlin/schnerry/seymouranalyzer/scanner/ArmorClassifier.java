@@ -0,0 +1,164 @@
+package schnerry.seymouranalyzer.scanner;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import net.minecraft.core.component.DataComponents;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.component.CustomData;
+import schnerry.seymouranalyzer.SeymourAnalyzer;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Recognizes tracked dyed armor pieces (Seymour by default)
+ * Uses the Skyblock item ID from custom_data, with a precompiled name matcher as fallback.
+ * Families are loaded from armorfamilies.json so other dyed-armor sets can be added there.
+ */
+public class ArmorClassifier {
+    // Family key of the Seymour pieces in armorfamilies.json
+    public static final String SEYMOUR_FAMILY = "SEYMOUR";
+
+    private static ArmorClassifier instance;
+    private static final Pattern FORMATTING_PATTERN = Pattern.compile("§[0-9a-fk-or]");
+
+    // Cached "not armor" marker so rejected stacks are also remembered
+    private static final ArmorType NOT_ARMOR = new ArmorType(null, null, null, null);
+
+    private final Map<String, ArmorType> typesById = new HashMap<>();
+    private final Map<String, ArmorType> typesByName = new HashMap<>();
+    private Pattern namePattern = null;
+
+    // Per-stack result cache - WeakHashMap so stacks can still be garbage collected
+    // Synchronized since ContainerHighlightCache classifies from its worker thread
+    private final Map<ItemStack, ArmorType> stackCache = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * A recognized armor piece
+     */
+    public static class ArmorType {
+        public final String family;
+        public final String skyblockId;
+        public final String name;
+        public final String pieceType;
+
+        ArmorType(String family, String skyblockId, String name, String pieceType) {
+            this.family = family;
+            this.skyblockId = skyblockId;
+            this.name = name;
+            this.pieceType = pieceType;
+        }
+
+        public boolean isSeymour() {
+            return SEYMOUR_FAMILY.equals(family);
+        }
+    }
+
+    private ArmorClassifier() {
+        loadFamilies();
+    }
+
+    // Reached from the container analysis, precompute and hover worker threads as well
+    public static synchronized ArmorClassifier getInstance() {
+        if (instance == null) {
+            instance = new ArmorClassifier();
+        }
+        return instance;
+    }
+
+    private void loadFamilies() {
+        try (InputStream inputStream = SeymourAnalyzer.class.getResourceAsStream("/data/seymouranalyzer/armorfamilies.json")) {
+            if (inputStream == null) {
+                SeymourAnalyzer.LOGGER.error("Could not load armorfamilies.json");
+                return;
+            }
+
+            JsonObject root = new Gson().fromJson(new InputStreamReader(inputStream), JsonObject.class);
+            for (var familyEntry : root.entrySet()) {
+                String family = familyEntry.getKey();
+                for (var pieceEntry : familyEntry.getValue().getAsJsonObject().entrySet()) {
+                    JsonObject piece = pieceEntry.getValue().getAsJsonObject();
+                    ArmorType type = new ArmorType(
+                        family,
+                        pieceEntry.getKey(),
+                        piece.get("name").getAsString(),
+                        piece.get("piece").getAsString()
+                    );
+                    typesById.put(type.skyblockId, type);
+                    typesByName.put(type.name, type);
+                }
+            }
+        } catch (Exception e) {
+            SeymourAnalyzer.LOGGER.error("Failed to load armor families", e);
+        }
+
+        // Build one alternation of all known names for the fallback matcher
+        if (!typesByName.isEmpty()) {
+            StringBuilder regex = new StringBuilder();
+            for (String name : typesByName.keySet()) {
+                if (!regex.isEmpty()) regex.append('|');
+                regex.append(Pattern.quote(name));
+            }
+            namePattern = Pattern.compile(regex.toString());
+        }
+
+        SeymourAnalyzer.LOGGER.info("Loaded {} tracked armor pieces", typesById.size());
+    }
+
+    /**
+     * Classify a stack, or null if it isn't a tracked armor piece
+     * Any family from armorfamilies.json is recognized, check ArmorType.family (or isSeymour) to filter
+     */
+    public ArmorType classify(ItemStack stack) {
+        if (stack == null || stack.isEmpty()) return null;
+
+        ArmorType cached = stackCache.get(stack);
+        if (cached != null) {
+            return cached == NOT_ARMOR ? null : cached;
+        }
+
+        ArmorType type = classifyUncached(stack);
+        stackCache.put(stack, type != null ? type : NOT_ARMOR);
+        return type;
+    }
+
+    @SuppressWarnings("deprecation")
+    private ArmorType classifyUncached(ItemStack stack) {
+        CustomData customData = stack.get(DataComponents.CUSTOM_DATA);
+        if (customData != null) {
+            // Read-only view of the component's tag, copyTag would deep-copy the whole Skyblock NBT just to read the ID
+            CompoundTag nbt = customData.getUnsafe();
+            String id = nbt.getString("id").orElse(null);
+            // A Skyblock item with a known ID is authoritative either way
+            if (id != null && !id.isEmpty()) {
+                return typesById.get(id);
+            }
+        }
+
+        // No Skyblock ID (e.g. other servers or stripped items) - fall back to the display name
+        return classifyName(stack.getHoverName().getString());
+    }
+
+    /**
+     * Classify by display name only
+     */
+    public ArmorType classifyName(String itemName) {
+        if (namePattern == null || itemName == null) return null;
+
+        Matcher matcher = namePattern.matcher(removeFormatting(itemName));
+        if (!matcher.find()) return null;
+        return typesByName.get(matcher.group());
+    }
+
+    public static String removeFormatting(String text) {
+        if (text.indexOf('§') < 0) return text;
+        return FORMATTING_PATTERN.matcher(text).replaceAll("");
+    }
+}
@@ -4,6 +4,7 @@ import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.screens.inventory.ContainerScreen;
 import net.minecraft.core.BlockPos;
 import net.minecraft.network.chat.Component;
+import net.minecraft.world.entity.decoration.ItemFrame;
 import net.minecraft.world.inventory.Slot;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.phys.BlockHitResult;
@@ -29,9 +30,8 @@ public class ChestScanner {
     private boolean exportingEnabled = false;
     private final Map<String, ArmorPiece> exportCollection = new HashMap<>();
     private long lastChestOpenTime = 0;
-    private long lastItemFrameScanTime = 0;
     private static final long SCAN_DELAY_MS = 250;
-    private static final long ITEM_FRAME_SCAN_INTERVAL_MS = 5000;
+    private static final double ITEM_FRAME_SCAN_RADIUS = 64.0;
 
     public void startScan() {
         if (exportingEnabled) {
@@ -39,6 +39,8 @@ public class ChestScanner {
             return;
         }
         scanningEnabled = true;
+        // Frames seen while idle were never analyzed, give them another look
+        ItemFrameTracker.getInstance().markAllDirty();
     }
 
     public void stopScan() {
@@ -60,6 +62,7 @@ public class ChestScanner {
         }
         exportCollection.clear();
         exportingEnabled = true;
+        ItemFrameTracker.getInstance().markAllDirty();
     }
 
     public void stopExport() {
@@ -90,9 +93,8 @@ public class ChestScanner {
             }
         }
 
-        // Check for item frame scanning (every 5 seconds)
-        if (ClothConfig.getInstance().isItemFramesEnabled() && now - lastItemFrameScanTime >= ITEM_FRAME_SCAN_INTERVAL_MS) {
-            lastItemFrameScanTime = now;
+        // Check item frames that were loaded or changed since the last tick
+        if (ClothConfig.getInstance().isItemFramesEnabled()) {
             readItemFrames(client);
         }
     }
@@ -114,8 +116,8 @@ public class ChestScanner {
                 ItemStack stack = slot.getItem();
                 if (stack.isEmpty()) continue;
 
+                if (!isSeymourArmor(stack)) continue;
                 String itemName = stack.getHoverName().getString();
-                if (!isSeymourArmor(itemName)) continue;
 
                 String uuid = extractUuidFromItem(stack);
                 if (uuid == null) continue;
@@ -127,54 +129,8 @@ public class ChestScanner {
                 String itemHex = extractHexFromItem(stack);
                 if (itemHex == null) continue;
 
-                ColorAnalyzer.AnalysisResult analysis = ColorAnalyzer.analyzeArmorColor(itemHex, itemName);
-                if (analysis == null) continue;
-
-                ColorAnalyzer.ColorMatch best = analysis.bestMatch;
-                int itemRgb = Integer.parseInt(itemHex, 16);
-                int targetRgb = Integer.parseInt(best.targetHex, 16);
-                int absoluteDist = Math.abs(((itemRgb >> 16) & 0xFF) - ((targetRgb >> 16) & 0xFF)) +
-                                  Math.abs(((itemRgb >> 8) & 0xFF) - ((targetRgb >> 8) & 0xFF)) +
-                                  Math.abs((itemRgb & 0xFF) - (targetRgb & 0xFF));
-
-                String wordMatch = PatternDetector.detectWordMatch(itemHex);
-                String specialPattern = PatternDetector.detectPattern(itemHex);
-
-                // Store top 3 matches
-                List<ArmorPiece.ColorMatch> top3Matches = new ArrayList<>();
-                for (int m = 0; m < 3 && m < analysis.top3Matches.size(); m++) {
-                    ColorAnalyzer.ColorMatch match = analysis.top3Matches.get(m);
-                    int matchRgb = Integer.parseInt(match.targetHex, 16);
-                    int matchAbsoluteDist = Math.abs(((itemRgb >> 16) & 0xFF) - ((matchRgb >> 16) & 0xFF)) +
-                                           Math.abs(((itemRgb >> 8) & 0xFF) - ((matchRgb >> 8) & 0xFF)) +
-                                           Math.abs((itemRgb & 0xFF) - (matchRgb & 0xFF));
-
-                    top3Matches.add(new ArmorPiece.ColorMatch(
-                        match.name,
-                        match.targetHex,
-                        match.deltaE,
-                        matchAbsoluteDist,
-                        match.tier
-                    ));
-                }
-
-                // Create armor piece
-                ArmorPiece piece = new ArmorPiece();
-                piece.setPieceName(removeFormatting(itemName));
-                piece.setUuid(uuid);
-                piece.setHexcode(itemHex);
-                piece.setSpecialPattern(specialPattern);
-                piece.setBestMatch(new ArmorPiece.BestMatch(
-                    best.name,
-                    best.targetHex,
-                    best.deltaE,
-                    absoluteDist,
-                    analysis.tier
-                ));
-                piece.setAllMatches(top3Matches);
-                piece.setWordMatch(wordMatch);
-                piece.setChestLocation(chestLoc);
-                piece.setTimestamp(System.currentTimeMillis());
+                ArmorPiece piece = createArmorPiece(itemName, uuid, itemHex, chestLoc);
+                if (piece == null) continue;
 
                 if (!exportingEnabled) {
                     CollectionManager.getInstance().addPiece(piece);
@@ -213,7 +169,7 @@ public class ChestScanner {
     }
 
     /**
-     * Read item frames - exact port from index.js readItemFrames()
+     * Read item frames - only new or changed frames reported by ItemFrameTracker
      */
     private void readItemFrames(Minecraft client) {
         if (!ClothConfig.getInstance().isItemFramesEnabled() || (!scanningEnabled && !exportingEnabled)) {
@@ -221,33 +177,19 @@ public class ChestScanner {
         }
 
         try {
-            World world = client.world;
-            if (world == null) return;
-
-            List<ItemFrameEntity> itemFrames = new ArrayList<>();
+            if (client.player == null || !ItemFrameTracker.getInstance().hasDirtyFrames()) return;
 
-            // Create a bounding box around the player (64 block radius in all directions)
-            if (client.player != null) {
-                double x = client.player.getX();
-                double y = client.player.getY();
-                double z = client.player.getZ();
-                double radius = 64.0;
-
-                net.minecraft.util.math.Box searchBox = new net.minecraft.util.math.Box(
-                    x - radius, y - radius, z - radius,
-                    x + radius, y + radius, z + radius
-                );
-
-                // Use entity selector to find all item frame entities within the box
-                itemFrames.addAll(world.getEntitiesByClass(ItemFrameEntity.class, searchBox, frame -> true));
-            }
+            // Only frames that were loaded or had their item changed since the last pass
+            List<ItemFrame> itemFrames = ItemFrameTracker.getInstance().pollDirtyFrames(
+                client.player.getX(), client.player.getY(), client.player.getZ(), ITEM_FRAME_SCAN_RADIUS
+            );
 
             if (itemFrames.isEmpty()) return;
 
             int pieceCount = 0;
 
-            for (ItemFrameEntity frame : itemFrames) {
-                ItemStack stack = frame.getHeldItemStack();
+            for (ItemFrame frame : itemFrames) {
+                ItemStack stack = frame.getItem();
 
                 if (stack.isEmpty()) continue;
 
@@ -257,9 +199,9 @@ public class ChestScanner {
                     (int) Math.floor(frame.getZ())
                 );
 
-                String itemName = stack.getHoverName().getString();
+                if (!isSeymourArmor(stack)) continue;
 
-                if (!isSeymourArmor(itemName)) continue;
+                String itemName = stack.getHoverName().getString();
 
                 String uuid = extractUuidFromItem(stack);
 
@@ -272,54 +214,8 @@ public class ChestScanner {
 
                 if (itemHex == null) continue;
 
-                ColorAnalyzer.AnalysisResult analysis = ColorAnalyzer.getInstance().analyzeArmorColor(itemHex, itemName);
-                if (analysis == null) continue;
-
-                ColorAnalyzer.ColorMatch best = analysis.bestMatch;
-                int itemRgb = Integer.parseInt(itemHex, 16);
-                int targetRgb = Integer.parseInt(best.targetHex, 16);
-                int absoluteDist = Math.abs(((itemRgb >> 16) & 0xFF) - ((targetRgb >> 16) & 0xFF)) +
-                                  Math.abs(((itemRgb >> 8) & 0xFF) - ((targetRgb >> 8) & 0xFF)) +
-                                  Math.abs((itemRgb & 0xFF) - (targetRgb & 0xFF));
-
-                String wordMatch = PatternDetector.getInstance().detectWordMatch(itemHex);
-                String specialPattern = PatternDetector.getInstance().detectPattern(itemHex);
-
-                // Store top 3 matches
-                List<ArmorPiece.ColorMatch> top3Matches = new ArrayList<>();
-                for (int m = 0; m < 3 && m < analysis.top3Matches.size(); m++) {
-                    ColorAnalyzer.ColorMatch match = analysis.top3Matches.get(m);
-                    int matchRgb = Integer.parseInt(match.targetHex, 16);
-                    int matchAbsoluteDist = Math.abs(((itemRgb >> 16) & 0xFF) - ((matchRgb >> 16) & 0xFF)) +
-                                           Math.abs(((itemRgb >> 8) & 0xFF) - ((matchRgb >> 8) & 0xFF)) +
-                                           Math.abs((itemRgb & 0xFF) - (matchRgb & 0xFF));
-
-                    top3Matches.add(new ArmorPiece.ColorMatch(
-                        match.name,
-                        match.targetHex,
-                        match.deltaE,
-                        matchAbsoluteDist,
-                        match.tier
-                    ));
-                }
-
-                // Create armor piece
-                ArmorPiece piece = new ArmorPiece();
-                piece.setPieceName(removeFormatting(itemName));
-                piece.setUuid(uuid);
-                piece.setHexcode(itemHex);
-                piece.setSpecialPattern(specialPattern);
-                piece.setBestMatch(new ArmorPiece.BestMatch(
-                    best.name,
-                    best.targetHex,
-                    best.deltaE,
-                    absoluteDist,
-                    analysis.tier
-                ));
-                piece.setAllMatches(top3Matches);
-                piece.setWordMatch(wordMatch);
-                piece.setChestLocation(chestLoc);
-                piece.setTimestamp(System.currentTimeMillis());
+                ArmorPiece piece = createArmorPiece(itemName, uuid, itemHex, chestLoc);
+                if (piece == null) continue;
 
                 if (scanningEnabled && !exportingEnabled) {
                     CollectionManager.getInstance().addPiece(piece);
@@ -358,6 +254,60 @@ public class ChestScanner {
         }
     }
 
+    /**
+     * Analyze a Seymour piece and build its collection entry
+     */
+    private ArmorPiece createArmorPiece(String itemName, String uuid, String itemHex, ArmorPiece.ChestLocation chestLoc) {
+        ColorAnalyzer.AnalysisResult analysis = ColorAnalyzer.analyzeArmorColor(itemHex, itemName);
+        if (analysis == null) return null;
+
+        ColorAnalyzer.ColorMatch best = analysis.bestMatch;
+        int itemRgb = Integer.parseInt(itemHex, 16);
+        int targetRgb = Integer.parseInt(best.targetHex, 16);
+        int absoluteDist = Math.abs(((itemRgb >> 16) & 0xFF) - ((targetRgb >> 16) & 0xFF)) +
+                          Math.abs(((itemRgb >> 8) & 0xFF) - ((targetRgb >> 8) & 0xFF)) +
+                          Math.abs((itemRgb & 0xFF) - (targetRgb & 0xFF));
+
+        String wordMatch = PatternDetector.detectWordMatch(itemHex);
+        String specialPattern = PatternDetector.detectPattern(itemHex);
+
+        // Store top 3 matches
+        List<ArmorPiece.ColorMatch> top3Matches = new ArrayList<>();
+        for (int m = 0; m < 3 && m < analysis.top3Matches.size(); m++) {
+            ColorAnalyzer.ColorMatch match = analysis.top3Matches.get(m);
+            int matchRgb = Integer.parseInt(match.targetHex, 16);
+            int matchAbsoluteDist = Math.abs(((itemRgb >> 16) & 0xFF) - ((matchRgb >> 16) & 0xFF)) +
+                                   Math.abs(((itemRgb >> 8) & 0xFF) - ((matchRgb >> 8) & 0xFF)) +
+                                   Math.abs((itemRgb & 0xFF) - (matchRgb & 0xFF));
+
+            top3Matches.add(new ArmorPiece.ColorMatch(
+                match.name,
+                match.targetHex,
+                match.deltaE,
+                matchAbsoluteDist,
+                match.tier
+            ));
+        }
+
+        ArmorPiece piece = new ArmorPiece();
+        piece.setPieceName(removeFormatting(itemName));
+        piece.setUuid(uuid);
+        piece.setHexcode(itemHex);
+        piece.setSpecialPattern(specialPattern);
+        piece.setBestMatch(new ArmorPiece.BestMatch(
+            best.name,
+            best.targetHex,
+            best.deltaE,
+            absoluteDist,
+            analysis.tier
+        ));
+        piece.setAllMatches(top3Matches);
+        piece.setWordMatch(wordMatch);
+        piece.setChestLocation(chestLoc);
+        piece.setTimestamp(System.currentTimeMillis());
+        return piece;
+    }
+
     /**
      * Get chest location from player's crosshair
      */
@@ -450,21 +400,25 @@ public class ChestScanner {
     }
 
     /**
-     * Check if item is Seymour armor (matches old module logic)
+     * Check if item is Seymour armor (Skyblock ID first, name as fallback, cached per stack)
+     */
+    public static boolean isSeymourArmor(ItemStack stack) {
+        ArmorClassifier.ArmorType type = ArmorClassifier.getInstance().classify(stack);
+        return type != null && type.isSeymour();
+    }
+
+    /**
+     * Check if an item name is Seymour armor (name-only fallback)
      */
     public static boolean isSeymourArmor(String itemName) {
-        String cleanName = removeFormatting(itemName);
-        // All possible Seymour armor pieces
-        return cleanName.contains("Velvet Top Hat") ||
-               cleanName.contains("Cashmere Jacket") ||
-               cleanName.contains("Satin Trousers") ||
-               cleanName.contains("Oxford Shoes");
+        ArmorClassifier.ArmorType type = ArmorClassifier.getInstance().classifyName(itemName);
+        return type != null && type.isSeymour();
     }
 
     /**
      * Remove formatting codes (§)
      */
     private static String removeFormatting(String text) {
-        return text.replaceAll("§[0-9a-fk-or]", "");
+        return ArmorClassifier.removeFormatting(text);
     }
 }
@@ -0,0 +1,174 @@
+package schnerry.seymouranalyzer.scanner;
+
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientEntityEvents;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.decoration.ItemFrame;
+import net.minecraft.world.level.ChunkPos;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tracks loaded item frames in a chunk-keyed spatial hash.
+ * Frames are added/removed through entity load/unload events and flagged dirty when their
+ * held item changes (see ItemFrameMixin), so the scanner only has to look at new or changed frames
+ * instead of sweeping every entity around the player.
+ */
+public class ItemFrameTracker {
+    private static ItemFrameTracker instance;
+
+    // Chunk (ChunkPos.asLong) -> entity id -> tracked frame
+    private final Map<Long, Map<Integer, TrackedFrame>> framesByChunk = new HashMap<>();
+    // Entity id -> tracked frame, for O(1) lookups from the held-item hook
+    private final Map<Integer, TrackedFrame> framesById = new HashMap<>();
+    private ClientLevel trackedLevel = null;
+    private int dirtyCount = 0;
+
+    private ItemFrameTracker() {
+        ClientEntityEvents.ENTITY_LOAD.register(this::onEntityLoad);
+        ClientEntityEvents.ENTITY_UNLOAD.register(this::onEntityUnload);
+    }
+
+    public static ItemFrameTracker getInstance() {
+        if (instance == null) {
+            instance = new ItemFrameTracker();
+        }
+        return instance;
+    }
+
+    private void onEntityLoad(Entity entity, ClientLevel level) {
+        if (!(entity instanceof ItemFrame frame)) return;
+
+        // Entities from a previous world never get a matching unload, so start over
+        if (trackedLevel != level) {
+            clear();
+            trackedLevel = level;
+        }
+
+        TrackedFrame existing = framesById.get(frame.getId());
+        if (existing != null) {
+            removeFrame(existing);
+        }
+
+        TrackedFrame tracked = new TrackedFrame(frame, chunkKey(frame));
+        framesById.put(frame.getId(), tracked);
+        framesByChunk.computeIfAbsent(tracked.chunkKey, k -> new HashMap<>()).put(frame.getId(), tracked);
+        dirtyCount++;
+    }
+
+    private void onEntityUnload(Entity entity, ClientLevel level) {
+        if (!(entity instanceof ItemFrame)) return;
+
+        TrackedFrame tracked = framesById.get(entity.getId());
+        if (tracked != null) {
+            removeFrame(tracked);
+        }
+    }
+
+    /**
+     * Called when an item frame's held item is synced from the server
+     */
+    public void onHeldItemChanged(int entityId) {
+        TrackedFrame tracked = framesById.get(entityId);
+        if (tracked != null && !tracked.dirty) {
+            tracked.dirty = true;
+            dirtyCount++;
+        }
+    }
+
+    /**
+     * Flag every tracked frame for re-examination (e.g. when scanning or exporting starts)
+     */
+    public void markAllDirty() {
+        for (TrackedFrame tracked : framesById.values()) {
+            tracked.dirty = true;
+        }
+        dirtyCount = framesById.size();
+    }
+
+    public boolean hasDirtyFrames() {
+        return dirtyCount > 0;
+    }
+
+    /**
+     * Collect dirty frames in the chunks around the given position and clear their dirty flag.
+     * Frames outside the radius stay dirty until the player gets close enough.
+     */
+    public List<ItemFrame> pollDirtyFrames(double x, double y, double z, double radius) {
+        List<ItemFrame> result = new ArrayList<>();
+        if (dirtyCount == 0) return result;
+
+        int minChunkX = ((int) Math.floor(x - radius)) >> 4;
+        int maxChunkX = ((int) Math.floor(x + radius)) >> 4;
+        int minChunkZ = ((int) Math.floor(z - radius)) >> 4;
+        int maxChunkZ = ((int) Math.floor(z + radius)) >> 4;
+
+        for (int cx = minChunkX; cx <= maxChunkX; cx++) {
+            for (int cz = minChunkZ; cz <= maxChunkZ; cz++) {
+                Map<Integer, TrackedFrame> bucket = framesByChunk.get(ChunkPos.asLong(cx, cz));
+                if (bucket == null) continue;
+
+                for (TrackedFrame tracked : bucket.values()) {
+                    if (!tracked.dirty) continue;
+
+                    ItemFrame frame = tracked.frame;
+                    if (Math.abs(frame.getX() - x) > radius
+                        || Math.abs(frame.getY() - y) > radius
+                        || Math.abs(frame.getZ() - z) > radius) {
+                        continue;
+                    }
+
+                    tracked.dirty = false;
+                    dirtyCount--;
+                    result.add(frame);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    public int size() {
+        return framesById.size();
+    }
+
+    public void clear() {
+        framesByChunk.clear();
+        framesById.clear();
+        trackedLevel = null;
+        dirtyCount = 0;
+    }
+
+    private void removeFrame(TrackedFrame tracked) {
+        framesById.remove(tracked.frame.getId());
+        Map<Integer, TrackedFrame> bucket = framesByChunk.get(tracked.chunkKey);
+        if (bucket != null) {
+            bucket.remove(tracked.frame.getId());
+            if (bucket.isEmpty()) {
+                framesByChunk.remove(tracked.chunkKey);
+            }
+        }
+        if (tracked.dirty) {
+            dirtyCount--;
+        }
+    }
+
+    private static long chunkKey(ItemFrame frame) {
+        // Item frames are hanging entities and never move, so the load-time chunk stays valid
+        return ChunkPos.asLong(frame.blockPosition().getX() >> 4, frame.blockPosition().getZ() >> 4);
+    }
+
+    private static class TrackedFrame {
+        final ItemFrame frame;
+        final long chunkKey;
+        boolean dirty = true;
+
+        TrackedFrame(ItemFrame frame, long chunkKey) {
+            this.frame = frame;
+            this.chunkKey = chunkKey;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package schnerry.seymouranalyzer.util;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Cooperative cancellation flag for background work
+ * Long-running jobs poll it at natural boundaries (e.g. between checklist categories) and stop early.
+ */
+public class CancellationToken {
+    private volatile boolean cancelled = false;
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * @throws CancellationException if the work was cancelled
+     */
+    public void throwIfCancelled() {
+        if (cancelled) {
+            throw new CancellationException();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package schnerry.seymouranalyzer.util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * File helpers shared by the persistent caches
+ */
+public final class FileUtil {
+    private FileUtil() {
+    }
+
+    /**
+     * Write through a temp file and move it into place, so a crash mid-write never leaves a truncated file
+     */
+    public static void writeAtomically(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.writeString(temp, content, StandardCharsets.UTF_8);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
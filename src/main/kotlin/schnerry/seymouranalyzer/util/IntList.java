@@ -0,0 +1,53 @@
+package schnerry.seymouranalyzer.util;
+
+import java.util.Arrays;
+
+/**
+ * Minimal growable int array, avoids boxing for grid query results and posting lists
+ */
+public final class IntList {
+    private int[] values;
+    private int size = 0;
+
+    public IntList() {
+        this(16);
+    }
+
+    public IntList(int capacity) {
+        values = new int[Math.max(1, capacity)];
+    }
+
+    public void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = value;
+    }
+
+    public int get(int index) {
+        return values[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int removeLast() {
+        return values[--size];
+    }
+
+    /**
+     * Remove the element at index by moving the last element into its place (order is not kept)
+     */
+    public void swapRemove(int index) {
+        values[index] = values[--size];
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
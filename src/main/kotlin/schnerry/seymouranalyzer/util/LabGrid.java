@@ -0,0 +1,118 @@
+package schnerry.seymouranalyzer.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * Immutable spatial hash over LAB colors
+ * Points are bucketed into cubic cells, so a "everything within deltaE r" query only
+ * has to look at the few cells around the query color instead of every point.
+ * Points are identified by their index in the arrays the grid was built from.
+ */
+public class LabGrid {
+    private final double cellSize;
+    private final double[] l;
+    private final double[] a;
+    private final double[] b;
+    private final Map<Long, int[]> cells;
+
+    /**
+     * Build a grid over parallel L/a/b arrays
+     * @param cellSize Edge length of a cell, ideally the radius most queries use
+     */
+    public LabGrid(double[] l, double[] a, double[] b, double cellSize) {
+        this.cellSize = cellSize;
+        this.l = l;
+        this.a = a;
+        this.b = b;
+
+        Map<Long, List<Integer>> buckets = new HashMap<>();
+        for (int i = 0; i < l.length; i++) {
+            buckets.computeIfAbsent(cellKey(cell(l[i]), cell(a[i]), cell(b[i])), k -> new ArrayList<>()).add(i);
+        }
+
+        this.cells = new HashMap<>(buckets.size() * 2);
+        for (Map.Entry<Long, List<Integer>> entry : buckets.entrySet()) {
+            List<Integer> ids = entry.getValue();
+            int[] packed = new int[ids.size()];
+            for (int i = 0; i < packed.length; i++) {
+                packed[i] = ids.get(i);
+            }
+            cells.put(entry.getKey(), packed);
+        }
+    }
+
+    /**
+     * Build a grid from LAB colors
+     */
+    public static LabGrid of(List<ColorMath.LAB> labs, double cellSize) {
+        double[] l = new double[labs.size()];
+        double[] a = new double[labs.size()];
+        double[] b = new double[labs.size()];
+        for (int i = 0; i < labs.size(); i++) {
+            ColorMath.LAB lab = labs.get(i);
+            l[i] = lab.getL();
+            a[i] = lab.getA();
+            b[i] = lab.getB();
+        }
+        return new LabGrid(l, a, b, cellSize);
+    }
+
+    public int size() {
+        return l.length;
+    }
+
+    /**
+     * Call the consumer with every point within radius (CIE76 deltaE) of the given color
+     */
+    public void forEachWithin(double ql, double qa, double qb, double radius, IntConsumer consumer) {
+        double radiusSq = radius * radius;
+        int minL = cell(ql - radius), maxL = cell(ql + radius);
+        int minA = cell(qa - radius), maxA = cell(qa + radius);
+        int minB = cell(qb - radius), maxB = cell(qb + radius);
+
+        for (int cl = minL; cl <= maxL; cl++) {
+            for (int ca = minA; ca <= maxA; ca++) {
+                for (int cb = minB; cb <= maxB; cb++) {
+                    int[] ids = cells.get(cellKey(cl, ca, cb));
+                    if (ids == null) continue;
+
+                    for (int id : ids) {
+                        double dl = l[id] - ql;
+                        double da = a[id] - qa;
+                        double db = b[id] - qb;
+                        if (dl * dl + da * da + db * db <= radiusSq) {
+                            consumer.accept(id);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    public void forEachWithin(ColorMath.LAB lab, double radius, IntConsumer consumer) {
+        forEachWithin(lab.getL(), lab.getA(), lab.getB(), radius, consumer);
+    }
+
+    /**
+     * Exact deltaE between a point in the grid and a color
+     */
+    public double distance(int id, double ql, double qa, double qb) {
+        double dl = l[id] - ql;
+        double da = a[id] - qa;
+        double db = b[id] - qb;
+        return Math.sqrt(dl * dl + da * da + db * db);
+    }
+
+    private int cell(double value) {
+        return (int) Math.floor(value / cellSize);
+    }
+
+    static long cellKey(int cl, int ca, int cb) {
+        // 21 bits per axis is plenty for LAB ranges at any sensible cell size
+        return ((long) (cl & 0x1FFFFF) << 42) | ((long) (ca & 0x1FFFFF) << 21) | (cb & 0x1FFFFF);
+    }
+}
@@ -0,0 +1,140 @@
+package schnerry.seymouranalyzer.util;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * Mutable spatial hash over LAB colors
+ * Same cells as LabGrid, but points are added and removed one at a time, so an index that follows
+ * collection changes never has to be rebuilt. A point keeps its id while it is in the index,
+ * ids of removed points are handed out again by later additions.
+ * Not thread-safe, the owner decides which thread updates and queries it.
+ */
+public class LabIndex {
+    private final double cellSize;
+    private double[] l = new double[16];
+    private double[] a = new double[16];
+    private double[] b = new double[16];
+    private long[] cellKeys = new long[16];
+    private boolean[] present = new boolean[16];
+    private int idLimit = 0;
+    private int size = 0;
+    private final IntList freeIds = new IntList();
+    private final Map<Long, IntList> cells = new HashMap<>();
+
+    /**
+     * @param cellSize Edge length of a cell, ideally the radius most queries use
+     */
+    public LabIndex(double cellSize) {
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Add a color
+     * @return Id of the new point
+     */
+    public int add(ColorMath.LAB lab) {
+        int id;
+        if (!freeIds.isEmpty()) {
+            id = freeIds.removeLast();
+        } else {
+            id = idLimit++;
+            if (id == l.length) {
+                int capacity = l.length * 2;
+                l = Arrays.copyOf(l, capacity);
+                a = Arrays.copyOf(a, capacity);
+                b = Arrays.copyOf(b, capacity);
+                cellKeys = Arrays.copyOf(cellKeys, capacity);
+                present = Arrays.copyOf(present, capacity);
+            }
+        }
+
+        l[id] = lab.getL();
+        a[id] = lab.getA();
+        b[id] = lab.getB();
+        long key = LabGrid.cellKey(cell(l[id]), cell(a[id]), cell(b[id]));
+        cellKeys[id] = key;
+        present[id] = true;
+        cells.computeIfAbsent(key, k -> new IntList(4)).add(id);
+        size++;
+        return id;
+    }
+
+    /**
+     * Remove a point, unknown or already removed ids are ignored
+     */
+    public void remove(int id) {
+        if (id < 0 || id >= idLimit || !present[id]) return;
+
+        IntList cell = cells.get(cellKeys[id]);
+        for (int i = 0; i < cell.size(); i++) {
+            if (cell.get(i) == id) {
+                cell.swapRemove(i);
+                break;
+            }
+        }
+        if (cell.isEmpty()) {
+            cells.remove(cellKeys[id]);
+        }
+
+        present[id] = false;
+        freeIds.add(id);
+        size--;
+    }
+
+    /**
+     * Number of points currently in the index
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Call the consumer with every point within radius (CIE76 deltaE) of the given color
+     */
+    public void forEachWithin(double ql, double qa, double qb, double radius, IntConsumer consumer) {
+        double radiusSq = radius * radius;
+        int minL = cell(ql - radius), maxL = cell(ql + radius);
+        int minA = cell(qa - radius), maxA = cell(qa + radius);
+        int minB = cell(qb - radius), maxB = cell(qb + radius);
+
+        for (int cl = minL; cl <= maxL; cl++) {
+            for (int ca = minA; ca <= maxA; ca++) {
+                for (int cb = minB; cb <= maxB; cb++) {
+                    IntList ids = cells.get(LabGrid.cellKey(cl, ca, cb));
+                    if (ids == null) continue;
+
+                    for (int i = 0; i < ids.size(); i++) {
+                        int id = ids.get(i);
+                        double dl = l[id] - ql;
+                        double da = a[id] - qa;
+                        double db = b[id] - qb;
+                        if (dl * dl + da * da + db * db <= radiusSq) {
+                            consumer.accept(id);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    public void forEachWithin(ColorMath.LAB lab, double radius, IntConsumer consumer) {
+        forEachWithin(lab.getL(), lab.getA(), lab.getB(), radius, consumer);
+    }
+
+    /**
+     * Exact deltaE between a point in the index and a color
+     */
+    public double distance(int id, double ql, double qa, double qb) {
+        double dl = l[id] - ql;
+        double da = a[id] - qa;
+        double db = b[id] - qb;
+        return Math.sqrt(dl * dl + da * da + db * db);
+    }
+
+    private int cell(double value) {
+        return (int) Math.floor(value / cellSize);
+    }
+}
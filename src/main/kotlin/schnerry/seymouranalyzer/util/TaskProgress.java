@@ -0,0 +1,135 @@
+package schnerry.seymouranalyzer.util;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Progress counter plus cancellation flag for a long-running background task
+ * Workers count into a LongAdder (no shared lock or contended CAS), ideally through their own Batch
+ * so the shared counter is only touched every few units. Running tasks are listed in a global registry,
+ * which the progress overlay renders and /seymour cancel cancels.
+ */
+public class TaskProgress extends CancellationToken implements AutoCloseable {
+    private static final List<TaskProgress> ACTIVE = new CopyOnWriteArrayList<>();
+
+    private final String name;
+    private final LongAdder done = new LongAdder();
+    private final LongAdder total = new LongAdder();
+
+    private TaskProgress(String name, long total) {
+        this.name = name;
+        this.total.add(total);
+    }
+
+    /**
+     * Create a task and show it in the progress overlay until closed
+     */
+    public static TaskProgress start(String name, long total) {
+        TaskProgress task = new TaskProgress(name, total);
+        ACTIVE.add(task);
+        return task;
+    }
+
+    /**
+     * Currently running tasks, in start order
+     */
+    public static List<TaskProgress> getActive() {
+        return List.copyOf(ACTIVE);
+    }
+
+    /**
+     * Cancel every running task
+     * @return How many tasks were cancelled
+     */
+    public static int cancelAll() {
+        int count = 0;
+        for (TaskProgress task : ACTIVE) {
+            if (!task.isCancelled()) {
+                task.cancel();
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Remove the task from the overlay
+     */
+    @Override
+    public void close() {
+        ACTIVE.remove(this);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void add(long units) {
+        done.add(units);
+    }
+
+    /**
+     * Grow the expected amount of work (e.g. when another pass turns out to be needed)
+     */
+    public void addTotal(long units) {
+        total.add(units);
+    }
+
+    public long getDone() {
+        return done.sum();
+    }
+
+    public long getTotal() {
+        return total.sum();
+    }
+
+    /**
+     * Completion from 0 to 1
+     */
+    public double getFraction() {
+        long totalUnits = total.sum();
+        if (totalUnits <= 0) return 0;
+        return Math.min(1.0, done.sum() / (double) totalUnits);
+    }
+
+    /**
+     * Per-worker counter that flushes into the shared one every batchSize units
+     * Not thread safe, every worker creates its own.
+     */
+    public Batch batch(int batchSize) {
+        return new Batch(batchSize);
+    }
+
+    public final class Batch {
+        private final int batchSize;
+        private int pending = 0;
+
+        private Batch(int batchSize) {
+            this.batchSize = Math.max(1, batchSize);
+        }
+
+        /**
+         * Count one unit of work
+         * @throws CancellationException if the task was cancelled (checked whenever the batch flushes)
+         */
+        public void step() {
+            if (++pending >= batchSize) {
+                flush();
+            }
+        }
+
+        /**
+         * Publish the pending units, call once when the worker is done
+         * @throws CancellationException if the task was cancelled
+         */
+        public void flush() {
+            if (pending > 0) {
+                done.add(pending);
+                pending = 0;
+            }
+            throwIfCancelled();
+        }
+    }
+}
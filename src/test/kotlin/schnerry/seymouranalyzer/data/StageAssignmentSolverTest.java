@@ -0,0 +1,163 @@
+package schnerry.seymouranalyzer.data;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares StageAssignmentSolver against exhaustive search on small random instances
+ * The objective is layered: needed stages filled, then stages filled, then the lowest summed deltaE.
+ * Instances often have more candidates per stage than stages, so the edge pruning is exercised too.
+ */
+class StageAssignmentSolverTest {
+    private static final int INSTANCES = 3000;
+    private static final double EPSILON = 1e-6;
+
+    private record Instance(boolean[] needed, int[][] stagePieces, double[][] stageDeltaE) {
+    }
+
+    @Test
+    void matchesBruteForceOptimum() {
+        Random random = new Random(0x5EED);
+        for (int n = 0; n < INSTANCES; n++) {
+            Instance instance = randomInstance(random);
+            int[] result = StageAssignmentSolver.solve(instance.needed, instance.stagePieces, instance.stageDeltaE);
+
+            assertValid(instance, result, n);
+            double[] expected = bruteForce(instance);
+            double[] actual = objective(instance, result);
+            assertEquals(expected[0], actual[0], "needed stages filled, instance " + n);
+            assertEquals(expected[1], actual[1], "stages filled, instance " + n);
+            assertEquals(expected[2], actual[2], EPSILON, "summed deltaE, instance " + n);
+        }
+    }
+
+    @Test
+    void emptyInput() {
+        assertArrayEquals(new int[0], StageAssignmentSolver.solve(new boolean[0], new int[0][], new double[0][]));
+    }
+
+    @Test
+    void stagesWithoutCandidatesStayEmpty() {
+        int[] result = StageAssignmentSolver.solve(
+            new boolean[]{true, false},
+            new int[][]{{}, {}},
+            new double[][]{{}, {}});
+        assertArrayEquals(new int[]{-1, -1}, result);
+    }
+
+    @Test
+    void neededStageWinsOverCloserMatch() {
+        // One piece, the unneeded stage is closer but the needed stage has to get it
+        int[] result = StageAssignmentSolver.solve(
+            new boolean[]{false, true},
+            new int[][]{{7}, {7}},
+            new double[][]{{0.5}, {4.5}});
+        assertArrayEquals(new int[]{-1, 7}, result);
+    }
+
+    private static Instance randomInstance(Random random) {
+        int rows = 1 + random.nextInt(5);
+        int pieceCount = 1 + random.nextInt(8);
+        boolean[] needed = new boolean[rows];
+        int[][] stagePieces = new int[rows][];
+        double[][] stageDeltaE = new double[rows][];
+
+        for (int row = 0; row < rows; row++) {
+            needed[row] = random.nextInt(3) != 0;
+            List<Integer> pieces = new ArrayList<>();
+            for (int piece = 0; piece < pieceCount; piece++) {
+                if (random.nextInt(2) == 0) pieces.add(piece * 3 + 11); // Sparse, non-dense ids
+            }
+            stagePieces[row] = new int[pieces.size()];
+            stageDeltaE[row] = new double[pieces.size()];
+            for (int k = 0; k < pieces.size(); k++) {
+                stagePieces[row][k] = pieces.get(k);
+                // Coarse values make ties common
+                stageDeltaE[row][k] = random.nextInt(4) == 0 ? random.nextInt(6) : random.nextDouble() * 5.0;
+            }
+        }
+        return new Instance(needed, stagePieces, stageDeltaE);
+    }
+
+    private static void assertValid(Instance instance, int[] result, int n) {
+        assertEquals(instance.needed.length, result.length, "result length, instance " + n);
+        Set<Integer> used = new HashSet<>();
+        for (int row = 0; row < result.length; row++) {
+            if (result[row] < 0) continue;
+            assertTrue(used.add(result[row]), "piece assigned twice, instance " + n);
+            assertTrue(candidateIndex(instance, row, result[row]) >= 0, "piece is not a candidate, instance " + n);
+        }
+    }
+
+    private static int candidateIndex(Instance instance, int row, int piece) {
+        int[] pieces = instance.stagePieces[row];
+        for (int k = 0; k < pieces.length; k++) {
+            if (pieces[k] == piece) return k;
+        }
+        return -1;
+    }
+
+    /**
+     * {needed filled, filled, summed deltaE} of an assignment
+     */
+    private static double[] objective(Instance instance, int[] result) {
+        double[] value = new double[3];
+        for (int row = 0; row < result.length; row++) {
+            if (result[row] < 0) continue;
+            if (instance.needed[row]) value[0]++;
+            value[1]++;
+            value[2] += instance.stageDeltaE[row][candidateIndex(instance, row, result[row])];
+        }
+        return value;
+    }
+
+    /**
+     * Best objective over every assignment (each stage takes one unused candidate or stays empty)
+     */
+    private static double[] bruteForce(Instance instance) {
+        double[] best = {-1, -1, Double.POSITIVE_INFINITY};
+        search(instance, 0, new HashSet<>(), new double[3], best);
+        return best;
+    }
+
+    private static void search(Instance instance, int row, Set<Integer> used, double[] current, double[] best) {
+        if (row == instance.needed.length) {
+            if (isBetter(current, best)) {
+                System.arraycopy(current, 0, best, 0, 3);
+            }
+            return;
+        }
+
+        search(instance, row + 1, used, current, best);
+
+        int[] pieces = instance.stagePieces[row];
+        for (int k = 0; k < pieces.length; k++) {
+            if (!used.add(pieces[k])) continue;
+            if (instance.needed[row]) current[0]++;
+            current[1]++;
+            current[2] += instance.stageDeltaE[row][k];
+
+            search(instance, row + 1, used, current, best);
+
+            current[2] -= instance.stageDeltaE[row][k];
+            current[1]--;
+            if (instance.needed[row]) current[0]--;
+            used.remove(pieces[k]);
+        }
+    }
+
+    private static boolean isBetter(double[] candidate, double[] best) {
+        if (candidate[0] != best[0]) return candidate[0] > best[0];
+        if (candidate[1] != best[1]) return candidate[1] > best[1];
+        return candidate[2] < best[2] - EPSILON;
+    }
+}